@@ -0,0 +1,34 @@
+package de.bethibande.memory.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Extends the {@link ThroughputState} by the positions accessed by the positional benchmarks.
+ * Boundary positions place the middle of every payload on a region boundary, for the default and nio buffers they are arbitrary unaligned positions.
+ */
+@State(Scope.Thread)
+public class AccessPatternState extends ThroughputState {
+
+    @Param({"sequential", "random", "boundary"})
+    public String pattern;
+
+    public final long[] positions = new long[OPERATIONS];
+
+    @Setup(Level.Trial)
+    public void positions() {
+        final long limit = SIZE - this.payload;
+        final int regions = SIZE >> this.exponent;
+        final SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            this.positions[i] = switch (this.pattern) {
+                case "sequential" -> (long) i * this.payload;
+                case "random" -> random.nextLong(limit + 1);
+                case "boundary" -> ((long) (i % (regions - 1) + 1) << this.exponent) - this.payload / 2;
+                default -> throw new IllegalArgumentException("Unknown access pattern " + this.pattern);
+            };
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures allocating and releasing buffers, see {@link AllocatorSuite} for running it at increasing thread counts with the GC profiler.
+ * Every thread releases the buffers it allocated, thread-confined allocators are created per thread.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AllocatorBenchmark {
+
+    public static final int BURST = 256;
+    public static final int SLICES = 8;
+
+    /**
+     * Allocates a buffer, touches it and releases it right away, the pooled allocators reuse the same buffer every time.
+     */
+    @Benchmark
+    public void cycle(final AllocatorState state, final AllocatorThreadState thread, final Blackhole blackhole) {
+        final Buffer buffer = thread.allocator.allocate(state.size);
+        buffer.set(0, 1234567890123456789L);
+        blackhole.consume(buffer.getLong(0));
+        buffer.release();
+    }
+
+    /**
+     * Allocates a burst of buffers before releasing all of them, which churns through the pools instead of reusing a single buffer.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void burst(final AllocatorState state, final AllocatorThreadState thread) {
+        final Allocator allocator = thread.allocator;
+        final Buffer[] buffers = thread.buffers;
+        for (int i = 0; i < BURST; i++) {
+            buffers[i] = allocator.allocate(state.size);
+        }
+
+        for (int i = 0; i < BURST; i++) {
+            buffers[i].release();
+            buffers[i] = null;
+        }
+    }
+
+    /**
+     * Allocates a buffer and hands slices of it out, each slice retaining the buffer until it is released.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SLICES)
+    public void slices(final AllocatorState state, final AllocatorThreadState thread, final Blackhole blackhole) {
+        final Buffer buffer = thread.allocator.allocate(state.size);
+        final int length = state.size / SLICES;
+        for (int i = 0; i < SLICES; i++) {
+            final Buffer slice = buffer.slice((long) i * length, length);
+            blackhole.consume(slice.getLong(0));
+            slice.release();
+        }
+
+        buffer.release();
+    }
+
+}
@@ -0,0 +1,48 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.impl.ArenaAllocator;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The allocator shared by all benchmark threads. Allocators that are not thread-safe are created per thread by the {@link AllocatorThreadState}.
+ * <br>
+ * The {@link de.bethibande.memory.impl.DirectAllocator} is left out, as it allocates from the global arena which never frees any memory,
+ * allocating in a loop would exhaust the native memory within seconds. See {@link DirectAllocationBenchmark} instead.
+ */
+@State(Scope.Benchmark)
+public class AllocatorState {
+
+    @Param({ "directNio", "pooled", "concurrentPooled", "sizeClass", "arena" })
+    public String allocator;
+
+    @Param({ "64", "4096" })
+    public int size;
+
+    public Allocator shared;
+
+    @Setup
+    public void setup() {
+        this.shared = switch (this.allocator) {
+            case "directNio" -> Allocator.directNio();
+            case "concurrentPooled" -> Allocator.concurrentPooled(this.size);
+            case "sizeClass" -> Allocator.sizeClassPooled();
+            case "pooled", "arena" -> null;
+            default -> throw new IllegalArgumentException("Unknown allocator " + this.allocator);
+        };
+    }
+
+    /**
+     * Creates an allocator for a single thread, or returns the shared one if it is thread-safe.
+     */
+    public Allocator threadAllocator() {
+        if (this.shared != null) return this.shared;
+
+        return switch (this.allocator) {
+            case "pooled" -> Allocator.pooled(this.size);
+            case "arena" -> new ArenaAllocator(ArenaAllocator.DEFAULT_CHUNK_SIZE, true);
+            default -> throw new IllegalStateException();
+        };
+    }
+
+}
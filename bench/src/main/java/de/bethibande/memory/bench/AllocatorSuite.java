@@ -0,0 +1,37 @@
+package de.bethibande.memory.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the {@link AllocatorBenchmark} with the GC profiler at 1, 2, 4 and so on up to the number of available processors threads.
+ * The results of every thread count are written as JSON to {@code allocator-results-<threads>.json}.
+ * Any other JMH command line option may be passed as well, e.g. {@code -p allocator=concurrentPooled} to run a subset.
+ */
+public class AllocatorSuite {
+
+    static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+        final int processors = Runtime.getRuntime().availableProcessors();
+
+        for (int threads = 1; ; threads = Math.min(threads << 1, processors)) {
+            final ChainedOptionsBuilder options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .include(AllocatorBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("allocator-results-" + threads + ".json");
+
+            new Runner(options.build()).run();
+            if (threads == processors) break;
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.impl.ArenaAllocator;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+public class AllocatorThreadState {
+
+    public Allocator allocator;
+    public final Buffer[] buffers = new Buffer[AllocatorBenchmark.BURST];
+
+    @Setup
+    public void setup(final AllocatorState state) {
+        this.allocator = state.threadAllocator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (this.allocator instanceof ArenaAllocator arena) arena.close();
+    }
+
+}
@@ -63,13 +63,28 @@ public class BufferBenchmark {
     }
 
     @Benchmark
-    public void fastCompositeSetLong(final FastCompositeBufferState state) {
-        state.composite.set(state.capacity - 4, 1234567890123456789L);
+    public void fastCompositeSetLong(final FastCompositeBoundaryState state) {
+        state.composite.set(state.boundaryPosition, 1234567890123456789L);
     }
 
     @Benchmark
-    public void fastCompositeGetLong(final FastCompositeBufferState state, final Blackhole blackhole) {
-        blackhole.consume(state.composite.getLong(state.capacity - 4));
+    public void fastCompositeGetLong(final FastCompositeBoundaryState state, final Blackhole blackhole) {
+        blackhole.consume(state.composite.getLong(state.boundaryPosition));
+    }
+
+    @Benchmark
+    public void fastCompositeGetInt(final FastCompositeBoundaryState state, final Blackhole blackhole) {
+        blackhole.consume(state.composite.getInt(state.boundaryPosition));
+    }
+
+    @Benchmark
+    public void ringSetLongWrapPoint(final FastCompositeBoundaryState state) {
+        state.ring.set(state.wrapPosition, 1234567890123456789L);
+    }
+
+    @Benchmark
+    public void ringGetLongWrapPoint(final FastCompositeBoundaryState state, final Blackhole blackhole) {
+        blackhole.consume(state.ring.getLong(state.wrapPosition));
     }
 
     @Benchmark
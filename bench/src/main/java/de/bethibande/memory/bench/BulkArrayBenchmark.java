@@ -0,0 +1,94 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bulk primitive array methods against setting and getting each element individually,
+ * moving 1024 longs (8 KiB) per invocation.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkArrayBenchmark {
+
+    private static void setLoop(final Buffer buffer, final long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            buffer.set((long) i * Long.BYTES, values[i]);
+        }
+    }
+
+    private static void getLoop(final Buffer buffer, final long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getLong((long) i * Long.BYTES);
+        }
+    }
+
+    @Benchmark
+    public void defaultSetLongLoop(final BulkArrayState state) {
+        setLoop(state.buffer, state.longs);
+    }
+
+    @Benchmark
+    public void defaultSetLongBulk(final BulkArrayState state) {
+        state.buffer.set(0, state.longs);
+    }
+
+    @Benchmark
+    public void defaultGetLongLoop(final BulkArrayState state) {
+        getLoop(state.buffer, state.longs);
+    }
+
+    @Benchmark
+    public void defaultGetLongBulk(final BulkArrayState state) {
+        state.buffer.get(0, state.longs);
+    }
+
+    @Benchmark
+    public void defaultGetDoubleBulk(final BulkArrayState state) {
+        state.buffer.get(0, state.doubles);
+    }
+
+    @Benchmark
+    public void nioSetLongLoop(final BulkArrayState state) {
+        setLoop(state.nioBuffer, state.longs);
+    }
+
+    @Benchmark
+    public void nioSetLongBulk(final BulkArrayState state) {
+        state.nioBuffer.set(0, state.longs);
+    }
+
+    @Benchmark
+    public void nioGetLongLoop(final BulkArrayState state) {
+        getLoop(state.nioBuffer, state.longs);
+    }
+
+    @Benchmark
+    public void nioGetLongBulk(final BulkArrayState state) {
+        state.nioBuffer.get(0, state.longs);
+    }
+
+    @Benchmark
+    public void fastCompositeSetLongLoop(final BulkArrayState state) {
+        setLoop(state.fastComposite, state.longs);
+    }
+
+    @Benchmark
+    public void fastCompositeSetLongBulk(final BulkArrayState state) {
+        state.fastComposite.set(0, state.longs);
+    }
+
+    @Benchmark
+    public void fastCompositeGetLongLoop(final BulkArrayState state) {
+        getLoop(state.fastComposite, state.longs);
+    }
+
+    @Benchmark
+    public void fastCompositeGetLongBulk(final BulkArrayState state) {
+        state.fastComposite.get(0, state.longs);
+    }
+
+}
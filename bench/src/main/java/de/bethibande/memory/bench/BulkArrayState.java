@@ -0,0 +1,19 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class BulkArrayState {
+
+    public static final int LENGTH = 1024;
+
+    public final long[] longs = new long[LENGTH];
+    public final double[] doubles = new double[LENGTH];
+
+    public final Buffer buffer = Buffer.direct(LENGTH * Long.BYTES);
+    public final Buffer nioBuffer = Buffer.directNio(LENGTH * Long.BYTES);
+    public final Buffer fastComposite = Buffer.fastComposite(10, 8); // 8 regions of 1 KiB, the array is split 7 times
+
+}
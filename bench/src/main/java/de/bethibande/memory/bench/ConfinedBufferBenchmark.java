@@ -0,0 +1,119 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the thread-confined buffer variants against their default counterparts
+ * by writing and then reading 128 longs through the position tracking read/write methods.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConfinedBufferBenchmark {
+
+    private static final int LONGS = 128;
+
+    private static void writeLongs(final Buffer buffer) {
+        buffer.reset();
+        for (int i = 0; i < LONGS; i++) {
+            buffer.write((long) i);
+        }
+    }
+
+    private static void readLongs(final Buffer buffer, final Blackhole blackhole) {
+        buffer.readPosition(0);
+        for (int i = 0; i < LONGS; i++) {
+            blackhole.consume(buffer.readLong());
+        }
+    }
+
+    private static void retainRelease(final Buffer buffer) {
+        buffer.retain();
+        buffer.release();
+    }
+
+    @Benchmark
+    public void defaultWriteLong(final ConfinedBufferState state) {
+        writeLongs(state.buffer);
+    }
+
+    @Benchmark
+    public void confinedDefaultWriteLong(final ConfinedBufferState state) {
+        writeLongs(state.confinedBuffer);
+    }
+
+    @Benchmark
+    public void defaultReadLong(final ConfinedBufferState state, final Blackhole blackhole) {
+        readLongs(state.buffer, blackhole);
+    }
+
+    @Benchmark
+    public void confinedDefaultReadLong(final ConfinedBufferState state, final Blackhole blackhole) {
+        readLongs(state.confinedBuffer, blackhole);
+    }
+
+    @Benchmark
+    public void nioWriteLong(final ConfinedBufferState state) {
+        writeLongs(state.nioBuffer);
+    }
+
+    @Benchmark
+    public void confinedNioWriteLong(final ConfinedBufferState state) {
+        writeLongs(state.confinedNioBuffer);
+    }
+
+    @Benchmark
+    public void nioReadLong(final ConfinedBufferState state, final Blackhole blackhole) {
+        readLongs(state.nioBuffer, blackhole);
+    }
+
+    @Benchmark
+    public void confinedNioReadLong(final ConfinedBufferState state, final Blackhole blackhole) {
+        readLongs(state.confinedNioBuffer, blackhole);
+    }
+
+    @Benchmark
+    public void compositeWriteLong(final ConfinedBufferState state) {
+        writeLongs(state.composite);
+    }
+
+    @Benchmark
+    public void confinedCompositeWriteLong(final ConfinedBufferState state) {
+        writeLongs(state.confinedComposite);
+    }
+
+    @Benchmark
+    public void fastCompositeWriteLong(final ConfinedBufferState state) {
+        writeLongs(state.fastComposite);
+    }
+
+    @Benchmark
+    public void confinedFastCompositeWriteLong(final ConfinedBufferState state) {
+        writeLongs(state.confinedFastComposite);
+    }
+
+    @Benchmark
+    public void fastCompositeReadLong(final ConfinedBufferState state, final Blackhole blackhole) {
+        readLongs(state.fastComposite, blackhole);
+    }
+
+    @Benchmark
+    public void confinedFastCompositeReadLong(final ConfinedBufferState state, final Blackhole blackhole) {
+        readLongs(state.confinedFastComposite, blackhole);
+    }
+
+    @Benchmark
+    public void defaultRetainRelease(final ConfinedBufferState state) {
+        retainRelease(state.buffer);
+    }
+
+    @Benchmark
+    public void confinedDefaultRetainRelease(final ConfinedBufferState state) {
+        retainRelease(state.confinedBuffer);
+    }
+
+}
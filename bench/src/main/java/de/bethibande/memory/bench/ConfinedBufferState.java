@@ -0,0 +1,22 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class ConfinedBufferState {
+
+    public final Buffer buffer = Buffer.direct(1024);
+    public final Buffer confinedBuffer = Buffer.confinedDirect(1024);
+
+    public final Buffer nioBuffer = Buffer.directNio(1024);
+    public final Buffer confinedNioBuffer = Buffer.confinedDirectNio(1024);
+
+    public final Buffer composite = Buffer.composite(Buffer.direct(512), Buffer.direct(512));
+    public final Buffer confinedComposite = Buffer.confinedComposite(Buffer.confinedDirect(512), Buffer.confinedDirect(512));
+
+    public final Buffer fastComposite = Buffer.fastComposite(9, 2);
+    public final Buffer confinedFastComposite = Buffer.confinedFastComposite(9, 2);
+
+}
@@ -0,0 +1,91 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.impl.BufferCursor;
+import de.bethibande.memory.impl.CompositeBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sequentially writing and reading 64 KiB of longs through the buffer methods, which resolve the region on every access,
+ * against a {@link BufferCursor}, which caches the current region.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CursorBenchmark {
+
+    private static void write(final CompositeBuffer buffer) {
+        buffer.reset();
+        for (int i = 0; i < CursorState.COUNT; i++) {
+            buffer.write((long) i);
+        }
+    }
+
+    private static void read(final CompositeBuffer buffer, final Blackhole blackhole) {
+        buffer.readPosition(0);
+        for (int i = 0; i < CursorState.COUNT; i++) {
+            blackhole.consume(buffer.readLong());
+        }
+    }
+
+    private static void writeCursor(final CompositeBuffer buffer) {
+        buffer.reset();
+        final BufferCursor cursor = buffer.writer();
+        for (int i = 0; i < CursorState.COUNT; i++) {
+            cursor.write((long) i);
+        }
+        cursor.commit();
+    }
+
+    private static void readCursor(final CompositeBuffer buffer, final Blackhole blackhole) {
+        buffer.readPosition(0);
+        final BufferCursor cursor = buffer.reader();
+        for (int i = 0; i < CursorState.COUNT; i++) {
+            blackhole.consume(cursor.readLong());
+        }
+        cursor.commit();
+    }
+
+    @Benchmark
+    public void compositeWriteLong(final CursorState state) {
+        write(state.composite);
+    }
+
+    @Benchmark
+    public void compositeWriteLongCursor(final CursorState state) {
+        writeCursor(state.composite);
+    }
+
+    @Benchmark
+    public void compositeReadLong(final CursorState state, final Blackhole blackhole) {
+        read(state.composite, blackhole);
+    }
+
+    @Benchmark
+    public void compositeReadLongCursor(final CursorState state, final Blackhole blackhole) {
+        readCursor(state.composite, blackhole);
+    }
+
+    @Benchmark
+    public void fastCompositeWriteLong(final CursorState state) {
+        write(state.fastComposite);
+    }
+
+    @Benchmark
+    public void fastCompositeWriteLongCursor(final CursorState state) {
+        writeCursor(state.fastComposite);
+    }
+
+    @Benchmark
+    public void fastCompositeReadLong(final CursorState state, final Blackhole blackhole) {
+        read(state.fastComposite, blackhole);
+    }
+
+    @Benchmark
+    public void fastCompositeReadLongCursor(final CursorState state, final Blackhole blackhole) {
+        readCursor(state.fastComposite, blackhole);
+    }
+
+}
@@ -0,0 +1,28 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.impl.CompositeBuffer;
+import de.bethibande.memory.impl.FastCompositeBuffer;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class CursorState {
+
+    public static final int REGIONS = 64;
+    public static final int REGION_SIZE = 1 << 10;
+    public static final int COUNT = REGIONS * REGION_SIZE / Long.BYTES;
+
+    public final CompositeBuffer composite;
+    public final FastCompositeBuffer fastComposite = Buffer.fastComposite(10, REGIONS);
+
+    public CursorState() {
+        final Buffer[] buffers = new Buffer[REGIONS];
+        for (int i = 0; i < REGIONS; i++) {
+            buffers[i] = Buffer.direct(REGION_SIZE);
+        }
+
+        this.composite = Buffer.composite(buffers);
+    }
+
+}
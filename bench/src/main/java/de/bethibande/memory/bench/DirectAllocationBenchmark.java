@@ -0,0 +1,46 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Allocator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocation latency of {@link Allocator#direct()} and {@link Allocator#directNio()}.
+ * The direct allocator never frees its memory, so every iteration is a single batch of {@value #BATCH} allocations,
+ * which bounds the native memory used by a run. Scores and allocation rates are reported per batch, divide them by {@value #BATCH} for a single buffer.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, batchSize = DirectAllocationBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = DirectAllocationBenchmark.BATCH)
+public class DirectAllocationBenchmark {
+
+    public static final int BATCH = 10_000;
+
+    @State(Scope.Thread)
+    public static class DirectState {
+
+        @Param({ "direct", "directNio" })
+        public String allocator;
+
+        @Param({ "64", "4096" })
+        public int size;
+
+        public Allocator instance;
+
+        @Setup
+        public void setup() {
+            this.instance = "direct".equals(this.allocator) ? Allocator.direct() : Allocator.directNio();
+        }
+
+    }
+
+    @Benchmark
+    public void allocate(final DirectState state, final Blackhole blackhole) {
+        blackhole.consume(state.instance.allocate(state.size));
+    }
+
+}
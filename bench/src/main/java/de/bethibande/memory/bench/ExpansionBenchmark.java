@@ -0,0 +1,98 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.impl.CompositeBuffer;
+import de.bethibande.memory.impl.CompositeRegion;
+import de.bethibande.memory.impl.ExpandingBuffer;
+import de.bethibande.memory.impl.FastCompositeRegion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grows buffers to multiple gigabytes one region at a time, comparing the capacity-doubling region arrays
+ * against the previous strategy of copying the region array, and for {@link CompositeBuffer}s rebuilding the entire index, on every expansion.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ExpansionBenchmark {
+
+    @Benchmark
+    public void expandingBuffer(final ExpansionState state, final Blackhole blackhole) {
+        final ExpandingBuffer buffer = new ExpandingBuffer(1, ExpansionState.EXPONENT, state.allocator);
+        for (int i = 1; i < state.regions; i++) {
+            buffer.expand();
+        }
+
+        blackhole.consume(buffer.capacity());
+        buffer.release();
+    }
+
+    @Benchmark
+    public void expandingBufferLegacy(final ExpansionState state, final Blackhole blackhole) {
+        final int mask = (1 << ExpansionState.EXPONENT) - 1;
+
+        CompositeRegion[] regions = new CompositeRegion[0];
+        for (int i = 0; i < state.regions; i++) {
+            final CompositeRegion[] grown = new CompositeRegion[regions.length + 1];
+            System.arraycopy(regions, 0, grown, 0, regions.length);
+            grown[regions.length] = new FastCompositeRegion(state.allocator.allocate(mask + 1), 0, mask);
+            regions = grown;
+        }
+
+        blackhole.consume(regions);
+        release(regions);
+    }
+
+    @Benchmark
+    public void composite(final ExpansionState state, final Blackhole blackhole) {
+        final CompositeBuffer buffer = Buffer.composite();
+        for (int i = 0; i < state.regions; i++) {
+            buffer.expand(state.allocator.allocate(-1), buffer.regionCount());
+        }
+
+        blackhole.consume(buffer.capacity());
+        buffer.release();
+    }
+
+    @Benchmark
+    public void compositeLegacy(final ExpansionState state, final Blackhole blackhole) {
+        CompositeRegion[] regions = new CompositeRegion[0];
+        long[] index = new long[0];
+        long size = 0;
+        for (int i = 0; i < state.regions; i++) {
+            final CompositeRegion[] grown = new CompositeRegion[regions.length + 1];
+            System.arraycopy(regions, 0, grown, 0, regions.length);
+            grown[regions.length] = new CompositeRegion(state.allocator.allocate(-1), 0);
+            regions = grown;
+
+            index = new long[regions.length];
+            long offset = 0;
+            for (int j = 0; j < regions.length; j++) {
+                index[j] = offset;
+                regions[j].offset(offset);
+                offset += regions[j].buffer().capacity();
+            }
+
+            size = 0;
+            for (int j = 0; j < regions.length; j++) {
+                size += regions[j].buffer().capacity();
+            }
+        }
+
+        blackhole.consume(index);
+        blackhole.consume(size);
+        release(regions);
+    }
+
+    private static void release(final CompositeRegion[] regions) {
+        for (int i = 0; i < regions.length; i++) {
+            regions[i].buffer().release();
+        }
+    }
+
+}
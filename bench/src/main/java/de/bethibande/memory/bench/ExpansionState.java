@@ -0,0 +1,29 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class ExpansionState {
+
+    public static final int EXPONENT = 16;
+
+    /**
+     * The number of 64 KiB regions to grow to, 16384 regions are 1 GiB and 65536 regions are 4 GiB.
+     */
+    @Param({ "16384", "65536" })
+    public int regions;
+
+    /**
+     * Every region is backed by the same buffer, so the benchmark measures the region bookkeeping instead of allocating gigabytes of memory.
+     */
+    public final Buffer region = Buffer.direct(1 << EXPONENT);
+    public final Allocator allocator = size -> {
+        this.region.retain();
+        return this.region;
+    };
+
+}
@@ -0,0 +1,33 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.impl.RingBuffer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class FastCompositeBoundaryState {
+
+    public final long capacity = (long) Math.pow(2, 16);
+
+    public final Buffer composite = Buffer.fastComposite(16, Buffer.direct(capacity), Buffer.direct(capacity));
+    public final RingBuffer ring = Buffer.ring(16, Buffer.direct(capacity), Buffer.direct(capacity));
+
+    /**
+     * The number of bytes of the value stored before the region boundary.
+     */
+    @Param({ "1", "4", "7" })
+    public int straddle;
+
+    public long boundaryPosition;
+    public long wrapPosition;
+
+    @Setup
+    public void setup() {
+        this.boundaryPosition = this.capacity - this.straddle;
+        this.wrapPosition = 2 * this.capacity - this.straddle; // Wraps around from the end of the last region to the first region
+    }
+
+}
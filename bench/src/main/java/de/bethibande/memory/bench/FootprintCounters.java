@@ -0,0 +1,19 @@
+package de.bethibande.memory.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Reports the memory footprint observed at the end of every iteration.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class FootprintCounters {
+
+    public long footprintBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        this.footprintBytes = 0;
+    }
+
+}
@@ -0,0 +1,105 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.impl.MultiProducerRingBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands records from producer threads to a consumer thread running concurrently, compared against an {@link java.util.concurrent.ArrayBlockingQueue}.
+ * Producers and consumers never wait, an attempt on a full or empty queue fails and is retried by the next operation.
+ * The {@code read} counter therefore holds the actual hand-off rate.
+ * <br>
+ * The single-producer groups use the bounded ring buffer, which expands up to its maximum capacity during the first iteration,
+ * and the {@link de.bethibande.memory.impl.SpscRingBuffer}. The multi-producer groups run three producers against one consumer.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HandOffBenchmark {
+
+    @State(Scope.Thread)
+    public static class ConsumerState {
+
+        public final byte[] bytes = new byte[1024];
+
+        public final MultiProducerRingBuffer.RecordHandler handler = (records, position, length) -> records.get(position, this.bytes, 0, length);
+
+    }
+
+    @Benchmark
+    @Group("ring")
+    public void ringWrite(final HandOffState state, final HandOffCounters counters) {
+        if (state.ring.tryWrite(state.payload)) counters.written++;
+    }
+
+    @Benchmark
+    @Group("ring")
+    public void ringRead(final HandOffState state, final ConsumerState consumer, final HandOffCounters counters) {
+        if (state.ring.readable() < state.record) return;
+
+        state.ring.read(consumer.bytes, 0, state.record);
+        counters.read++;
+    }
+
+    @Benchmark
+    @Group("spsc")
+    public void spscWrite(final HandOffState state, final HandOffCounters counters) {
+        if (state.spsc.tryWrite(state.payload)) counters.written++;
+    }
+
+    @Benchmark
+    @Group("spsc")
+    public void spscRead(final HandOffState state, final ConsumerState consumer, final HandOffCounters counters) {
+        if (state.spsc.tryRead(consumer.bytes, 0, state.record)) counters.read++;
+    }
+
+    @Benchmark
+    @Group("queue")
+    public void queueOffer(final HandOffState state, final HandOffCounters counters) {
+        if (state.queue.offer(Arrays.copyOf(state.payload, state.record))) counters.written++;
+    }
+
+    @Benchmark
+    @Group("queue")
+    public void queuePoll(final HandOffState state, final ConsumerState consumer, final HandOffCounters counters) {
+        final byte[] record = state.queue.poll();
+        if (record == null) return;
+
+        System.arraycopy(record, 0, consumer.bytes, 0, record.length);
+        counters.read++;
+    }
+
+    @Benchmark
+    @Group("mpsc")
+    @GroupThreads(3)
+    public void mpscClaim(final HandOffState state, final HandOffCounters counters) {
+        final long position = state.mpsc.tryClaim(state.record);
+        if (position < 0) return;
+
+        state.mpsc.set(position, state.payload);
+        state.mpsc.commit(position);
+        counters.written++;
+    }
+
+    @Benchmark
+    @Group("mpsc")
+    public void mpscPoll(final HandOffState state, final ConsumerState consumer, final HandOffCounters counters) {
+        counters.read += state.mpsc.poll(consumer.handler, 1);
+    }
+
+    @Benchmark
+    @Group("mpscQueue")
+    @GroupThreads(3)
+    public void mpscQueueOffer(final HandOffState state, final HandOffCounters counters) {
+        queueOffer(state, counters);
+    }
+
+    @Benchmark
+    @Group("mpscQueue")
+    public void mpscQueuePoll(final HandOffState state, final ConsumerState consumer, final HandOffCounters counters) {
+        queuePoll(state, consumer, counters);
+    }
+
+}
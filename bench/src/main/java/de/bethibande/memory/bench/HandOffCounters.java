@@ -0,0 +1,22 @@
+package de.bethibande.memory.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Counts the records that have actually been handed off, as the primary score of a hand-off benchmark also includes
+ * the attempts failing on a full or empty queue.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class HandOffCounters {
+
+    public long written;
+    public long read;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        this.written = 0;
+        this.read = 0;
+    }
+
+}
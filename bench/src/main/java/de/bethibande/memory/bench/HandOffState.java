@@ -0,0 +1,48 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.impl.MultiProducerRingBuffer;
+import de.bethibande.memory.impl.RingBuffer;
+import de.bethibande.memory.impl.SpscRingBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * The queues shared by the producer and consumer threads of a benchmark group.
+ * Every queue holds up to 64 KiB of records, the bounded {@link RingBuffer} starts with a quarter of that and expands on demand.
+ */
+@State(Scope.Group)
+public class HandOffState {
+
+    public static final int EXPONENT = 12;
+    public static final int REGIONS = 16;
+    public static final int CAPACITY = REGIONS << EXPONENT;
+
+    @Param({ "64", "1024" })
+    public int record;
+
+    public byte[] payload;
+
+    public RingBuffer ring;
+    public SpscRingBuffer spsc;
+    public MultiProducerRingBuffer mpsc;
+    public ArrayBlockingQueue<byte[]> queue;
+
+    @Setup
+    public void setup() {
+        this.payload = new byte[this.record];
+        this.ring = Buffer.boundedRing(EXPONENT, REGIONS / 4, CAPACITY);
+        this.spsc = Buffer.spscRing(EXPONENT, REGIONS);
+        this.mpsc = Buffer.multiProducerRing(EXPONENT, REGIONS);
+        this.queue = new ArrayBlockingQueue<>(CAPACITY / this.record);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.ring.release();
+        this.spsc.release();
+        this.mpsc.release();
+    }
+
+}
@@ -0,0 +1,73 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.impl.ExpandingBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams records through a queue written and read by the same thread, compared against an {@link ArrayBlockingQueue}.
+ * The ring buffer and the expanding buffer are not thread-safe unless bounded, so the writer and reader interleave on one thread.
+ * Run with {@code -prof gc} to compare the allocation rates, the {@code footprintBytes} counter holds the memory held by the queue.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InterleavedBenchmark {
+
+    public static final int BURST = 256;
+
+    /**
+     * Writes and reads one record, the ring buffer wraps around and the expanding buffer compacts continuously.
+     */
+    @Benchmark
+    public void steady(final InterleavedState state, final FootprintCounters counters) {
+        state.write();
+        state.read();
+        counters.footprintBytes = state.footprint();
+    }
+
+    /**
+     * Writes a burst of records into a new queue, reading one record for every two written, and drains it afterward.
+     * The ring buffer expands after wrapping around and the expanding buffer expands and compacts.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void burst(final InterleavedState state, final FootprintCounters counters) {
+        final Buffer buffer = switch (state.implementation) {
+            case "ring" -> Buffer.ring(InterleavedState.EXPONENT, 1);
+            case "expanding" -> {
+                final ExpandingBuffer expanding = new ExpandingBuffer(1, InterleavedState.EXPONENT, state.allocator);
+                expanding.compactionWatermark(InterleavedState.REGION_SIZE);
+                yield expanding;
+            }
+            default -> null;
+        };
+        final ArrayBlockingQueue<byte[]> queue = buffer == null ? new ArrayBlockingQueue<>(BURST) : null;
+
+        long footprint = 0;
+        for (int i = 0; i < BURST; i++) {
+            if (buffer != null) {
+                buffer.write(state.payload);
+                if ((i & 1) == 1) buffer.read(state.bytes);
+                footprint = Math.max(footprint, buffer.capacity());
+            } else {
+                queue.offer(state.payload.clone());
+                if ((i & 1) == 1) System.arraycopy(queue.poll(), 0, state.bytes, 0, state.record);
+                footprint = Math.max(footprint, (long) queue.size() * (InterleavedState.ARRAY_HEADER + state.record));
+            }
+        }
+
+        if (buffer != null) {
+            while (buffer.readable() > 0) buffer.read(state.bytes);
+            buffer.release();
+        } else {
+            while (!queue.isEmpty()) System.arraycopy(queue.poll(), 0, state.bytes, 0, state.record);
+        }
+
+        counters.footprintBytes = footprint;
+    }
+
+}
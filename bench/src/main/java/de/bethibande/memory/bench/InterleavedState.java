@@ -0,0 +1,103 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.impl.ExpandingBuffer;
+import de.bethibande.memory.impl.PooledAllocator;
+import de.bethibande.memory.impl.RingBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A queue written and read by the same thread, holding a steady backlog of unread records.
+ * The ring buffer starts with a single region and expands while the backlog is written,
+ * the expanding buffer releases consumed regions using its compaction watermark.
+ */
+@State(Scope.Thread)
+public class InterleavedState {
+
+    public static final int EXPONENT = 12;
+    public static final int REGION_SIZE = 1 << EXPONENT;
+
+    /**
+     * The approximate heap footprint of a byte array in addition to its length and of a reference within the queue's array, assuming compressed oops.
+     */
+    public static final int ARRAY_HEADER = 16;
+    public static final int REFERENCE = 4;
+
+    @Param({ "ring", "expanding", "queue" })
+    public String implementation;
+
+    @Param({ "64", "1024" })
+    public int record;
+
+    /**
+     * The number of records that stay unread.
+     */
+    @Param({ "16", "1024" })
+    public int backlog;
+
+    public byte[] payload;
+    public byte[] bytes;
+
+    public final PooledAllocator allocator = Allocator.pooled(REGION_SIZE);
+
+    public Buffer buffer;
+    public ArrayBlockingQueue<byte[]> queue;
+
+    @Setup
+    public void setup() {
+        this.payload = new byte[this.record];
+        this.bytes = new byte[this.record];
+
+        switch (this.implementation) {
+            case "ring" -> this.buffer = Buffer.ring(EXPONENT, 1);
+            case "expanding" -> {
+                final ExpandingBuffer expanding = new ExpandingBuffer(1, EXPONENT, this.allocator);
+                expanding.compactionWatermark(REGION_SIZE);
+                this.buffer = expanding;
+            }
+            case "queue" -> this.queue = new ArrayBlockingQueue<>(this.backlog + 1);
+            default -> throw new IllegalArgumentException("Unknown implementation " + this.implementation);
+        }
+
+        for (int i = 0; i < this.backlog; i++) {
+            write();
+        }
+    }
+
+    public void write() {
+        if (this.queue != null) {
+            this.queue.offer(this.payload.clone());
+        } else {
+            this.buffer.write(this.payload);
+        }
+    }
+
+    public void read() {
+        if (this.queue != null) {
+            final byte[] record = this.queue.poll();
+            System.arraycopy(record, 0, this.bytes, 0, record.length);
+        } else {
+            this.buffer.read(this.bytes);
+        }
+    }
+
+    /**
+     * Retrieves the memory held by the queue in bytes, estimated for the {@link ArrayBlockingQueue}.
+     */
+    public long footprint() {
+        if (this.queue != null) {
+            return (long) this.queue.size() * (ARRAY_HEADER + this.record) + (long) (this.queue.size() + this.queue.remainingCapacity()) * REFERENCE;
+        }
+
+        return this.buffer.capacity();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (this.buffer != null) this.buffer.release();
+    }
+
+}
@@ -0,0 +1,92 @@
+package de.bethibande.memory.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the latency of handing a record to another thread and back, compared against an {@link java.util.concurrent.ArrayBlockingQueue}.
+ * The {@code ping} methods send a request and spin until the response arrives, their percentiles are the round trip latencies.
+ * The {@code pong} methods answer a request if there is one and return immediately otherwise, their samples are of no interest.
+ * Both threads busy-wait, so each of them needs a CPU core of its own for meaningful results.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoundTripBenchmark {
+
+    @State(Scope.Thread)
+    public static class ScratchState {
+
+        public final byte[] bytes = new byte[1024];
+
+    }
+
+    @Benchmark
+    @Group("ring")
+    public void ringPing(final RoundTripState state, final ScratchState scratch, final Control control) {
+        state.ringRequests.write(state.payload);
+
+        while (state.ringResponses.readable() < state.record) {
+            if (control.stopMeasurement) return; // The other thread may already have stopped
+            Thread.onSpinWait();
+        }
+
+        state.ringResponses.read(scratch.bytes, 0, state.record);
+    }
+
+    @Benchmark
+    @Group("ring")
+    public void ringPong(final RoundTripState state, final ScratchState scratch) {
+        if (state.ringRequests.readable() < state.record) return;
+
+        state.ringRequests.read(scratch.bytes, 0, state.record);
+        state.ringResponses.write(scratch.bytes, 0, state.record);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    public void spscPing(final RoundTripState state, final ScratchState scratch, final Control control) {
+        state.spscRequests.write(state.payload);
+
+        while (!state.spscResponses.tryRead(scratch.bytes, 0, state.record)) {
+            if (control.stopMeasurement) return;
+            Thread.onSpinWait();
+        }
+    }
+
+    @Benchmark
+    @Group("spsc")
+    public void spscPong(final RoundTripState state, final ScratchState scratch) {
+        if (!state.spscRequests.tryRead(scratch.bytes, 0, state.record)) return;
+
+        state.spscResponses.write(scratch.bytes, 0, state.record);
+    }
+
+    @Benchmark
+    @Group("queue")
+    public void queuePing(final RoundTripState state, final ScratchState scratch, final Control control) {
+        state.queueRequests.offer(Arrays.copyOf(state.payload, state.record));
+
+        byte[] response;
+        while ((response = state.queueResponses.poll()) == null) {
+            if (control.stopMeasurement) return;
+            Thread.onSpinWait();
+        }
+
+        System.arraycopy(response, 0, scratch.bytes, 0, response.length);
+    }
+
+    @Benchmark
+    @Group("queue")
+    public void queuePong(final RoundTripState state, final ScratchState scratch) {
+        final byte[] request = state.queueRequests.poll();
+        if (request == null) return;
+
+        System.arraycopy(request, 0, scratch.bytes, 0, request.length);
+        state.queueResponses.offer(Arrays.copyOf(scratch.bytes, request.length));
+    }
+
+}
@@ -0,0 +1,50 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.impl.RingBuffer;
+import de.bethibande.memory.impl.SpscRingBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A request and a response queue per implementation, shared by the two threads of a round trip benchmark group.
+ */
+@State(Scope.Group)
+public class RoundTripState {
+
+    public static final int EXPONENT = 12;
+    public static final int REGIONS = 4;
+
+    @Param({ "64", "1024" })
+    public int record;
+
+    public byte[] payload;
+
+    public RingBuffer ringRequests;
+    public RingBuffer ringResponses;
+    public SpscRingBuffer spscRequests;
+    public SpscRingBuffer spscResponses;
+    public ArrayBlockingQueue<byte[]> queueRequests;
+    public ArrayBlockingQueue<byte[]> queueResponses;
+
+    @Setup(Level.Iteration) // A ping interrupted by the end of an iteration leaves its response behind
+    public void setup() {
+        this.payload = new byte[this.record];
+        this.ringRequests = Buffer.boundedRing(EXPONENT, REGIONS, REGIONS << EXPONENT);
+        this.ringResponses = Buffer.boundedRing(EXPONENT, REGIONS, REGIONS << EXPONENT);
+        this.spscRequests = Buffer.spscRing(EXPONENT, REGIONS);
+        this.spscResponses = Buffer.spscRing(EXPONENT, REGIONS);
+        this.queueRequests = new ArrayBlockingQueue<>(REGIONS);
+        this.queueResponses = new ArrayBlockingQueue<>(REGIONS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        this.ringRequests.release();
+        this.ringResponses.release();
+        this.spscRequests.release();
+        this.spscResponses.release();
+    }
+
+}
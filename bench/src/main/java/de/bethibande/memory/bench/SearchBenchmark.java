@@ -0,0 +1,70 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the word-at-a-time search methods against a loop of {@code getByte} calls,
+ * searching a 16 KiB buffer for a {@code \n} and a {@code \r\n\r\n} delimiter located at its very end.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SearchBenchmark {
+
+    private static long loopIndexOf(final Buffer buffer, final byte value) {
+        final long capacity = buffer.capacity();
+        for (long position = 0; position < capacity; position++) {
+            if (buffer.getByte(position) == value) return position;
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public long defaultIndexOfLoop(final SearchState state) {
+        return loopIndexOf(state.buffer, (byte) '\n');
+    }
+
+    @Benchmark
+    public long defaultIndexOf(final SearchState state) {
+        return state.buffer.indexOf(0, SearchState.SIZE, (byte) '\n');
+    }
+
+    @Benchmark
+    public long defaultIndexOfDelimiter(final SearchState state) {
+        return state.buffer.indexOf(0, SearchState.SIZE, SearchState.DELIMITER);
+    }
+
+    @Benchmark
+    public long defaultLastIndexOf(final SearchState state) {
+        return state.buffer.lastIndexOf(0, SearchState.SIZE, (byte) 'b');
+    }
+
+    @Benchmark
+    public long nioIndexOfLoop(final SearchState state) {
+        return loopIndexOf(state.nioBuffer, (byte) '\n');
+    }
+
+    @Benchmark
+    public long nioIndexOf(final SearchState state) {
+        return state.nioBuffer.indexOf(0, SearchState.SIZE, (byte) '\n');
+    }
+
+    @Benchmark
+    public long fastCompositeIndexOfLoop(final SearchState state) {
+        return loopIndexOf(state.fastComposite, (byte) '\n');
+    }
+
+    @Benchmark
+    public long fastCompositeIndexOf(final SearchState state) {
+        return state.fastComposite.indexOf(0, SearchState.SIZE, (byte) '\n');
+    }
+
+    @Benchmark
+    public long fastCompositeIndexOfDelimiter(final SearchState state) {
+        return state.fastComposite.indexOf(0, SearchState.SIZE, SearchState.DELIMITER);
+    }
+
+}
@@ -0,0 +1,33 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+@State(Scope.Benchmark)
+public class SearchState {
+
+    public static final int SIZE = 1 << 14;
+    public static final byte[] DELIMITER = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    public final Buffer buffer = Buffer.direct(SIZE);
+    public final Buffer nioBuffer = Buffer.directNio(SIZE);
+    public final Buffer fastComposite = Buffer.fastComposite(10, SIZE >> 10);
+
+    public SearchState() {
+        final byte[] bytes = new byte[SIZE];
+        Arrays.fill(bytes, (byte) 'a');
+        for (int i = 64; i < SIZE - DELIMITER.length; i += 64) {
+            bytes[i] = '\r'; // A partial match every 64 bytes
+        }
+        System.arraycopy(DELIMITER, 0, bytes, SIZE - DELIMITER.length, DELIMITER.length);
+
+        buffer.set(0, bytes);
+        nioBuffer.set(0, bytes);
+        fastComposite.set(0, bytes);
+    }
+
+}
@@ -0,0 +1,43 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slices composite buffers the way a message decoder would: one slice per message, read once and released again.
+ * Run with {@code -prof gc} to compare the allocation rate per slice.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SliceBenchmark {
+
+    private static long readAndRelease(final Buffer slice) {
+        final long value = slice.getLong(0) + slice.getLong(slice.capacity() - Long.BYTES);
+        slice.release();
+        return value;
+    }
+
+    @Benchmark
+    public long compositeSingleRegion(final SliceState state) {
+        return readAndRelease(state.composite.slice(128, 512));
+    }
+
+    @Benchmark
+    public long compositeAcrossRegions(final SliceState state) {
+        return readAndRelease(state.composite.slice(SliceState.REGION_SIZE - 256, 512));
+    }
+
+    @Benchmark
+    public long fastCompositeSingleRegion(final SliceState state) {
+        return readAndRelease(state.fastComposite.slice(128, 512));
+    }
+
+    @Benchmark
+    public long fastCompositeAcrossRegions(final SliceState state) {
+        return readAndRelease(state.fastComposite.slice(SliceState.REGION_SIZE - 256, 3 * SliceState.REGION_SIZE));
+    }
+
+}
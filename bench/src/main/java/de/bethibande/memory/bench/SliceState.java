@@ -0,0 +1,27 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.impl.CompositeBuffer;
+import de.bethibande.memory.impl.FastCompositeBuffer;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class SliceState {
+
+    public static final int REGION_SIZE = 4096;
+    public static final int REGIONS = 16;
+
+    public final CompositeBuffer composite;
+    public final FastCompositeBuffer fastComposite = Buffer.fastComposite(12, REGIONS);
+
+    public SliceState() {
+        final Buffer[] buffers = new Buffer[REGIONS];
+        for (int i = 0; i < REGIONS; i++) {
+            buffers[i] = Buffer.direct(REGION_SIZE);
+        }
+
+        this.composite = Buffer.composite(buffers);
+    }
+
+}
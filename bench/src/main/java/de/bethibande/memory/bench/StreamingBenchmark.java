@@ -0,0 +1,30 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.impl.ExpandingBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams one region worth of data through {@link ExpandingBuffer}s per operation,
+ * releasing the consumed region either by compacting manually or by the automatic compaction watermark.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StreamingBenchmark {
+
+    @Benchmark
+    public void compact(final StreamingState state) {
+        state.buffer.write(state.chunk);
+        state.buffer.read(state.chunk);
+        state.buffer.compact();
+    }
+
+    @Benchmark
+    public void autoCompaction(final StreamingState state) {
+        state.autoCompacting.write(state.chunk);
+        state.autoCompacting.read(state.chunk);
+    }
+
+}
@@ -0,0 +1,48 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.impl.ExpandingBuffer;
+import de.bethibande.memory.impl.PooledAllocator;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+public class StreamingState {
+
+    public static final int EXPONENT = 12;
+    public static final int REGION_SIZE = 1 << EXPONENT;
+
+    /**
+     * The number of 4 KiB regions that stay unread while data is streamed through the buffer.
+     */
+    @Param({ "0", "4096" })
+    public int backlog;
+
+    public final byte[] chunk = new byte[REGION_SIZE];
+    public final PooledAllocator allocator = Allocator.pooled(REGION_SIZE);
+
+    public ExpandingBuffer buffer;
+    public ExpandingBuffer autoCompacting;
+
+    private ExpandingBuffer fill() {
+        final ExpandingBuffer buffer = new ExpandingBuffer(1, EXPONENT, this.allocator);
+        for (int i = 0; i < this.backlog; i++) {
+            buffer.write(this.chunk);
+        }
+
+        return buffer;
+    }
+
+    @Setup
+    public void setup() {
+        this.buffer = fill();
+        this.autoCompacting = fill();
+        this.autoCompacting.compactionWatermark(REGION_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.buffer.release();
+        this.autoCompacting.release();
+    }
+
+}
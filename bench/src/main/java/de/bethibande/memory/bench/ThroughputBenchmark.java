@@ -0,0 +1,88 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of every buffer implementation, see {@link ThroughputSuite} for running the whole suite.
+ * Every operation accesses one payload, either positionally following the access pattern or sequentially through the read and write methods.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ThroughputState.OPERATIONS)
+public class ThroughputBenchmark {
+
+    @Benchmark
+    public void getLong(final AccessPatternState state, final Blackhole blackhole) {
+        final Buffer buffer = state.buffer;
+        final long[] positions = state.positions;
+        for (int i = 0; i < positions.length; i++) {
+            blackhole.consume(buffer.getLong(positions[i]));
+        }
+    }
+
+    @Benchmark
+    public void setLong(final AccessPatternState state) {
+        final Buffer buffer = state.buffer;
+        final long[] positions = state.positions;
+        for (int i = 0; i < positions.length; i++) {
+            buffer.set(positions[i], (long) i);
+        }
+    }
+
+    @Benchmark
+    public void getBytes(final AccessPatternState state, final Blackhole blackhole) {
+        final Buffer buffer = state.buffer;
+        final long[] positions = state.positions;
+        for (int i = 0; i < positions.length; i++) {
+            buffer.get(positions[i], state.bytes);
+        }
+
+        blackhole.consume(state.bytes);
+    }
+
+    @Benchmark
+    public void setBytes(final AccessPatternState state) {
+        final Buffer buffer = state.buffer;
+        final long[] positions = state.positions;
+        for (int i = 0; i < positions.length; i++) {
+            buffer.set(positions[i], state.bytes);
+        }
+    }
+
+    @Benchmark
+    public void writeReadLongs(final ThroughputState state, final Blackhole blackhole) {
+        final Buffer buffer = state.buffer;
+        final int count = ThroughputState.OPERATIONS * state.payload / Long.BYTES;
+        buffer.readPosition(0);
+        buffer.writePosition(0);
+
+        for (int i = 0; i < count; i++) {
+            buffer.write((long) i);
+        }
+
+        for (int i = 0; i < count; i++) {
+            blackhole.consume(buffer.readLong());
+        }
+    }
+
+    @Benchmark
+    public void writeReadBytes(final ThroughputState state) {
+        final Buffer buffer = state.buffer;
+        buffer.readPosition(0);
+        buffer.writePosition(0);
+
+        for (int i = 0; i < ThroughputState.OPERATIONS; i++) {
+            buffer.write(state.bytes);
+        }
+
+        for (int i = 0; i < ThroughputState.OPERATIONS; i++) {
+            buffer.read(state.bytes);
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.impl.ExpandingBuffer;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+public class ThroughputState {
+
+    public static final int SIZE = 1 << 23; // 8 MiB
+    public static final int OPERATIONS = 1024;
+
+    @Param({"default", "nio", "composite", "fastComposite", "ring", "expanding"})
+    public String implementation;
+
+    /**
+     * The number of bytes accessed by every operation.
+     */
+    @Param({"8", "64", "4096"})
+    public int payload;
+
+    /**
+     * The region exponent of the composite buffers, ignored by the default and nio buffers.
+     */
+    @Param({"12", "16"})
+    public int exponent;
+
+    public Buffer buffer;
+    public byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final int regions = SIZE >> this.exponent;
+        this.buffer = switch (this.implementation) {
+            case "default" -> Buffer.direct(SIZE);
+            case "nio" -> Buffer.directNio(SIZE);
+            case "composite" -> {
+                final Buffer[] buffers = new Buffer[regions];
+                for (int i = 0; i < regions; i++) {
+                    buffers[i] = Buffer.direct(1L << this.exponent);
+                }
+
+                yield Buffer.composite(buffers);
+            }
+            case "fastComposite" -> Buffer.fastComposite(this.exponent, regions);
+            case "ring" -> Buffer.ring(this.exponent, regions);
+            case "expanding" -> new ExpandingBuffer(regions, this.exponent, Allocator.pooled(1 << this.exponent));
+            default -> throw new IllegalArgumentException("Unknown implementation " + this.implementation);
+        };
+
+        this.bytes = new byte[this.payload];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.buffer.release();
+    }
+
+}
@@ -0,0 +1,53 @@
+package de.bethibande.memory.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.LinuxPerfNormProfiler;
+import org.openjdk.jmh.profile.ProfilerException;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the {@link ThroughputBenchmark} suite with the GC profiler and, where {@code perf} is available, the perfnorm profiler.
+ * Results are written as JSON to {@value #DEFAULT_RESULT} unless another file is passed using {@code -rff}.
+ * Any other JMH command line option may be passed as well, e.g. {@code -p implementation=ring -p pattern=boundary} to run a subset.
+ */
+public class ThroughputSuite {
+
+    public static final String DEFAULT_RESULT = "throughput-results.json";
+
+    static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .include(ThroughputBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON));
+
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT);
+        }
+
+        if (isPerfAvailable()) {
+            options.addProfiler(LinuxPerfNormProfiler.class);
+        } else {
+            System.err.println("perf is not available, running without the perfnorm profiler");
+        }
+
+        new Runner(options.build()).run();
+    }
+
+    private static boolean isPerfAvailable() {
+        try {
+            new LinuxPerfNormProfiler("");
+            return true;
+        } catch (final ProfilerException ex) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the built-in variable-length integer methods against encoding and decoding one byte at a time
+ * through {@code write(byte)} and {@code readByte()}, using 1024 values of mixed lengths per invocation.
+ */
+@Fork(value = 1, warmups = 0)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VarIntBenchmark {
+
+    private static void writeBytewise(final Buffer buffer, final long[] values) {
+        buffer.reset();
+        for (int i = 0; i < values.length; i++) {
+            long value = values[i];
+            while ((value & ~0x7FL) != 0) {
+                buffer.write((byte) (value | 0x80));
+                value >>>= 7;
+            }
+            buffer.write((byte) value);
+        }
+    }
+
+    private static void readBytewise(final Buffer buffer, final Blackhole blackhole) {
+        buffer.readPosition(0);
+        for (int i = 0; i < VarIntState.COUNT; i++) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            blackhole.consume(value);
+        }
+    }
+
+    private static void write(final Buffer buffer, final long[] values) {
+        buffer.reset();
+        for (int i = 0; i < values.length; i++) {
+            buffer.writeVarLong(values[i]);
+        }
+    }
+
+    private static void read(final Buffer buffer, final Blackhole blackhole) {
+        buffer.readPosition(0);
+        for (int i = 0; i < VarIntState.COUNT; i++) {
+            blackhole.consume(buffer.readVarLong());
+        }
+    }
+
+    @Benchmark
+    public void defaultWriteBytewise(final VarIntState state) {
+        writeBytewise(state.buffer, state.values);
+    }
+
+    @Benchmark
+    public void defaultWriteVarLong(final VarIntState state) {
+        write(state.buffer, state.values);
+    }
+
+    @Benchmark
+    public void defaultReadBytewise(final VarIntState state, final Blackhole blackhole) {
+        writeBytewise(state.buffer, state.values);
+        readBytewise(state.buffer, blackhole);
+    }
+
+    @Benchmark
+    public void defaultReadVarLong(final VarIntState state, final Blackhole blackhole) {
+        write(state.buffer, state.values);
+        read(state.buffer, blackhole);
+    }
+
+    @Benchmark
+    public void fastCompositeWriteBytewise(final VarIntState state) {
+        writeBytewise(state.fastComposite, state.values);
+    }
+
+    @Benchmark
+    public void fastCompositeWriteVarLong(final VarIntState state) {
+        write(state.fastComposite, state.values);
+    }
+
+    @Benchmark
+    public void fastCompositeReadBytewise(final VarIntState state, final Blackhole blackhole) {
+        writeBytewise(state.fastComposite, state.values);
+        readBytewise(state.fastComposite, blackhole);
+    }
+
+    @Benchmark
+    public void fastCompositeReadVarLong(final VarIntState state, final Blackhole blackhole) {
+        write(state.fastComposite, state.values);
+        read(state.fastComposite, blackhole);
+    }
+
+}
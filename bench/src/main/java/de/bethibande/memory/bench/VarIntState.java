@@ -0,0 +1,26 @@
+package de.bethibande.memory.bench;
+
+import de.bethibande.memory.Buffer;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+@State(Scope.Thread)
+public class VarIntState {
+
+    public static final int COUNT = 1024;
+
+    public final long[] values = new long[COUNT];
+
+    public final Buffer buffer = Buffer.direct(COUNT * 10);
+    public final Buffer fastComposite = Buffer.fastComposite(10, 10);
+
+    public VarIntState() {
+        final Random random = new Random(42);
+        for (int i = 0; i < COUNT; i++) {
+            values[i] = random.nextLong() >>> random.nextInt(64); // Mixed lengths of 1 to 10 bytes
+        }
+    }
+
+}
@@ -1,8 +1,16 @@
 package de.bethibande.memory;
 
+import de.bethibande.memory.impl.ArenaAllocator;
+import de.bethibande.memory.impl.ConcurrentPooledAllocator;
 import de.bethibande.memory.impl.DirectAllocator;
 import de.bethibande.memory.impl.DirectNioAllocator;
+import de.bethibande.memory.impl.MappedFileAllocator;
 import de.bethibande.memory.impl.PooledAllocator;
+import de.bethibande.memory.impl.SizeClassAllocator;
+
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 
 public interface Allocator {
 
@@ -10,14 +18,46 @@ public interface Allocator {
         return new DirectAllocator();
     }
 
+    static Allocator direct(final ByteOrder order) {
+        return new DirectAllocator(false, order);
+    }
+
     static Allocator directNio() {
         return new DirectNioAllocator();
     }
 
+    static Allocator directNio(final ByteOrder order) {
+        return new DirectNioAllocator(false, order);
+    }
+
+    static Allocator confinedDirect() {
+        return new DirectAllocator(true);
+    }
+
+    static Allocator confinedDirectNio() {
+        return new DirectNioAllocator(true);
+    }
+
     static PooledAllocator pooled(final int size) {
         return new PooledAllocator(size);
     }
 
+    static ConcurrentPooledAllocator concurrentPooled(final int size) {
+        return new ConcurrentPooledAllocator(size);
+    }
+
+    static SizeClassAllocator sizeClassPooled() {
+        return new SizeClassAllocator();
+    }
+
+    static ArenaAllocator arena(final long chunkSize) {
+        return new ArenaAllocator(chunkSize, true);
+    }
+
+    static MappedFileAllocator mapped(final Path file, final FileChannel.MapMode mode) {
+        return new MappedFileAllocator(file, mode);
+    }
+
     Buffer allocate(final long size);
 
 }
@@ -4,22 +4,44 @@ import de.bethibande.memory.impl.*;
 
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 
-public interface Buffer extends Gettable, Settable, Readable, Writable, Sliceable, ReferenceCounted {
+public interface Buffer extends Gettable, Settable, Readable, Writable, Sliceable, Transferable, Searchable, ReferenceCounted {
 
     static Buffer direct(final long capacity) {
         return new DefaultBuffer(Arena.global().allocate(capacity));
     }
 
+    static Buffer direct(final long capacity, final ByteOrder order) {
+        return new DefaultBuffer(Arena.global().allocate(capacity), order);
+    }
+
     static Buffer directNio(final int capacity) {
         return new JavaNioBuffer(ByteBuffer.allocateDirect(capacity));
     }
 
+    static Buffer directNio(final int capacity, final ByteOrder order) {
+        return new JavaNioBuffer(ByteBuffer.allocateDirect(capacity).order(order));
+    }
+
     static Buffer allocate(final int capacity) {
         return new DefaultBuffer(MemorySegment.ofBuffer(ByteBuffer.allocate(capacity)));
     }
 
+    static Buffer confinedDirect(final long capacity) {
+        return new ConfinedDefaultBuffer(Arena.global().allocate(capacity));
+    }
+
+    static Buffer confinedDirectNio(final int capacity) {
+        return new ConfinedNioBuffer(ByteBuffer.allocateDirect(capacity));
+    }
+
     static CompositeBuffer composite(final Buffer... buffers) {
         return new CompositeBuffer(buffers);
     }
@@ -32,14 +54,52 @@ public interface Buffer extends Gettable, Settable, Readable, Writable, Sliceabl
         return new FastCompositeBuffer(initialBufferCount, exponent);
     }
 
+    static CompositeBuffer confinedComposite(final Buffer... buffers) {
+        return new ConfinedCompositeBuffer(buffers);
+    }
+
+    static FastCompositeBuffer confinedFastComposite(final int exponent, final Buffer... buffers) {
+        return new ConfinedFastCompositeBuffer(buffers, exponent);
+    }
+
+    static FastCompositeBuffer confinedFastComposite(final int exponent, final int initialBufferCount) {
+        return new ConfinedFastCompositeBuffer(initialBufferCount, exponent);
+    }
+
     static RingBuffer ring(final int exponent, final int bufferCount) {
         return new RingBuffer(bufferCount, exponent);
     }
 
+    static RingBuffer ring(final int exponent, final int bufferCount, final ByteOrder order) {
+        return new RingBuffer(bufferCount, exponent, order);
+    }
+
     static RingBuffer ring(final int exponent, final Buffer... buffers) {
         return new RingBuffer(buffers, exponent);
     }
 
+    static RingBuffer boundedRing(final int exponent, final int bufferCount, final long maxCapacity) {
+        return new RingBuffer(bufferCount, exponent, maxCapacity);
+    }
+
+    static SpscRingBuffer spscRing(final int exponent, final int bufferCount) {
+        return new SpscRingBuffer(bufferCount, exponent);
+    }
+
+    static MultiProducerRingBuffer multiProducerRing(final int exponent, final int bufferCount) {
+        return new MultiProducerRingBuffer(bufferCount, exponent);
+    }
+
+    static MappedCompositeBuffer mapped(final Path file, final FileChannel.MapMode mode, final int exponent) {
+        try (final MappedFileAllocator allocator = new MappedFileAllocator(file, mode)) {
+            return allocator.mapAll(exponent);
+        }
+    }
+
+    static SegmentedLogBuffer segmentedLog(final Path directory, final int exponent) {
+        return new SegmentedLogBuffer(directory, exponent);
+    }
+
     static ExpandingBuffer expanding(final int exponent) {
         final Allocator allocator = new PooledAllocator(1 << exponent);
         return new ExpandingBuffer(1, exponent, allocator);
@@ -48,6 +108,11 @@ public interface Buffer extends Gettable, Settable, Readable, Writable, Sliceabl
 
     long capacity();
 
+    /**
+     * Retrieves the byte order used to read and write multibyte values, including values straddling the regions of composite buffers.
+     */
+    ByteOrder order();
+
     long writePosition();
 
     long readPosition();
@@ -64,6 +129,32 @@ public interface Buffer extends Gettable, Settable, Readable, Writable, Sliceabl
         return capacity() - writePosition();
     }
 
+    /**
+     * Writes up to {@code length} readable bytes to the channel, starting at the read position, see {@link #transferTo(WritableByteChannel, long, long)}.
+     * The read position is advanced by the number of bytes written.
+     *
+     * @return the number of bytes written
+     */
+    default long transferTo(final WritableByteChannel channel, final long length) throws IOException {
+        final long position = readPosition();
+        final long transferred = transferTo(channel, position, Math.min(length, readable()));
+        readPosition(position + transferred);
+        return transferred;
+    }
+
+    /**
+     * Reads up to {@code length} bytes from the channel to the write position, see {@link #transferFrom(ReadableByteChannel, long, long)}.
+     * The write position is advanced by the number of bytes read.
+     *
+     * @return the number of bytes read, possibly zero, or -1 if the channel has reached end-of-stream
+     */
+    default long transferFrom(final ReadableByteChannel channel, final long length) throws IOException {
+        final long position = writePosition();
+        final long transferred = transferFrom(channel, position, Math.min(length, writable()));
+        if (transferred > 0) writePosition(position + transferred);
+        return transferred;
+    }
+
     default void reset() {
         readPosition(0L);
         writePosition(0L);
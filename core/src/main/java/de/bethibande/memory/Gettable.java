@@ -26,4 +26,70 @@ public interface Gettable {
 
     char getChar(final long position);
 
+    default void get(final long position, final short[] values) {
+        get(position, values, 0, values.length);
+    }
+
+    void get(final long position, final short[] values, final int offset, final int length);
+
+    default void get(final long position, final int[] values) {
+        get(position, values, 0, values.length);
+    }
+
+    void get(final long position, final int[] values, final int offset, final int length);
+
+    default void get(final long position, final long[] values) {
+        get(position, values, 0, values.length);
+    }
+
+    void get(final long position, final long[] values, final int offset, final int length);
+
+    default void get(final long position, final float[] values) {
+        get(position, values, 0, values.length);
+    }
+
+    void get(final long position, final float[] values, final int offset, final int length);
+
+    default void get(final long position, final double[] values) {
+        get(position, values, 0, values.length);
+    }
+
+    void get(final long position, final double[] values, final int offset, final int length);
+
+    default void get(final long position, final char[] values) {
+        get(position, values, 0, values.length);
+    }
+
+    void get(final long position, final char[] values, final int offset, final int length);
+
+    /**
+     * Decodes an unsigned LEB128 variable-length integer of up to 10 bytes starting at the given position.
+     */
+    long getVarLong(final long position);
+
+    /**
+     * Decodes an unsigned LEB128 variable-length integer, see {@link #getVarLong(long)}. Values exceeding 32 bits are truncated.
+     */
+    default int getVarInt(final long position) {
+        return (int) getVarLong(position);
+    }
+
+    default long getZigZagVarLong(final long position) {
+        return Readable.decodeZigZag(getVarLong(position));
+    }
+
+    default int getZigZagVarInt(final long position) {
+        return Readable.decodeZigZag(getVarInt(position));
+    }
+
+    /**
+     * Retrieves the number of bytes taken up by the variable-length integer starting at the given position.
+     */
+    int varLength(final long position);
+
+    /**
+     * Decodes {@code length} bytes of UTF-8 encoded text starting at the given position. Malformed input is replaced.
+     */
+    String getUtf8(final long position, final int length);
+
 }
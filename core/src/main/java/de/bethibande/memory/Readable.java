@@ -26,4 +26,64 @@ public interface Readable {
 
     char readChar();
 
+    default void read(final short[] values) {
+        read(values, 0, values.length);
+    }
+
+    void read(final short[] values, final int offset, final int length);
+
+    default void read(final int[] values) {
+        read(values, 0, values.length);
+    }
+
+    void read(final int[] values, final int offset, final int length);
+
+    default void read(final long[] values) {
+        read(values, 0, values.length);
+    }
+
+    void read(final long[] values, final int offset, final int length);
+
+    default void read(final float[] values) {
+        read(values, 0, values.length);
+    }
+
+    void read(final float[] values, final int offset, final int length);
+
+    default void read(final double[] values) {
+        read(values, 0, values.length);
+    }
+
+    void read(final double[] values, final int offset, final int length);
+
+    default void read(final char[] values) {
+        read(values, 0, values.length);
+    }
+
+    void read(final char[] values, final int offset, final int length);
+
+    long readVarLong();
+
+    default int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    default long readZigZagVarLong() {
+        return decodeZigZag(readVarLong());
+    }
+
+    default int readZigZagVarInt() {
+        return decodeZigZag(readVarInt());
+    }
+
+    static long decodeZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int decodeZigZag(final int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    String readUtf8(final int length);
+
 }
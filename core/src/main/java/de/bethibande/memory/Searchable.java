@@ -0,0 +1,33 @@
+package de.bethibande.memory;
+
+public interface Searchable {
+
+    /**
+     * Finds the first occurrence of the given byte within {@code [from, to)}.
+     *
+     * @return the position of the first occurrence or -1 if the range does not contain the byte
+     */
+    long indexOf(final long from, final long to, final byte value);
+
+    /**
+     * Finds the first occurrence of the given sequence of bytes located entirely within {@code [from, to)}.
+     *
+     * @return the position of the first byte of the first occurrence or -1 if the range does not contain the sequence
+     */
+    long indexOf(final long from, final long to, final byte[] bytes);
+
+    /**
+     * Finds the last occurrence of the given byte within {@code [from, to)}.
+     *
+     * @return the position of the last occurrence or -1 if the range does not contain the byte
+     */
+    long lastIndexOf(final long from, final long to, final byte value);
+
+    /**
+     * Finds the last occurrence of the given sequence of bytes located entirely within {@code [from, to)}.
+     *
+     * @return the position of the first byte of the last occurrence or -1 if the range does not contain the sequence
+     */
+    long lastIndexOf(final long from, final long to, final byte[] bytes);
+
+}
@@ -26,4 +26,86 @@ public interface Settable {
 
     void set(final long position, final char c);
 
+    default void set(final long position, final short[] values) {
+        set(position, values, 0, values.length);
+    }
+
+    void set(final long position, final short[] values, final int offset, final int length);
+
+    default void set(final long position, final int[] values) {
+        set(position, values, 0, values.length);
+    }
+
+    void set(final long position, final int[] values, final int offset, final int length);
+
+    default void set(final long position, final long[] values) {
+        set(position, values, 0, values.length);
+    }
+
+    void set(final long position, final long[] values, final int offset, final int length);
+
+    default void set(final long position, final float[] values) {
+        set(position, values, 0, values.length);
+    }
+
+    void set(final long position, final float[] values, final int offset, final int length);
+
+    default void set(final long position, final double[] values) {
+        set(position, values, 0, values.length);
+    }
+
+    void set(final long position, final double[] values, final int offset, final int length);
+
+    default void set(final long position, final char[] values) {
+        set(position, values, 0, values.length);
+    }
+
+    void set(final long position, final char[] values, final int offset, final int length);
+
+    /**
+     * Encodes the value as an unsigned LEB128 variable-length integer of 1 to 10 bytes.
+     *
+     * @return the number of bytes written
+     */
+    int setVarLong(final long position, final long value);
+
+    /**
+     * Encodes the value as an unsigned LEB128 variable-length integer of 1 to 5 bytes, negative values are treated as unsigned 32-bit integers.
+     *
+     * @return the number of bytes written
+     */
+    default int setVarInt(final long position, final int value) {
+        return setVarLong(position, value & 0xFFFFFFFFL);
+    }
+
+    default int setZigZagVarLong(final long position, final long value) {
+        return setVarLong(position, Writable.encodeZigZag(value));
+    }
+
+    default int setZigZagVarInt(final long position, final int value) {
+        return setVarInt(position, Writable.encodeZigZag(value));
+    }
+
+    /**
+     * Encodes the characters as UTF-8. Unpaired surrogates are replaced by {@code '?'}.
+     *
+     * @return the number of bytes written, see {@link Writable#utf8Length(CharSequence)}
+     */
+    default int setUtf8(final long position, final CharSequence chars) {
+        return setUtf8(position, chars, 0, chars.length());
+    }
+
+    int setUtf8(final long position, final CharSequence chars, final int start, final int end);
+
+    /**
+     * Writes every character as a single byte. Characters outside the ASCII range are replaced by {@code '?'}.
+     *
+     * @return the number of bytes written, which is equal to the number of characters
+     */
+    default int setAscii(final long position, final CharSequence chars) {
+        return setAscii(position, chars, 0, chars.length());
+    }
+
+    int setAscii(final long position, final CharSequence chars, final int start, final int end);
+
 }
@@ -2,6 +2,15 @@ package de.bethibande.memory;
 
 public interface Sliceable {
 
+    /**
+     * Creates a view of the given range sharing the memory of this buffer. The slice retains this buffer until it is released.
+     * <br>
+     * A slice must not be used once it has been released. Implementations may recycle released slices,
+     * so a stale reference may silently access the range of an unrelated slice handed out later.
+     *
+     * @param offset the position the slice starts at
+     * @param length the capacity of the slice
+     */
     Buffer slice(final long offset, final long length);
 
 }
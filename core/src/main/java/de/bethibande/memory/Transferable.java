@@ -0,0 +1,67 @@
+package de.bethibande.memory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ScatteringByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+public interface Transferable {
+
+    /**
+     * Creates {@link ByteBuffer} views of the given range without copying any data.
+     * Buffers made up of multiple regions return one view per region involved.
+     *
+     * @param position the start of the range
+     * @param length the length of the range in bytes
+     * @return the views covering the range, in order
+     */
+    ByteBuffer[] nioBuffers(final long position, final long length);
+
+    /**
+     * Writes the given range to the channel. Channels implementing {@link GatheringByteChannel} receive all views in a single gathering write.
+     * Like the channel's write methods, this may transfer fewer bytes than requested, e.g. when writing to a non-blocking channel.
+     *
+     * @return the number of bytes written
+     */
+    default long transferTo(final WritableByteChannel channel, final long position, final long length) throws IOException {
+        final ByteBuffer[] buffers = nioBuffers(position, length);
+        if (channel instanceof final GatheringByteChannel gathering) {
+            return gathering.write(buffers);
+        }
+
+        long written = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            written += channel.write(buffers[i]);
+            if (buffers[i].hasRemaining()) break;
+        }
+
+        return written;
+    }
+
+    /**
+     * Reads up to {@code length} bytes from the channel into the given range.
+     * Channels implementing {@link ScatteringByteChannel} fill all views in a single scattering read.
+     *
+     * @return the number of bytes read, possibly zero, or -1 if the channel has reached end-of-stream
+     */
+    default long transferFrom(final ReadableByteChannel channel, final long position, final long length) throws IOException {
+        final ByteBuffer[] buffers = nioBuffers(position, length);
+        if (channel instanceof final ScatteringByteChannel scattering) {
+            return scattering.read(buffers);
+        }
+
+        long read = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            final int bytes = channel.read(buffers[i]);
+            if (bytes < 0) return read == 0 ? -1 : read;
+
+            read += bytes;
+            if (buffers[i].hasRemaining()) break;
+        }
+
+        return read;
+    }
+
+}
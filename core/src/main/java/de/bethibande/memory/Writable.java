@@ -26,4 +26,106 @@ public interface Writable {
 
     void write(final char c);
 
+    default void write(final short[] values) {
+        write(values, 0, values.length);
+    }
+
+    void write(final short[] values, final int offset, final int length);
+
+    default void write(final int[] values) {
+        write(values, 0, values.length);
+    }
+
+    void write(final int[] values, final int offset, final int length);
+
+    default void write(final long[] values) {
+        write(values, 0, values.length);
+    }
+
+    void write(final long[] values, final int offset, final int length);
+
+    default void write(final float[] values) {
+        write(values, 0, values.length);
+    }
+
+    void write(final float[] values, final int offset, final int length);
+
+    default void write(final double[] values) {
+        write(values, 0, values.length);
+    }
+
+    void write(final double[] values, final int offset, final int length);
+
+    default void write(final char[] values) {
+        write(values, 0, values.length);
+    }
+
+    void write(final char[] values, final int offset, final int length);
+
+    int writeUtf8(final CharSequence chars);
+
+    int writeAscii(final CharSequence chars);
+
+    void writeVarLong(final long value);
+
+    default void writeVarInt(final int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    default void writeZigZagVarLong(final long value) {
+        writeVarLong(encodeZigZag(value));
+    }
+
+    default void writeZigZagVarInt(final int value) {
+        writeVarInt(encodeZigZag(value));
+    }
+
+    static int utf8Length(final CharSequence chars) {
+        return utf8Length(chars, 0, chars.length());
+    }
+
+    /**
+     * Computes the number of bytes needed to encode the characters as UTF-8, counting unpaired surrogates as a single byte as they are replaced by {@code '?'}.
+     */
+    static int utf8Length(final CharSequence chars, final int start, final int end) {
+        int length = end - start;
+        for (int i = start; i < end; i++) {
+            final char c = chars.charAt(i);
+            if (c < 0x80) continue;
+
+            if (c < 0x800) {
+                length += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                length += 2; // 4 bytes for 2 chars
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                length += 2;
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Computes the number of bytes needed to encode the value as an unsigned LEB128 variable-length integer.
+     */
+    static int varLongSize(final long value) {
+        return (640 - Long.numberOfLeadingZeros(value) * 9) >>> 6;
+    }
+
+    static int varIntSize(final int value) {
+        return varLongSize(value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Maps signed integers to unsigned integers, so values of a small magnitude result in short variable-length integers.
+     */
+    static long encodeZigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static int encodeZigZag(final int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
 }
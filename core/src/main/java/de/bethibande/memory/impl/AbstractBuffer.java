@@ -1,22 +1,82 @@
 package de.bethibande.memory.impl;
 
 import de.bethibande.memory.Buffer;
+import de.bethibande.memory.Writable;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
 
 /**
  * AbstractBuffer is an abstract implementation of the {@link Buffer} interface.
  * It implements reference counting and provides basic read and write position tracking.
  * <br>
+ * The positions and the reference count are stored in volatile fields. Thread-confined subclasses may access the same fields
+ * using plain loads and stores instead, by overriding the accessors to call {@link #plainWritePosition()}, {@link #plainRetain(int)} and so on.
+ * <br>
+ * The reference count used to be the protected {@code AtomicInteger refCount} field. Subclasses updating it directly
+ * must use {@link #REF_COUNT} now, for example {@code REF_COUNT.getAndAdd(this, 1)} instead of {@code refCount.incrementAndGet()}.
+ * <br>
+ * Buffers are tracked by the global {@link LeakDetector} from their construction until the last reference is released.
+ * Subclasses overriding the reference counting methods must call {@link #recordAccess(String)} and {@link #closeLeakTracker()} as well.
+ * <br>
  * Please note that there are no bounds checks implemented for the read and write positions.
  * If used incorrectly, the buffer may become corrupted.
  */
 public abstract class AbstractBuffer implements Buffer {
 
+    protected static final VarHandle WRITE_POSITION;
+    protected static final VarHandle READ_POSITION;
+    protected static final VarHandle REF_COUNT;
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            WRITE_POSITION = lookup.findVarHandle(AbstractBuffer.class, "writePosition", long.class);
+            READ_POSITION = lookup.findVarHandle(AbstractBuffer.class, "readPosition", long.class);
+            REF_COUNT = lookup.findVarHandle(AbstractBuffer.class, "refCount", int.class);
+        } catch (final ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
     private volatile long writePosition;
     private volatile long readPosition;
 
-    protected final AtomicInteger refCount = new AtomicInteger(1);
+    private volatile int refCount = 1;
+
+    private LeakDetector.Tracker leakTracker;
+
+    protected AbstractBuffer() {
+        trackLeaks();
+    }
+
+    /**
+     * Starts tracking this buffer using the global {@link LeakDetector}, replacing the tracker of a previous allocation.
+     * Pooling allocators call this method whenever they hand out a recycled buffer.
+     */
+    protected final void trackLeaks() {
+        if (LeakDetector.ENABLED) {
+            this.leakTracker = LeakDetector.global().track(this);
+        }
+    }
+
+    protected final void recordAccess(final String hint) {
+        if (LeakDetector.ENABLED) {
+            final LeakDetector.Tracker tracker = this.leakTracker;
+            if (tracker != null) tracker.record(hint);
+        }
+    }
+
+    /**
+     * Stops tracking this buffer, called once the last reference has been released before freeing the buffer.
+     */
+    protected final void closeLeakTracker() {
+        if (LeakDetector.ENABLED) {
+            final LeakDetector.Tracker tracker = this.leakTracker;
+            if (tracker != null) tracker.close();
+        }
+    }
 
     @Override
     public long writePosition() {
@@ -40,18 +100,27 @@ public abstract class AbstractBuffer implements Buffer {
 
     @Override
     public void retain() {
-        refCount.incrementAndGet();
+        REF_COUNT.getAndAdd(this, 1);
+        recordAccess("retain");
     }
 
     @Override
     public void retain(final int count) {
-        refCount.addAndGet(count);
+        REF_COUNT.getAndAdd(this, count);
+        recordAccess("retain");
     }
 
     @Override
     public void release() {
-        final int count = refCount.decrementAndGet();
-        if (count == 0) free();
+        released((int) REF_COUNT.getAndAdd(this, -1) - 1);
+    }
+
+    private void released(final int count) {
+        recordAccess("release");
+        if (count == 0) {
+            closeLeakTracker();
+            free();
+        }
     }
 
     protected void free() {
@@ -60,6 +129,281 @@ public abstract class AbstractBuffer implements Buffer {
 
     @Override
     public int referenceCount() {
-        return refCount.get();
+        return this.refCount;
+    }
+
+    /**
+     * Reads the write position using a plain load, for thread-confined subclasses overriding {@link #writePosition()}.
+     */
+    protected final long plainWritePosition() {
+        return (long) WRITE_POSITION.get(this);
+    }
+
+    protected final void plainWritePosition(final long position) {
+        WRITE_POSITION.set(this, position);
+    }
+
+    protected final long plainReadPosition() {
+        return (long) READ_POSITION.get(this);
+    }
+
+    protected final void plainReadPosition(final long position) {
+        READ_POSITION.set(this, position);
+    }
+
+    /**
+     * Increments the reference count using a plain load and store, for thread-confined subclasses overriding {@link #retain(int)}.
+     */
+    protected final void plainRetain(final int count) {
+        REF_COUNT.set(this, (int) REF_COUNT.get(this) + count);
+        recordAccess("retain");
+    }
+
+    /**
+     * Decrements the reference count using a plain load and store, freeing the buffer once it reaches zero.
+     */
+    protected final void plainRelease() {
+        final int count = (int) REF_COUNT.get(this) - 1;
+        REF_COUNT.set(this, count);
+        released(count);
+    }
+
+    protected final int plainReferenceCount() {
+        return (int) REF_COUNT.get(this);
+    }
+
+    @Override
+    public void read(final short[] values, final int offset, final int length) {
+        final long position = readPosition();
+        get(position, values, offset, length);
+        readPosition(position + (long) length * Short.BYTES);
+    }
+
+    @Override
+    public void read(final int[] values, final int offset, final int length) {
+        final long position = readPosition();
+        get(position, values, offset, length);
+        readPosition(position + (long) length * Integer.BYTES);
+    }
+
+    @Override
+    public void read(final long[] values, final int offset, final int length) {
+        final long position = readPosition();
+        get(position, values, offset, length);
+        readPosition(position + (long) length * Long.BYTES);
+    }
+
+    @Override
+    public void read(final float[] values, final int offset, final int length) {
+        final long position = readPosition();
+        get(position, values, offset, length);
+        readPosition(position + (long) length * Float.BYTES);
+    }
+
+    @Override
+    public void read(final double[] values, final int offset, final int length) {
+        final long position = readPosition();
+        get(position, values, offset, length);
+        readPosition(position + (long) length * Double.BYTES);
+    }
+
+    @Override
+    public void read(final char[] values, final int offset, final int length) {
+        final long position = readPosition();
+        get(position, values, offset, length);
+        readPosition(position + (long) length * Character.BYTES);
+    }
+
+    @Override
+    public void write(final short[] values, final int offset, final int length) {
+        final long position = writePosition();
+        set(position, values, offset, length);
+        writePosition(position + (long) length * Short.BYTES);
+    }
+
+    @Override
+    public void write(final int[] values, final int offset, final int length) {
+        final long position = writePosition();
+        set(position, values, offset, length);
+        writePosition(position + (long) length * Integer.BYTES);
+    }
+
+    @Override
+    public void write(final long[] values, final int offset, final int length) {
+        final long position = writePosition();
+        set(position, values, offset, length);
+        writePosition(position + (long) length * Long.BYTES);
+    }
+
+    @Override
+    public void write(final float[] values, final int offset, final int length) {
+        final long position = writePosition();
+        set(position, values, offset, length);
+        writePosition(position + (long) length * Float.BYTES);
+    }
+
+    @Override
+    public void write(final double[] values, final int offset, final int length) {
+        final long position = writePosition();
+        set(position, values, offset, length);
+        writePosition(position + (long) length * Double.BYTES);
+    }
+
+    @Override
+    public void write(final char[] values, final int offset, final int length) {
+        final long position = writePosition();
+        set(position, values, offset, length);
+        writePosition(position + (long) length * Character.BYTES);
+    }
+
+    private boolean matchesAt(final long position, final byte[] bytes) {
+        for (int i = 1; i < bytes.length; i++) { // The first byte has already been matched by indexOf
+            if (getByte(position + i) != bytes[i]) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Searches for the first byte of the sequence using {@link #indexOf(long, long, byte)}, verifying the remaining bytes of every candidate.
+     */
+    @Override
+    public long indexOf(final long from, final long to, final byte[] bytes) {
+        if (bytes.length == 0) return from <= to ? from : -1;
+
+        final long end = to - bytes.length + 1; // Exclusive end of all possible starting positions
+        long position = from;
+        while (position < end) {
+            position = indexOf(position, end, bytes[0]);
+            if (position < 0) return -1;
+            if (matchesAt(position, bytes)) return position;
+
+            position++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Searches for the first byte of the sequence using {@link #lastIndexOf(long, long, byte)}, verifying the remaining bytes of every candidate.
+     */
+    @Override
+    public long lastIndexOf(final long from, final long to, final byte[] bytes) {
+        if (bytes.length == 0) return from <= to ? to : -1;
+
+        long end = to - bytes.length + 1;
+        while (end > from) {
+            final long position = lastIndexOf(from, end, bytes[0]);
+            if (position < 0) return -1;
+            if (matchesAt(position, bytes)) return position;
+
+            end = position;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Decodes the integer one byte at a time. Implementations override this method with a fast path and fall back to it at boundaries.
+     */
+    @Override
+    public long getVarLong(final long position) {
+        long value = 0;
+        for (int i = 0; i < VarInts.MAX_LENGTH; i++) {
+            final byte b = getByte(position + i);
+            value |= (long) (b & 0x7F) << (i * 7);
+            if (b >= 0) return value;
+        }
+
+        throw new IllegalStateException("Malformed variable-length integer at position " + position);
+    }
+
+    @Override
+    public int varLength(final long position) {
+        for (int i = 0; i < VarInts.MAX_LENGTH; i++) {
+            if (getByte(position + i) >= 0) return i + 1;
+        }
+
+        throw new IllegalStateException("Malformed variable-length integer at position " + position);
+    }
+
+    @Override
+    public int setVarLong(final long position, final long value) {
+        final int length = Writable.varLongSize(value);
+        if (length <= Long.BYTES) {
+            final long word = VarInts.encode(value, length);
+            for (int i = 0; i < length; i++) {
+                set(position + i, (byte) (word >>> (i << 3)));
+            }
+        } else {
+            long remaining = value;
+            for (int i = 0; i < length - 1; i++) {
+                set(position + i, (byte) (remaining | 0x80));
+                remaining >>>= 7;
+            }
+            set(position + length - 1, (byte) remaining);
+        }
+
+        return length;
+    }
+
+    @Override
+    public long readVarLong() {
+        return readVarLongAt(readPosition());
+    }
+
+    /**
+     * Decodes the integer at the given position one byte at a time and advances the read position past it,
+     * so the integer is only decoded once. Implementations reading the integer using a single word load fall back to this method.
+     */
+    protected long readVarLongAt(final long position) {
+        long value = 0;
+        for (int i = 0; i < VarInts.MAX_LENGTH; i++) {
+            final byte b = getByte(position + i);
+            value |= (long) (b & 0x7F) << (i * 7);
+            if (b >= 0) {
+                readPosition(position + i + 1);
+                return value;
+            }
+        }
+
+        throw new IllegalStateException("Malformed variable-length integer at position " + position);
+    }
+
+    @Override
+    public void writeVarLong(final long value) {
+        final long position = writePosition();
+        writePosition(position + setVarLong(position, value));
+    }
+
+    @Override
+    public String getUtf8(final long position, final int length) {
+        final byte[] bytes = new byte[length]; // Strings cannot be created from off-heap memory without an intermediate array
+        get(position, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String readUtf8(final int length) {
+        final long position = readPosition();
+        final String value = getUtf8(position, length);
+        readPosition(position + length);
+        return value;
+    }
+
+    @Override
+    public int writeUtf8(final CharSequence chars) {
+        final long position = writePosition();
+        final int length = setUtf8(position, chars, 0, chars.length());
+        writePosition(position + length);
+        return length;
+    }
+
+    @Override
+    public int writeAscii(final CharSequence chars) {
+        final long position = writePosition();
+        final int length = setAscii(position, chars, 0, chars.length());
+        writePosition(position + length);
+        return length;
     }
 }
@@ -0,0 +1,137 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A slab allocator carving {@link DefaultBuffer} slices out of large chunks of off-heap memory.
+ * Unlike {@link DirectAllocator}, which allocates from the global arena, every chunk is allocated from its own {@link Arena}.
+ * <br>
+ * Each slice holds a reference to its chunk and the allocator holds one more reference to the chunk it is currently carving from.
+ * Once the allocator has moved on to the next chunk and the last slice of a chunk has been released, the chunk's arena is closed.
+ * When using shared arenas (the default), this returns the native memory to the operating system deterministically.
+ * Automatic arenas leave reclaiming the memory to the garbage collector instead.
+ * <br>
+ * Requests larger than the chunk size are served from a dedicated chunk of exactly the requested size.
+ * <br>
+ * Allocating is not thread-safe, buffers may however be released from any thread when using shared arenas.
+ */
+public class ArenaAllocator implements Allocator, AutoCloseable {
+
+    public static final long DEFAULT_CHUNK_SIZE = 1 << 20;
+    public static final long ALIGNMENT = 16;
+
+    private final AtomicInteger activeChunks = new AtomicInteger();
+
+    private final long chunkSize;
+    private final boolean shared;
+
+    private ArenaChunk chunk;
+    private long offset;
+
+    public ArenaAllocator() {
+        this(DEFAULT_CHUNK_SIZE, true);
+    }
+
+    /**
+     * Creates a new arena allocator.
+     *
+     * @param chunkSize the size of the chunks slices are carved out of
+     * @param shared whether to allocate chunks from shared arenas, which are closed once all slices are released,
+     *               or from automatic arenas, which are reclaimed by the garbage collector
+     */
+    public ArenaAllocator(final long chunkSize, final boolean shared) {
+        this.chunkSize = chunkSize;
+        this.shared = shared;
+    }
+
+    protected ArenaChunk allocateChunk(final long size) {
+        final Arena arena = this.shared ? Arena.ofShared() : Arena.ofAuto();
+        activeChunks.incrementAndGet();
+        return new ArenaChunk(arena.allocate(size, ALIGNMENT), arena, this);
+    }
+
+    /**
+     * Allocates a slice of the requested size from the current chunk, moving on to a new chunk if the current one cannot fit the request.
+     *
+     * @param size the size of the buffer to allocate
+     * @return a {@link DefaultBuffer} slice with a capacity of {@code size} bytes
+     * @throws IllegalArgumentException if the requested size is negative
+     */
+    @Override
+    public Buffer allocate(final long size) {
+        if (size < 0) throw new IllegalArgumentException("Invalid allocation size!");
+
+        if (size > chunkSize) {
+            final ArenaChunk dedicated = allocateChunk(size);
+            final Buffer slice = dedicated.slice(0, size);
+            dedicated.release();
+            return slice;
+        }
+
+        if (this.chunk == null || this.offset + size > chunkSize) {
+            close();
+            this.chunk = allocateChunk(chunkSize);
+        }
+
+        final Buffer slice = this.chunk.slice(this.offset, size);
+        this.offset += (size + ALIGNMENT - 1) & -ALIGNMENT;
+        return slice;
+    }
+
+    /**
+     * Releases the allocator's reference to the chunk it is currently carving from.
+     * The chunk is freed as soon as all of its slices have been released. The allocator remains usable and will allocate a new chunk when needed.
+     */
+    @Override
+    public void close() {
+        if (this.chunk != null) {
+            this.chunk.release();
+            this.chunk = null;
+            this.offset = 0;
+        }
+    }
+
+    public long chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Retrieves the number of chunks that are still referenced by the allocator or any of their slices.
+     *
+     * @return the number of chunks not yet released
+     */
+    public int activeChunks() {
+        return activeChunks.get();
+    }
+
+    /**
+     * ArenaChunk is a subclass of {@link DefaultBuffer} owning the {@link Arena} its memory has been allocated from.
+     * This class is for internal use only.
+     */
+    protected static class ArenaChunk extends DefaultBuffer {
+
+        private final Arena arena;
+        private final ArenaAllocator allocator;
+
+        public ArenaChunk(final MemorySegment segment, final Arena arena, final ArenaAllocator allocator) {
+            super(segment);
+            this.arena = arena;
+            this.allocator = allocator;
+        }
+
+        @Override
+        protected void free() {
+            if (this.allocator.shared) {
+                this.arena.close();
+            }
+
+            this.allocator.activeChunks.decrementAndGet();
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+
+/**
+ * A sequential reader or writer of a {@link CompositeBuffer}, created using {@link CompositeBuffer#reader()} or {@link CompositeBuffer#writer()}.
+ * The cursor caches the region it is positioned in, so reading or writing a value within that region costs a single bounds check
+ * and a direct call to the backing buffer. The region is only resolved again once the cursor crosses a region boundary,
+ * values straddling two regions are delegated to the composite buffer.
+ * <br>
+ * The cursor has its own position, starting at the read or write position of the buffer. {@link #commit()} stores the position of the cursor
+ * as the read or write position of the buffer. Writers expand {@link RingBuffer}s and {@link ExpandingBuffer}s as needed, just like the buffer's own write methods.
+ * <br>
+ * Expanding or compacting the buffer by other means, or changing its read or write position, invalidates the cached region.
+ * Call {@link #reset()} afterward to continue at the buffer's current position. Cursors are not thread-safe.
+ */
+public class BufferCursor {
+
+    private final CompositeBuffer buffer;
+    private final boolean writer;
+
+    private Buffer region;
+    private long base;
+    private long limit;
+    private long position;
+
+    public BufferCursor(final CompositeBuffer buffer, final boolean writer) {
+        this.buffer = buffer;
+        this.writer = writer;
+
+        reset();
+    }
+
+    /**
+     * Moves the cursor to the current read or write position of the buffer and drops the cached region.
+     */
+    public void reset() {
+        position(this.writer ? this.buffer.writePosition() : this.buffer.readPosition());
+    }
+
+    /**
+     * Stores the position of this cursor as the read or write position of the buffer.
+     */
+    public void commit() {
+        if (this.writer) {
+            this.buffer.writePosition(this.position);
+        } else {
+            this.buffer.readPosition(this.position);
+        }
+    }
+
+    public long position() {
+        return this.position;
+    }
+
+    public void position(final long position) {
+        this.position = position;
+        this.region = null;
+        this.limit = Long.MIN_VALUE; // Forces the region to be resolved by the next access
+    }
+
+    public boolean isWriter() {
+        return this.writer;
+    }
+
+    /**
+     * Resolves the region at the given position, expanding the buffer first if this cursor is a writer.
+     *
+     * @return whether a value of the given size fits into the region
+     */
+    private boolean resolve(final long position, final int bytes) {
+        final long writable = this.writer ? this.buffer.ensureWritable(position, bytes) : Long.MAX_VALUE;
+
+        final CompositeRegion region = this.buffer.regionAt(position);
+        this.region = region.buffer();
+        this.base = position - region.pos(position);
+        this.limit = Math.min(this.base + region.limit(), writable);
+
+        return position + bytes <= this.limit;
+    }
+
+    public byte readByte() {
+        final long position = this.position;
+        if (position + Byte.BYTES > this.limit) resolve(position, Byte.BYTES);
+
+        this.position = position + Byte.BYTES;
+        return this.region.getByte(position - this.base);
+    }
+
+    public short readShort() {
+        final long position = this.position;
+        this.position = position + Short.BYTES;
+        if (position + Short.BYTES <= this.limit || resolve(position, Short.BYTES)) return this.region.getShort(position - this.base);
+        return this.buffer.getShort(position);
+    }
+
+    public int readInt() {
+        final long position = this.position;
+        this.position = position + Integer.BYTES;
+        if (position + Integer.BYTES <= this.limit || resolve(position, Integer.BYTES)) return this.region.getInt(position - this.base);
+        return this.buffer.getInt(position);
+    }
+
+    public long readLong() {
+        final long position = this.position;
+        this.position = position + Long.BYTES;
+        if (position + Long.BYTES <= this.limit || resolve(position, Long.BYTES)) return this.region.getLong(position - this.base);
+        return this.buffer.getLong(position);
+    }
+
+    public float readFloat() {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    public double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    public char readChar() {
+        return (char) readShort();
+    }
+
+    public void read(final byte[] bytes) {
+        read(bytes, 0, bytes.length);
+    }
+
+    public void read(final byte[] bytes, final int offset, final int length) {
+        final long position = this.position;
+        this.position = position + length;
+        if (position + length <= this.limit || resolve(position, length)) {
+            this.region.get(position - this.base, bytes, offset, length);
+        } else {
+            this.buffer.get(position, bytes, offset, length);
+        }
+    }
+
+    public void write(final byte b) {
+        final long position = this.position;
+        if (position + Byte.BYTES > this.limit) resolve(position, Byte.BYTES);
+
+        this.position = position + Byte.BYTES;
+        this.region.set(position - this.base, b);
+    }
+
+    public void write(final short s) {
+        final long position = this.position;
+        this.position = position + Short.BYTES;
+        if (position + Short.BYTES <= this.limit || resolve(position, Short.BYTES)) {
+            this.region.set(position - this.base, s);
+        } else {
+            this.buffer.set(position, s);
+        }
+    }
+
+    public void write(final int i) {
+        final long position = this.position;
+        this.position = position + Integer.BYTES;
+        if (position + Integer.BYTES <= this.limit || resolve(position, Integer.BYTES)) {
+            this.region.set(position - this.base, i);
+        } else {
+            this.buffer.set(position, i);
+        }
+    }
+
+    public void write(final long l) {
+        final long position = this.position;
+        this.position = position + Long.BYTES;
+        if (position + Long.BYTES <= this.limit || resolve(position, Long.BYTES)) {
+            this.region.set(position - this.base, l);
+        } else {
+            this.buffer.set(position, l);
+        }
+    }
+
+    public void write(final float f) {
+        write(Float.floatToRawIntBits(f));
+    }
+
+    public void write(final double d) {
+        write(Double.doubleToRawLongBits(d));
+    }
+
+    public void write(final char c) {
+        write((short) c);
+    }
+
+    public void write(final byte[] bytes) {
+        write(bytes, 0, bytes.length);
+    }
+
+    public void write(final byte[] bytes, final int offset, final int length) {
+        final long position = this.position;
+        this.position = position + length;
+        if (position + length <= this.limit || resolve(position, length)) {
+            this.region.set(position - this.base, bytes, offset, length);
+        } else {
+            this.buffer.set(position, bytes, offset, length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BufferCursor { " +
+               "writer: " + this.writer + ", " +
+               "position: " + this.position + ", " +
+               "buffer: " + this.buffer +
+               " }";
+    }
+}
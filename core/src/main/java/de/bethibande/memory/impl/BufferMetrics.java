@@ -0,0 +1,264 @@
+package de.bethibande.memory.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing the memory held by the allocators and the growth of the expanding buffers.
+ * <br>
+ * There is one instance per kind of allocator, {@link #DIRECT}, {@link #DIRECT_NIO} and {@link #POOLED},
+ * shared by all allocators of that kind, and {@link #COMPOSITE} counting the expansions and compactions
+ * of {@link ExpandingBuffer} and {@link RingBuffer} instances. Every instance is registered as a {@link BufferPoolMXBean}.
+ * <br>
+ * The counters are {@link LongAdder}s, so updating them does not contend between threads. The bytes outstanding are tracked by a single atomic counter instead,
+ * as the high-water mark is sampled from its value after every allocation. Counting can be disabled using the system property
+ * {@link #ENABLED_PROPERTY}, in which case the checks are removed by the JIT compiler as {@link #ENABLED} is a constant.
+ * Pool misses, expansions and compactions are also emitted as JFR events, which cost nothing unless a recording enables them.
+ */
+public final class BufferMetrics implements BufferPoolMXBean {
+
+    public static final String ENABLED_PROPERTY = "de.bethibande.memory.metrics.enabled";
+
+    /**
+     * Whether the counters are updated, enabled by default.
+     */
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+
+    private static final System.Logger LOGGER = System.getLogger(BufferMetrics.class.getName());
+
+    public static final BufferMetrics DIRECT = new BufferMetrics("direct");
+    public static final BufferMetrics DIRECT_NIO = new BufferMetrics("directNio");
+    public static final BufferMetrics POOLED = new BufferMetrics("pooled");
+    public static final BufferMetrics COMPOSITE = new BufferMetrics("composite");
+
+    static {
+        if (ENABLED) {
+            register(DIRECT);
+            register(DIRECT_NIO);
+            register(POOLED);
+            register(COMPOSITE);
+        }
+    }
+
+    private final AtomicLong outstandingBytes = new AtomicLong();
+    private final AtomicLong highWaterMark = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder recycles = new LongAdder();
+    private final LongAdder expansions = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+
+    private final String name;
+
+    private BufferMetrics(final String name) {
+        this.name = name;
+    }
+
+    private static void register(final BufferMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName(metrics.name));
+        } catch (final JMException ex) { // Most likely registered by another class loader already
+            LOGGER.log(System.Logger.Level.DEBUG, "Failed to register the metrics of the " + metrics.name + " buffer pool", ex);
+        }
+    }
+
+    /**
+     * Creates the object name the metrics of the given name are registered with.
+     */
+    public static ObjectName objectName(final String name) {
+        try {
+            return new ObjectName("de.bethibande.memory:type=BufferPool,name=" + name);
+        } catch (final JMException ex) {
+            throw new IllegalArgumentException("Invalid buffer pool name " + name, ex);
+        }
+    }
+
+    /**
+     * Counts newly allocated memory and updates the high-water mark.
+     */
+    public void allocated(final long bytes) {
+        if (ENABLED) {
+            final long outstanding = this.outstandingBytes.addAndGet(bytes);
+
+            long highWaterMark;
+            while (outstanding > (highWaterMark = this.highWaterMark.get()) && !this.highWaterMark.compareAndSet(highWaterMark, outstanding)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public void released(final long bytes) {
+        if (ENABLED) this.outstandingBytes.addAndGet(-bytes);
+    }
+
+    public void hit() {
+        if (ENABLED) this.hits.increment();
+    }
+
+    /**
+     * Counts a pool miss and the memory newly allocated for it.
+     *
+     * @param allocator the class of the allocator, recorded by the JFR event
+     */
+    public void miss(final Class<?> allocator, final long bytes) {
+        if (ENABLED) {
+            this.misses.increment();
+            allocated(bytes);
+        }
+
+        final AllocationMissEvent event = new AllocationMissEvent();
+        if (event.shouldCommit()) {
+            event.allocator = allocator.getName();
+            event.size = bytes;
+            event.commit();
+        }
+    }
+
+    public void recycled() {
+        if (ENABLED) this.recycles.increment();
+    }
+
+    /**
+     * Counts an expansion of the given buffer.
+     *
+     * @param capacity the capacity of the buffer after the expansion
+     */
+    public void expanded(final CompositeBuffer buffer, final long capacity) {
+        if (ENABLED) this.expansions.increment();
+
+        final ExpansionEvent event = new ExpansionEvent();
+        if (event.shouldCommit()) {
+            event.buffer = buffer.getClass().getName();
+            event.capacity = capacity;
+            event.commit();
+        }
+    }
+
+    /**
+     * Counts a compaction of the given buffer.
+     *
+     * @param released the number of bytes released by the compaction
+     * @param capacity the capacity of the buffer after the compaction
+     */
+    public void compacted(final CompositeBuffer buffer, final long released, final long capacity) {
+        if (ENABLED) this.compactions.increment();
+
+        final CompactionEvent event = new CompactionEvent();
+        if (event.shouldCommit()) {
+            event.buffer = buffer.getClass().getName();
+            event.released = released;
+            event.capacity = capacity;
+            event.commit();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public long getBytesOutstanding() {
+        return this.outstandingBytes.get();
+    }
+
+    @Override
+    public long getHighWaterMark() {
+        return this.highWaterMark.get();
+    }
+
+    @Override
+    public long getPoolHits() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getPoolMisses() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public long getRecycles() {
+        return this.recycles.sum();
+    }
+
+    @Override
+    public long getExpansions() {
+        return this.expansions.sum();
+    }
+
+    @Override
+    public long getCompactions() {
+        return this.compactions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "BufferMetrics{" +
+                "name=" + this.name +
+                ", bytesOutstanding=" + getBytesOutstanding() +
+                ", highWaterMark=" + getHighWaterMark() +
+                ", poolHits=" + getPoolHits() +
+                ", poolMisses=" + getPoolMisses() +
+                ", recycles=" + getRecycles() +
+                ", expansions=" + getExpansions() +
+                ", compactions=" + getCompactions() +
+                '}';
+    }
+
+    @Name("de.bethibande.memory.AllocationMiss")
+    @Label("Buffer Allocation Miss")
+    @Description("A pooled allocator allocated a new buffer as its pool was empty")
+    @Category({"Memory Utils", "Allocation"})
+    public static final class AllocationMissEvent extends Event {
+
+        @Label("Allocator")
+        public String allocator;
+
+        @Label("Size")
+        @DataAmount
+        public long size;
+    }
+
+    @Name("de.bethibande.memory.Expansion")
+    @Label("Buffer Expansion")
+    @Description("An expanding buffer allocated an additional region")
+    @Category({"Memory Utils", "Buffer"})
+    public static final class ExpansionEvent extends Event {
+
+        @Label("Buffer")
+        public String buffer;
+
+        @Label("Capacity")
+        @DataAmount
+        public long capacity;
+    }
+
+    @Name("de.bethibande.memory.Compaction")
+    @Label("Buffer Compaction")
+    @Description("An expanding buffer released the regions that have been read entirely")
+    @Category({"Memory Utils", "Buffer"})
+    public static final class CompactionEvent extends Event {
+
+        @Label("Buffer")
+        public String buffer;
+
+        @Label("Released")
+        @DataAmount
+        public long released;
+
+        @Label("Capacity")
+        @DataAmount
+        public long capacity;
+    }
+}
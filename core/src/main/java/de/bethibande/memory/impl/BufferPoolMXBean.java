@@ -0,0 +1,34 @@
+package de.bethibande.memory.impl;
+
+/**
+ * The management interface of a {@link BufferMetrics} instance, registered with the platform MBean server
+ * under the object name {@code de.bethibande.memory:type=BufferPool,name=<name>}.
+ */
+public interface BufferPoolMXBean {
+
+    String getName();
+
+    /**
+     * Retrieves the number of bytes allocated that have not been released yet. For pooled allocators, this includes the idle buffers of the pool.
+     */
+    long getBytesOutstanding();
+
+    /**
+     * Retrieves the highest number of bytes outstanding observed after an allocation.
+     */
+    long getHighWaterMark();
+
+    long getPoolHits();
+
+    long getPoolMisses();
+
+    /**
+     * Retrieves the number of buffers returned to a pool.
+     */
+    long getRecycles();
+
+    long getExpansions();
+
+    long getCompactions();
+
+}
@@ -0,0 +1,51 @@
+package de.bethibande.memory.impl;
+
+/**
+ * SWAR (SIMD within a register) helpers used to search eight bytes at a time.
+ * Words must be loaded in little-endian byte order, so the byte at the lowest position maps to the least significant bits of the word.
+ * <br>
+ * This class is for internal use only.
+ */
+final class ByteSearch {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    private ByteSearch() {
+    }
+
+    /**
+     * Creates a word containing the given byte in each of its eight bytes.
+     */
+    static long broadcast(final byte value) {
+        return (value & 0xFFL) * ONES;
+    }
+
+    /**
+     * Computes a mask with the most significant bit of every byte set, that is equal to the corresponding byte of the pattern.
+     * Unlike the common {@code (x - 0x01..) & ~x & 0x80..} approximation, this never yields false positives,
+     * so bits above the first match can be used by {@link #lastMatch(long)} as well.
+     *
+     * @param word the word loaded in little-endian byte order
+     * @param pattern the {@link #broadcast(byte) broadcast} byte to search for
+     */
+    static long matches(final long word, final long pattern) {
+        final long x = word ^ pattern;
+        return ~(((x & LOW_BITS) + LOW_BITS) | x | LOW_BITS);
+    }
+
+    /**
+     * @return the index of the first matching byte within the word, given a non-zero mask returned by {@link #matches(long, long)}
+     */
+    static int firstMatch(final long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+
+    /**
+     * @return the index of the last matching byte within the word, given a non-zero mask returned by {@link #matches(long, long)}
+     */
+    static int lastMatch(final long mask) {
+        return 7 - (Long.numberOfLeadingZeros(mask) >>> 3);
+    }
+
+}
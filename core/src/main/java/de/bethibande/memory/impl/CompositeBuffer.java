@@ -1,9 +1,15 @@
 package de.bethibande.memory.impl;
 
 import de.bethibande.memory.Buffer;
+import de.bethibande.memory.Writable;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -24,28 +30,72 @@ import java.util.List;
  * operations across the composite structure.
  * <br>
  * Expanding the buffer at any position will not affect sliced buffers as they directly reference their backing buffers instead of the composite buffer.
- * As such, sliced buffers will also be composite buffers spanning across the backing buffers they need to access.
+ * As such, sliced buffers will also be composite buffers spanning across the backing buffers they need to access, see {@link SlicedCompositeBuffer}.
  */
 public class CompositeBuffer extends AbstractBuffer {
 
     private final CompositeBuffer parent;
 
+    private static final int MIN_REGION_CAPACITY = 8;
+
+    /**
+     * The regions of this buffer, only the first {@link #regionCount} elements are in use.
+     */
     protected CompositeRegion[] regions;
+    protected int regionCount;
     protected long[] index;
 
     protected long size;
 
+    private ByteOrder order;
+    private boolean bigEndian;
+
     public CompositeBuffer(final Buffer[] buffers) {
         this(buffers, null);
     }
 
+    /**
+     * Creates a composite buffer of the given regions. All regions must share the same byte order,
+     * which becomes the byte order of the composite buffer. Values straddling two regions are assembled using that byte order,
+     * so they decode the same as values stored within a single region.
+     * An empty composite buffer uses {@link ByteOrder#BIG_ENDIAN} until the first region is added.
+     *
+     * @param buffers the regions of the buffer
+     * @param parent the buffer this buffer was sliced from, or {@code null}
+     * @throws IllegalArgumentException if the regions do not share the same byte order
+     */
     public CompositeBuffer(final Buffer[] buffers, final CompositeBuffer parent) {
         this.parent = parent;
 
+        order(buffers.length > 0 ? buffers[0].order() : ByteOrder.BIG_ENDIAN);
+        for (int i = 1; i < buffers.length; i++) {
+            validateOrder(buffers[i]);
+        }
+
         this.regions = new CompositeRegion[buffers.length];
         this.index = new long[buffers.length];
+        this.regionCount = buffers.length;
         init(buffers);
-        this.size = calculateSize(this.regions);
+        this.size = calculateSize();
+    }
+
+    /**
+     * Sets the byte order of this buffer. Final as it is called by the constructor.
+     */
+    protected final void order(final ByteOrder order) {
+        this.order = order;
+        this.bigEndian = order == ByteOrder.BIG_ENDIAN;
+    }
+
+    protected final void validateOrder(final Buffer buffer) {
+        if (buffer.order() != this.order) {
+            throw new IllegalArgumentException("The buffer byte order " + buffer.order() + " does not match the byte order " + this.order + " of the composite buffer");
+        }
+    }
+
+    @Override
+    public ByteOrder order() {
+        return this.order;
     }
 
     protected CompositeRegion region(final Buffer buffer, final long offset) {
@@ -54,7 +104,7 @@ public class CompositeBuffer extends AbstractBuffer {
 
     private void init(final Buffer[] buffers) {
         long offset = 0;
-        for (int i = 0; i < regions.length; i++) {
+        for (int i = 0; i < this.regionCount; i++) {
             final Buffer buffer = buffers[i];
             final CompositeRegion region = region(buffer, offset);
             this.regions[i] = region;
@@ -63,83 +113,140 @@ public class CompositeBuffer extends AbstractBuffer {
         }
     }
 
-    protected long calculateSize(final CompositeRegion[] regions) {
+    protected long calculateSize() {
         long size = 0;
-        for (int i = 0; i < regions.length; i++) {
-            size += regions[i].buffer().capacity();
+        for (int i = 0; i < this.regionCount; i++) {
+            size += this.regions[i].buffer().capacity();
         }
         return size;
     }
 
-    protected long[] updateIndex(final CompositeRegion[] regions) {
-        final long[] output = new long[regions.length];
-
-        long offset = 0;
-        for (int i = 0; i < regions.length; i++) {
-            final CompositeRegion region = regions[i];
+    /**
+     * Updates the offsets of all regions starting at the given region index, the offsets of the regions before it remain unchanged.
+     */
+    protected void updateIndex(final int from) {
+        long offset = from == 0 ? 0 : this.index[from - 1] + this.regions[from - 1].buffer().capacity();
+        for (int i = from; i < this.regionCount; i++) {
+            final CompositeRegion region = this.regions[i];
 
-            output[i] = offset;
+            this.index[i] = offset;
             region.offset(offset);
             offset += region.buffer().capacity();
         }
+    }
+
+    /**
+     * Grows the region array to hold at least the given number of regions, doubling its capacity to make appending amortized O(1).
+     */
+    protected void ensureRegionCapacity(final int count) {
+        if (count <= this.regions.length) return;
+
+        final int capacity = Math.max(count, Math.max(MIN_REGION_CAPACITY, this.regions.length << 1));
+        this.regions = Arrays.copyOf(this.regions, capacity);
+        this.index = Arrays.copyOf(this.index, capacity);
+    }
 
-        return output;
+    public int regionCount() {
+        return this.regionCount;
     }
 
     /**
-     * Returns an array of {@link CompositeRegion} instances that represent the
+     * Returns a copy of the array of {@link CompositeRegion} instances that represent the
      * logical regions of memory within this {@code CompositeBuffer}.
      * <br><br>
-     * Do NOT modify the returned array or its values. Changing the buffer offsets for example will corrupt this buffer.
+     * Do NOT modify the values of the returned array. Changing the buffer offsets for example will corrupt this buffer.
      *
      * @return an array of {@code CompositeRegion} objects associated with this buffer
      */
     public CompositeRegion[] regions() {
-        return regions;
+        return Arrays.copyOf(this.regions, this.regionCount);
     }
 
-    public void expand(final Buffer buffer, final int index) {
-        final CompositeRegion[] regions = new CompositeRegion[this.regions.length + 1];
-        if (index > 0) {
-            System.arraycopy(this.regions, 0, regions, 0, index);
+    /**
+     * Inserts the region at the given index of the region array, shifting all following regions.
+     * Override to change how regions are stored.
+     */
+    protected void insertRegion(final CompositeRegion region, final int index) {
+        ensureRegionCapacity(this.regionCount + 1);
+        if (index < this.regionCount) {
+            System.arraycopy(this.regions, index, this.regions, index + 1, this.regionCount - index);
         }
 
-        final CompositeRegion newRegion = region(buffer, 0);
-        regions[index] = newRegion;
+        this.regions[index] = region;
+        this.regionCount++;
 
-        if (index < this.regions.length) {
-            System.arraycopy(this.regions, index, regions, index + 1, this.regions.length - index);
+        updateIndex(index);
+    }
+
+    public void expand(final Buffer buffer, final int index) {
+        if (this.regionCount == 0) {
+            order(buffer.order());
+        } else {
+            validateOrder(buffer);
         }
 
-        this.regions = regions;
-        this.index = updateIndex(regions);
-        this.size = calculateSize(regions);
-        if (bufferIdxAt(readPosition()) >= index) {
+        final boolean append = index == this.regionCount;
+        final CompositeRegion newRegion = region(buffer, 0);
+        insertRegion(newRegion, index);
+
+        this.size += buffer.capacity();
+        if (!append && bufferIdxAt(readPosition()) >= index) { // Appending never moves existing data, even if the read position points to the end of the buffer
             readPosition(readPosition() + newRegion.buffer().capacity()); // Move read position to ensure it's still reading from the same buffer
         }
     }
 
+    /**
+     * Creates a view of the given range, see {@link SlicedCompositeBuffer}. Slices are recycled,
+     * a slice must therefore not be used once it has been released.
+     */
     @Override
     public Buffer slice(final long offset, final long length) {
-        final List<Buffer> buffers = new ArrayList<>();
+        retain();
+        return SlicedCompositeBuffer.acquire(this, offset, length);
+    }
 
-        long currentOffset = offset;
-        long remainingBytes = length;
-        while (remainingBytes > 0) {
-            final CompositeRegion region = regionAt(currentOffset);
-            final Buffer buffer = region.buffer();
+    /**
+     * Creates one or more views for every region overlapping the given range, see {@link Buffer#nioBuffers(long, long)}.
+     * Rings may return views of the same region at both ends of the array if the range wraps around.
+     */
+    @Override
+    public ByteBuffer[] nioBuffers(final long position, final long length) {
+        final List<ByteBuffer> buffers = new ArrayList<>();
 
-            // Always slicing the buffer will ensure we always get a buffer with the correct capacity.
-            // It will also increase the reference count of the buffer and decrease it when the slice is released.
-            final long sliceOffset = region.pos(currentOffset);
-            buffers.add(buffer.slice(sliceOffset, Math.min(remainingBytes, buffer.capacity() - sliceOffset)));
+        long current = position;
+        final long end = position + length;
+        while (current < end) {
+            final CompositeRegion region = regionAt(current);
+            final Buffer buffer = region.buffer();
+            final long offset = region.pos(current);
+            final long bytes = Math.min(region.limit() - offset, end - current);
 
-            currentOffset += buffer.capacity() - sliceOffset;
-            remainingBytes -= buffer.capacity() - sliceOffset;
+            Collections.addAll(buffers, buffer.nioBuffers(offset, bytes));
+            current += bytes;
         }
 
-        retain();
-        return new CompositeBuffer(buffers.toArray(Buffer[]::new), this);
+        return buffers.toArray(ByteBuffer[]::new);
+    }
+
+    /**
+     * Reads up to {@code length} bytes from the channel to the write position, but no more than {@link #transferLimit()} bytes,
+     * see {@link Buffer#transferFrom(ReadableByteChannel, long)}.
+     */
+    @Override
+    public long transferFrom(final ReadableByteChannel channel, final long length) throws IOException {
+        final long bytes = Math.min(length, transferLimit());
+        final long position = writeIdx(bytes);
+        final long transferred = transferFrom(channel, position, bytes);
+        if (transferred > 0) writePosition(position + transferred);
+        return transferred;
+    }
+
+    /**
+     * Retrieves the maximum number of bytes read by a single call to {@link #transferFrom(ReadableByteChannel, long)}, {@link #writable()} by default.
+     * Expanding buffers return more than that if they can expand, bounded by the number of bytes they are willing to expand by at once.
+     */
+    protected long transferLimit() {
+        return writable();
     }
 
     @Override
@@ -149,8 +256,8 @@ public class CompositeBuffer extends AbstractBuffer {
 
     @Override
     protected void free() {
-        for (int i = 0; i < regions.length; i++) { // No enhanced for loop; iterators are slower and litter the heap
-            regions[i].buffer().release();
+        for (int i = 0; i < this.regionCount; i++) { // No enhanced for loop; iterators are slower and litter the heap
+            this.regions[i].buffer().release();
         }
 
         if (this.parent != null) {
@@ -164,7 +271,7 @@ public class CompositeBuffer extends AbstractBuffer {
 
     protected int bufferIdxAt(final long offset) {
         int low = 0;
-        int high = index.length - 1;
+        int high = this.regionCount - 1;
         while (low <= high) {
             final int mid = (low + high) >>> 1;
             final long midVal = index[mid];
@@ -176,51 +283,209 @@ public class CompositeBuffer extends AbstractBuffer {
                 return mid;
             }
         }
-        return low;
+        return high; // The last region starting before the offset
     }
 
     protected CompositeRegion regionAt(final long offset) {
         return regions[bufferIdxAt(offset)];
     }
 
+    /**
+     * Retrieves the index of the region following the region at the given index.
+     * Ring buffers override this method to wrap around to the first region.
+     */
+    protected int nextRegionIdx(final int regionIdx) {
+        return regionIdx + 1;
+    }
+
+    /**
+     * Assembles a value of the given number of bytes straddling two regions, using the byte order of this buffer.
+     * The region at the position is resolved by the caller, the following region is resolved by index. Both parts are read using a single load each,
+     * unless the regions are smaller than the value, in which case the value is assembled byte by byte across all regions it spans.
+     *
+     * @param regionIdx the index of the region containing the position
+     */
+    protected long getStraddled(final int regionIdx, final long position, final int bytes) {
+        final CompositeRegion region = this.regions[regionIdx];
+        final CompositeRegion next = this.regions[nextRegionIdx(regionIdx)];
+        final Buffer first = region.buffer();
+        final Buffer second = next.buffer();
+
+        if (region.limit() < bytes || next.limit() < bytes) return getStraddledBytes(regionIdx, region.pos(position), bytes);
+
+        final int headBits = (int) (region.limit() - region.pos(position)) << 3;
+        final int tailBits = (bytes << 3) - headBits;
+        final long head = load(first, region.limit() - bytes, bytes); // Ends with the first part of the value
+        final long tail = load(second, 0, bytes); // Starts with the second part of the value
+
+        if (this.bigEndian) return (head << tailBits) | (tail >>> headBits);
+        return (head >>> tailBits) | (tail << headBits);
+    }
+
+    private static long load(final Buffer buffer, final long position, final int bytes) {
+        return switch (bytes) {
+            case Short.BYTES -> buffer.getShort(position) & 0xFFFFL;
+            case Integer.BYTES -> buffer.getInt(position) & 0xFFFFFFFFL;
+            default -> buffer.getLong(position);
+        };
+    }
+
+    private long getStraddledBytes(final int startIdx, final long startOffset, final int bytes) {
+        int regionIdx = startIdx;
+        long regionOffset = startOffset;
+        CompositeRegion region = this.regions[regionIdx];
+
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            if (regionOffset == region.limit()) {
+                regionIdx = nextRegionIdx(regionIdx);
+                region = this.regions[regionIdx];
+                regionOffset = 0;
+            }
+
+            final int shift = this.bigEndian ? (bytes - 1 - i) << 3 : i << 3;
+            value |= (region.buffer().getByte(regionOffset++) & 0xFFL) << shift;
+        }
+
+        return value;
+    }
+
+    /**
+     * Scatters the lower {@code bytes} bytes of the value across two regions, see {@link #getStraddled(int, long, int)}.
+     * Each part is written using at most three stores that never touch bytes outside the value.
+     * If the following region is too small to hold the second part, the value is written byte by byte across all regions it spans.
+     */
+    protected void setStraddled(final int regionIdx, final long position, final long value, final int bytes) {
+        final CompositeRegion region = this.regions[regionIdx];
+        final CompositeRegion next = this.regions[nextRegionIdx(regionIdx)];
+        final Buffer first = region.buffer();
+        final Buffer second = next.buffer();
+
+        final int head = (int) (region.limit() - region.pos(position));
+        final int tail = bytes - head;
+        if (next.limit() < tail) {
+            setStraddledBytes(regionIdx, region.pos(position), value, bytes);
+            return;
+        }
+
+        if (this.bigEndian) {
+            store(first, region.pos(position), value >>> (tail << 3), head);
+            store(second, 0, value, tail);
+        } else {
+            store(first, region.pos(position), value, head);
+            store(second, 0, value >>> (head << 3), tail);
+        }
+    }
+
+    /**
+     * Stores the lower {@code bytes} bytes of the value, using the byte order of this buffer.
+     */
+    private void store(final Buffer buffer, final long position, final long value, final int bytes) {
+        long current = position;
+        int remaining = bytes;
+        if (this.bigEndian) {
+            if (remaining >= Integer.BYTES) {
+                remaining -= Integer.BYTES;
+                buffer.set(current, (int) (value >>> (remaining << 3)));
+                current += Integer.BYTES;
+            }
+            if (remaining >= Short.BYTES) {
+                remaining -= Short.BYTES;
+                buffer.set(current, (short) (value >>> (remaining << 3)));
+                current += Short.BYTES;
+            }
+            if (remaining == 1) buffer.set(current, (byte) value);
+        } else {
+            long rest = value;
+            if (remaining >= Integer.BYTES) {
+                buffer.set(current, (int) rest);
+                rest >>>= Integer.SIZE;
+                current += Integer.BYTES;
+                remaining -= Integer.BYTES;
+            }
+            if (remaining >= Short.BYTES) {
+                buffer.set(current, (short) rest);
+                rest >>>= Short.SIZE;
+                current += Short.BYTES;
+                remaining -= Short.BYTES;
+            }
+            if (remaining == 1) buffer.set(current, (byte) rest);
+        }
+    }
+
+    private void setStraddledBytes(final int startIdx, final long startOffset, final long value, final int bytes) {
+        int regionIdx = startIdx;
+        long regionOffset = startOffset;
+        CompositeRegion region = this.regions[regionIdx];
+
+        for (int i = 0; i < bytes; i++) {
+            if (regionOffset == region.limit()) {
+                regionIdx = nextRegionIdx(regionIdx);
+                region = this.regions[regionIdx];
+                regionOffset = 0;
+            }
+
+            final int shift = this.bigEndian ? (bytes - 1 - i) << 3 : i << 3;
+            region.buffer().set(regionOffset++, (byte) (value >>> shift));
+        }
+    }
+
     @Override
     public void get(final long position, final ByteBuffer src, final int offset, final int length) {
-        final CompositeRegion region = regionAt(position);
-        if (region.canFit(position, length)) {
-            region.buffer().get(position - region.offset(), src, offset, length);
-        } else {
-            final Buffer buffer = region.buffer();
-            final long bytesToRead = buffer.capacity() - (position - region.offset());
-            buffer.get(position - region.offset(), src, offset, (int) bytesToRead);
+        if (length == 0) return;
 
-            // TODO: Remove recursion?
-            get(position + bytesToRead, src, offset + (int) bytesToRead, length - (int) bytesToRead);
+        int regionIdx = bufferIdxAt(position);
+        CompositeRegion region = this.regions[regionIdx];
+        long regionOffset = region.pos(position);
+        int read = 0;
+        while (true) { // Continues with the following regions by index instead of searching for them again
+            final Buffer buffer = region.buffer();
+            final int bytes = (int) Math.min(region.limit() - regionOffset, length - read);
+            buffer.get(regionOffset, src, offset + read, bytes);
+            read += bytes;
+            if (read == length) return;
+
+            regionIdx = nextRegionIdx(regionIdx);
+            region = this.regions[regionIdx];
+            regionOffset = 0;
         }
     }
 
     @Override
     public void read(final ByteBuffer buffer) {
         final int bytes = (int) Math.min(buffer.remaining(), readable());
-        get(read(bytes), buffer, buffer.position(), bytes);
+        final long position = readIdx(bytes);
+        get(position, buffer, buffer.position(), bytes);
+        readPosition(position + bytes);
     }
 
     @Override
     public void set(final long position, final ByteBuffer src, final int offset, final int length) {
-        final CompositeRegion region = regionAt(position);
-        if (region.canFit(position, length)) {
-            region.buffer().set(region.pos(position), src, offset, length);
-        } else {
+        if (length == 0) return;
+
+        int regionIdx = bufferIdxAt(position);
+        CompositeRegion region = this.regions[regionIdx];
+        long regionOffset = region.pos(position);
+        int written = 0;
+        while (true) { // Continues with the following regions by index instead of searching for them again
             final Buffer buffer = region.buffer();
-            final long bytesToWrite = buffer.capacity() - region.pos(position);
-            buffer.set(region.pos(position), src, offset, (int) bytesToWrite);
-            set(position + bytesToWrite, src, offset + (int) bytesToWrite, length - (int) bytesToWrite);
+            final int bytes = (int) Math.min(region.limit() - regionOffset, length - written);
+            buffer.set(regionOffset, src, offset + written, bytes);
+            written += bytes;
+            if (written == length) return;
+
+            regionIdx = nextRegionIdx(regionIdx);
+            region = this.regions[regionIdx];
+            regionOffset = 0;
         }
     }
 
     @Override
     public void write(final ByteBuffer readable) {
         final int bytes = readable.remaining();
-        set(writeIdx(bytes), readable, readable.position(), bytes);
+        final long position = writeIdx(bytes);
+        set(position, readable, readable.position(), bytes);
+        writePosition(position + bytes);
     }
 
     protected byte getByte(final long position, final CompositeRegion region) {
@@ -240,65 +505,65 @@ public class CompositeBuffer extends AbstractBuffer {
 
     @Override
     public void get(final long position, final byte[] bytes, final int offset, final int length) {
-        final CompositeRegion region = regionAt(position);
-        if (region.canFit(position, length)) {
-            region.buffer().get(position - region.offset(), bytes, offset, length);
-        } else {
-            final Buffer buffer = region.buffer();
-            final long bytesToRead = buffer.capacity() - (position - region.offset());
-            buffer.get(position - region.offset(), bytes, offset, (int) bytesToRead);
+        if (length == 0) return;
 
-            // TODO: Remove recursion?
-            get(position + bytesToRead, bytes, offset + (int) bytesToRead, length - (int) bytesToRead);
+        int regionIdx = bufferIdxAt(position);
+        CompositeRegion region = this.regions[regionIdx];
+        long regionOffset = region.pos(position);
+        int read = 0;
+        while (true) { // Continues with the following regions by index instead of searching for them again
+            final Buffer buffer = region.buffer();
+            final int count = (int) Math.min(region.limit() - regionOffset, length - read);
+            buffer.get(regionOffset, bytes, offset + read, count);
+            read += count;
+            if (read == length) return;
+
+            regionIdx = nextRegionIdx(regionIdx);
+            region = this.regions[regionIdx];
+            regionOffset = 0;
         }
     }
 
-    protected short getShort(final long position, final CompositeRegion region) {
+    protected short getShort(final long position, final int regionIdx) {
+        final CompositeRegion region = this.regions[regionIdx];
         if (region.canFit(position, 2)) {
             return region.buffer().getShort(region.pos(position));
         } else {
-            final byte a = getByte(position, region);
-            final byte b = getByte(position + 1);
-            return (short) (((a & 0xFF) << 8) | (b & 0xFF));
+            return (short) getStraddled(regionIdx, position, 2);
         }
     }
 
     @Override
     public short getShort(final long position) {
-        final CompositeRegion region = regionAt(position);
-        return getShort(position, region);
+        return getShort(position, bufferIdxAt(position));
     }
 
-    protected int getInt(final long position, final CompositeRegion region) {
+    protected int getInt(final long position, final int regionIdx) {
+        final CompositeRegion region = this.regions[regionIdx];
         if (region.canFit(position, 4)) {
             return region.buffer().getInt(region.pos(position));
         } else {
-            final short a = getShort(position, region);
-            final short b = getShort(position + 2);
-            return ((a & 0xFFFF) << 16) | (b & 0xFFFF);
+            return (int) getStraddled(regionIdx, position, 4);
         }
     }
 
     @Override
     public int getInt(final long position) {
-        final CompositeRegion region = regionAt(position);
-        return getInt(position, region);
+        return getInt(position, bufferIdxAt(position));
     }
 
-    protected long getLong(final long position, final CompositeRegion region) {
+    protected long getLong(final long position, final int regionIdx) {
+        final CompositeRegion region = this.regions[regionIdx];
         if (region.canFit(position, 8)) {
             return region.buffer().getLong(region.pos(position));
         } else {
-            final int a = getInt(position, region);
-            final int b = getInt(position + 4);
-            return ((long) a << 32) | (b & 0xFFFFFFFFL);
+            return getStraddled(regionIdx, position, 8);
         }
     }
 
     @Override
     public long getLong(final long position) {
-        final CompositeRegion region = regionAt(position);
-        return getLong(position, region);
+        return getLong(position, bufferIdxAt(position));
     }
 
     @Override
@@ -314,7 +579,7 @@ public class CompositeBuffer extends AbstractBuffer {
     @Override
     public boolean getBoolean(final long position) {
         final CompositeRegion region = regionAt(position);
-        return region.buffer().getBoolean(position - region.offset());
+        return region.buffer().getBoolean(region.pos(position));
     }
 
     @Override
@@ -322,63 +587,90 @@ public class CompositeBuffer extends AbstractBuffer {
         return (char) getShort(position);
     }
 
-    protected long read(final int bytes) {
-        final long readPosition = readPosition();
-        try {
-            return readPosition;
-        } finally {
-            readPosition(readPosition + bytes);
-        }
+    /**
+     * Returns the position to read the given number of bytes from.
+     * The read position is advanced by the caller once the bytes have been read.
+     */
+    protected long readIdx(final long bytes) {
+        return readPosition();
     }
 
     @Override
     public void read(final byte[] bytes) {
-        get(read(bytes.length), bytes);
+        final long position = readIdx(bytes.length);
+        get(position, bytes);
+        readPosition(position + bytes.length);
     }
 
     @Override
     public void read(final byte[] bytes, final int offset, final int length) {
-        get(read(length), bytes, offset, length);
+        final long position = readIdx(length);
+        get(position, bytes, offset, length);
+        readPosition(position + length);
     }
 
     @Override
     public byte readByte() {
-        return getByte(read(1));
+        final long position = readIdx(1);
+        final byte value = getByte(position);
+        readPosition(position + 1);
+        return value;
     }
 
     @Override
     public short readShort() {
-        return getShort(read(2));
+        final long position = readIdx(2);
+        final short value = getShort(position);
+        readPosition(position + 2);
+        return value;
     }
 
     @Override
     public int readInt() {
-        return getInt(read(4));
+        final long position = readIdx(4);
+        final int value = getInt(position);
+        readPosition(position + 4);
+        return value;
     }
 
     @Override
     public long readLong() {
-        return getLong(read(8));
+        final long position = readIdx(8);
+        final long value = getLong(position);
+        readPosition(position + 8);
+        return value;
     }
 
     @Override
     public float readFloat() {
-        return getFloat(read(4));
+        final long position = readIdx(4);
+        final float value = getFloat(position);
+        readPosition(position + 4);
+        return value;
     }
 
     @Override
     public double readDouble() {
-        return getDouble(read(8));
+        final long position = readIdx(8);
+        final double value = getDouble(position);
+        readPosition(position + 8);
+        return value;
     }
 
     @Override
     public boolean readBoolean() {
-        return getBoolean(read(1));
+        final long position = readIdx(1);
+        final boolean value = getBoolean(position);
+        readPosition(position + 1);
+        return value;
     }
 
     @Override
     public char readChar() {
-        return getChar(read(2));
+        final long position = readIdx(2);
+        final char value = getChar(position);
+        readPosition(position + 2);
+        return value;
     }
 
     @Override
@@ -388,14 +680,22 @@ public class CompositeBuffer extends AbstractBuffer {
 
     @Override
     public void set(final long position, final byte[] bytes, final int offset, final int length) {
-        final CompositeRegion region = regionAt(position);
-        if (region.canFit(position, length)) {
-            region.buffer().set(region.pos(position), bytes, offset, length);
-        } else {
+        if (length == 0) return;
+
+        int regionIdx = bufferIdxAt(position);
+        CompositeRegion region = this.regions[regionIdx];
+        long regionOffset = region.pos(position);
+        int written = 0;
+        while (true) { // Continues with the following regions by index instead of searching for them again
             final Buffer buffer = region.buffer();
-            final long bytesToWrite = buffer.capacity() - region.pos(position);
-            buffer.set(region.pos(position), bytes, offset, (int) bytesToWrite);
-            set(position + bytesToWrite, bytes, offset + (int) bytesToWrite, length - (int) bytesToWrite);
+            final int count = (int) Math.min(region.limit() - regionOffset, length - written);
+            buffer.set(regionOffset, bytes, offset + written, count);
+            written += count;
+            if (written == length) return;
+
+            regionIdx = nextRegionIdx(regionIdx);
+            region = this.regions[regionIdx];
+            regionOffset = 0;
         }
     }
 
@@ -409,49 +709,46 @@ public class CompositeBuffer extends AbstractBuffer {
         set(position, b, region);
     }
 
-    protected void set(final long position, final short s, final CompositeRegion region) {
+    protected void set(final long position, final short s, final int regionIdx) {
+        final CompositeRegion region = this.regions[regionIdx];
         if (region.canFit(position, 2)) {
             region.buffer().set(region.pos(position), s);
         } else {
-            set(position, (byte) (s >> 8), region);
-            set(position + 1, (byte) (s & 0xFF));
+            setStraddled(regionIdx, position, s, 2);
         }
     }
 
     @Override
     public void set(final long position, final short s) {
-        final CompositeRegion region = regionAt(position);
-        set(position, s, region);
+        set(position, s, bufferIdxAt(position));
     }
 
-    protected void set(final long position, final int i, final CompositeRegion region) {
+    protected void set(final long position, final int i, final int regionIdx) {
+        final CompositeRegion region = this.regions[regionIdx];
         if (region.canFit(position, 4)) {
             region.buffer().set(region.pos(position), i);
         } else {
-            set(position, (short) (i >> 16), region);
-            set(position + 2, (short) (i & 0xFFFF));
+            setStraddled(regionIdx, position, i, 4);
         }
     }
 
     @Override
     public void set(final long position, final int i) {
-        final CompositeRegion region = regionAt(position);
-        set(position, i, region);
+        set(position, i, bufferIdxAt(position));
     }
 
-    protected void set(final long position, final long l, final CompositeRegion region) {
+    protected void set(final long position, final long l, final int regionIdx) {
+        final CompositeRegion region = this.regions[regionIdx];
         if (region.canFit(position, 8)) {
             region.buffer().set(region.pos(position), l);
         } else {
-            set(position, (int) (l >> 32), region);
-            set(position + 4, (int) (l & 0xFFFFFFFFL));
+            setStraddled(regionIdx, position, l, 8);
         }
     }
 
     @Override
     public void set(final long position, final long l) {
-        final CompositeRegion region = regionAt(position);
-        set(position, l, region);
+        set(position, l, bufferIdxAt(position));
     }
 
     @Override
@@ -474,63 +771,499 @@ public class CompositeBuffer extends AbstractBuffer {
         set(position, (short) c);
     }
 
+    /**
+     * Returns the position to write the given number of bytes to, making room for them if supported by the implementation.
+     * The write position is advanced by the caller once the bytes have been written.
+     */
     protected long writeIdx(final long bytes) {
-        final long writePosition = writePosition();
-        try {
-            return writePosition;
-        } finally {
-            writePosition(writePosition + bytes);
-        }
+        return writePosition();
+    }
+
+    /**
+     * Makes room for the given number of bytes at the given position if supported by the implementation, see {@link #writeIdx(long)}.
+     *
+     * @return the position up to which bytes may be written without calling this method again
+     */
+    protected long ensureWritable(final long position, final long bytes) {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Creates a {@link BufferCursor} reading sequentially, starting at the current read position.
+     */
+    public BufferCursor reader() {
+        return new BufferCursor(this, false);
+    }
+
+    /**
+     * Creates a {@link BufferCursor} writing sequentially, starting at the current write position.
+     */
+    public BufferCursor writer() {
+        return new BufferCursor(this, true);
     }
 
     @Override
     public void write(final byte[] bytes) {
-        set(writeIdx(bytes.length), bytes);
+        final long position = writeIdx(bytes.length);
+        set(position, bytes);
+        writePosition(position + bytes.length);
     }
 
     @Override
     public void write(final byte[] bytes, final int offset, final int length) {
-        set(writeIdx(length), bytes, offset, length);
+        final long position = writeIdx(length);
+        set(position, bytes, offset, length);
+        writePosition(position + length);
     }
 
     @Override
     public void write(final byte b) {
-        set(writeIdx(1), b);
+        final long position = writeIdx(1);
+        set(position, b);
+        writePosition(position + 1);
     }
 
     @Override
     public void write(final short s) {
-        set(writeIdx(2), s);
+        final long position = writeIdx(2);
+        set(position, s);
+        writePosition(position + 2);
     }
 
     @Override
     public void write(final int i) {
-        set(writeIdx(4), i);
+        final long position = writeIdx(4);
+        set(position, i);
+        writePosition(position + 4);
     }
 
     @Override
     public void write(final long l) {
-        set(writeIdx(8), l);
+        final long position = writeIdx(8);
+        set(position, l);
+        writePosition(position + 8);
     }
 
     @Override
     public void write(final float f) {
-        set(writeIdx(4), Float.floatToIntBits(f));
+        final long position = writeIdx(4);
+        set(position, Float.floatToIntBits(f));
+        writePosition(position + 4);
     }
 
     @Override
     public void write(final double d) {
-        set(writeIdx(8), Double.doubleToLongBits(d));
+        final long position = writeIdx(8);
+        set(position, Double.doubleToLongBits(d));
+        writePosition(position + 8);
     }
 
     @Override
     public void write(final boolean b) {
-        set(writeIdx(1), b ? (byte) 1 : (byte) 0);
+        final long position = writeIdx(1);
+        set(position, b ? (byte) 1 : (byte) 0);
+        writePosition(position + 1);
     }
 
     @Override
     public void write(final char c) {
-        set(writeIdx(2), (short) c);
+        final long position = writeIdx(2);
+        set(position, (short) c);
+        writePosition(position + 2);
+    }
+
+    /**
+     * Copies elements between consecutive regions and an array using the bulk methods of the regions.
+     * Elements straddling regions are copied one at a time. The following regions are resolved by index instead of searching for them again.
+     *
+     * @param size the size of a single element in bytes
+     * @param bulk copies the elements that fit into a region
+     * @param straddled copies a single element starting at the given position of the region at the given index, but not fitting into it
+     */
+    private <A> void copy(final long position, final A values, final int offset, final int length, final int size,
+                          final BulkCopy<A> bulk, final StraddledCopy<A> straddled) {
+        if (length == 0) return;
+
+        int regionIdx = bufferIdxAt(position);
+        CompositeRegion region = this.regions[regionIdx];
+        long regionOffset = region.pos(position);
+        int index = offset;
+        final int end = offset + length;
+        while (true) {
+            final Buffer buffer = region.buffer();
+            final long available = region.limit() - regionOffset;
+            final int count = (int) Math.min(available / size, end - index);
+            if (count > 0) {
+                bulk.copy(buffer, regionOffset, values, index, count);
+                index += count;
+            }
+            if (index == end) return;
+
+            long consumed = available - (long) count * size; // The bytes of the next element within this region
+            if (consumed > 0) {
+                straddled.copy(this, regionIdx, position + (long) (index - offset) * size, values, index);
+                if (++index == end) return;
+            }
+
+            regionIdx = nextRegionIdx(regionIdx);
+            region = this.regions[regionIdx];
+            while (consumed > 0 && size - consumed >= region.limit()) { // The element may span several small regions
+                consumed += region.limit();
+                regionIdx = nextRegionIdx(regionIdx);
+                region = this.regions[regionIdx];
+            }
+            regionOffset = consumed > 0 ? size - consumed : 0;
+        }
+    }
+
+    @Override
+    public void get(final long position, final short[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Short.BYTES, Buffer::get,
+                (buffer, regionIdx, current, array, index) -> array[index] = (short) buffer.getStraddled(regionIdx, current, Short.BYTES));
+    }
+
+    @Override
+    public void get(final long position, final int[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Integer.BYTES, Buffer::get,
+                (buffer, regionIdx, current, array, index) -> array[index] = (int) buffer.getStraddled(regionIdx, current, Integer.BYTES));
+    }
+
+    @Override
+    public void get(final long position, final long[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Long.BYTES, Buffer::get,
+                (buffer, regionIdx, current, array, index) -> array[index] = buffer.getStraddled(regionIdx, current, Long.BYTES));
+    }
+
+    @Override
+    public void get(final long position, final float[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Float.BYTES, Buffer::get,
+                (buffer, regionIdx, current, array, index) -> array[index] = Float.intBitsToFloat((int) buffer.getStraddled(regionIdx, current, Float.BYTES)));
+    }
+
+    @Override
+    public void get(final long position, final double[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Double.BYTES, Buffer::get,
+                (buffer, regionIdx, current, array, index) -> array[index] = Double.longBitsToDouble(buffer.getStraddled(regionIdx, current, Double.BYTES)));
+    }
+
+    @Override
+    public void get(final long position, final char[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Character.BYTES, Buffer::get,
+                (buffer, regionIdx, current, array, index) -> array[index] = (char) buffer.getStraddled(regionIdx, current, Character.BYTES));
+    }
+
+    @Override
+    public void set(final long position, final short[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Short.BYTES, Buffer::set,
+                (buffer, regionIdx, current, array, index) -> buffer.setStraddled(regionIdx, current, array[index], Short.BYTES));
+    }
+
+    @Override
+    public void set(final long position, final int[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Integer.BYTES, Buffer::set,
+                (buffer, regionIdx, current, array, index) -> buffer.setStraddled(regionIdx, current, array[index], Integer.BYTES));
+    }
+
+    @Override
+    public void set(final long position, final long[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Long.BYTES, Buffer::set,
+                (buffer, regionIdx, current, array, index) -> buffer.setStraddled(regionIdx, current, array[index], Long.BYTES));
+    }
+
+    @Override
+    public void set(final long position, final float[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Float.BYTES, Buffer::set,
+                (buffer, regionIdx, current, array, index) -> buffer.setStraddled(regionIdx, current, Float.floatToIntBits(array[index]), Float.BYTES));
+    }
+
+    @Override
+    public void set(final long position, final double[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Double.BYTES, Buffer::set,
+                (buffer, regionIdx, current, array, index) -> buffer.setStraddled(regionIdx, current, Double.doubleToLongBits(array[index]), Double.BYTES));
+    }
+
+    @Override
+    public void set(final long position, final char[] values, final int offset, final int length) {
+        copy(position, values, offset, length, Character.BYTES, Buffer::set,
+                (buffer, regionIdx, current, array, index) -> buffer.setStraddled(regionIdx, current, array[index], Character.BYTES));
+    }
+
+    @Override
+    public void read(final short[] values, final int offset, final int length) {
+        final long bytes = (long) length * Short.BYTES;
+        final long position = readIdx(bytes);
+        get(position, values, offset, length);
+        readPosition(position + bytes);
+    }
+
+    @Override
+    public void read(final int[] values, final int offset, final int length) {
+        final long bytes = (long) length * Integer.BYTES;
+        final long position = readIdx(bytes);
+        get(position, values, offset, length);
+        readPosition(position + bytes);
+    }
+
+    @Override
+    public void read(final long[] values, final int offset, final int length) {
+        final long bytes = (long) length * Long.BYTES;
+        final long position = readIdx(bytes);
+        get(position, values, offset, length);
+        readPosition(position + bytes);
+    }
+
+    @Override
+    public void read(final float[] values, final int offset, final int length) {
+        final long bytes = (long) length * Float.BYTES;
+        final long position = readIdx(bytes);
+        get(position, values, offset, length);
+        readPosition(position + bytes);
+    }
+
+    @Override
+    public void read(final double[] values, final int offset, final int length) {
+        final long bytes = (long) length * Double.BYTES;
+        final long position = readIdx(bytes);
+        get(position, values, offset, length);
+        readPosition(position + bytes);
+    }
+
+    @Override
+    public void read(final char[] values, final int offset, final int length) {
+        final long bytes = (long) length * Character.BYTES;
+        final long position = readIdx(bytes);
+        get(position, values, offset, length);
+        readPosition(position + bytes);
+    }
+
+    @Override
+    public void write(final short[] values, final int offset, final int length) {
+        final long bytes = (long) length * Short.BYTES;
+        final long position = writeIdx(bytes);
+        set(position, values, offset, length);
+        writePosition(position + bytes);
+    }
+
+    @Override
+    public void write(final int[] values, final int offset, final int length) {
+        final long bytes = (long) length * Integer.BYTES;
+        final long position = writeIdx(bytes);
+        set(position, values, offset, length);
+        writePosition(position + bytes);
+    }
+
+    @Override
+    public void write(final long[] values, final int offset, final int length) {
+        final long bytes = (long) length * Long.BYTES;
+        final long position = writeIdx(bytes);
+        set(position, values, offset, length);
+        writePosition(position + bytes);
+    }
+
+    @Override
+    public void write(final float[] values, final int offset, final int length) {
+        final long bytes = (long) length * Float.BYTES;
+        final long position = writeIdx(bytes);
+        set(position, values, offset, length);
+        writePosition(position + bytes);
+    }
+
+    @Override
+    public void write(final double[] values, final int offset, final int length) {
+        final long bytes = (long) length * Double.BYTES;
+        final long position = writeIdx(bytes);
+        set(position, values, offset, length);
+        writePosition(position + bytes);
+    }
+
+    @Override
+    public void write(final char[] values, final int offset, final int length) {
+        final long bytes = (long) length * Character.BYTES;
+        final long position = writeIdx(bytes);
+        set(position, values, offset, length);
+        writePosition(position + bytes);
+    }
+
+    /**
+     * Searches every region overlapping the range using the region's own (word-at-a-time) search, instead of looking up the region of every byte.
+     */
+    @Override
+    public long indexOf(final long from, final long to, final byte value) {
+        long current = from;
+        while (current < to) {
+            final CompositeRegion region = regionAt(current);
+            final long regionFrom = region.pos(current);
+            final long regionTo = Math.min(region.limit(), regionFrom + (to - current));
+
+            final long index = region.buffer().indexOf(regionFrom, regionTo, value);
+            if (index >= 0) return current + (index - regionFrom);
+
+            current += regionTo - regionFrom;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public long lastIndexOf(final long from, final long to, final byte value) {
+        long current = to;
+        while (current > from) {
+            final CompositeRegion region = regionAt(current - 1);
+            final long regionTo = region.pos(current - 1) + 1;
+            final long regionFrom = Math.max(0, regionTo - (current - from));
+
+            final long index = region.buffer().lastIndexOf(regionFrom, regionTo, value);
+            if (index >= 0) return current - (regionTo - index);
+
+            current -= regionTo - regionFrom;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public long getVarLong(final long position) {
+        final CompositeRegion region = regionAt(position);
+        if (region.canFit(position, VarInts.MAX_LENGTH)) {
+            return region.buffer().getVarLong(region.pos(position));
+        }
+
+        return super.getVarLong(position);
+    }
+
+    @Override
+    public int varLength(final long position) {
+        final CompositeRegion region = regionAt(position);
+        if (region.canFit(position, VarInts.MAX_LENGTH)) {
+            return region.buffer().varLength(region.pos(position));
+        }
+
+        return super.varLength(position);
+    }
+
+    @Override
+    public int setVarLong(final long position, final long value) {
+        final CompositeRegion region = regionAt(position);
+        if (region.canFit(position, Writable.varLongSize(value))) {
+            return region.buffer().setVarLong(region.pos(position), value);
+        }
+
+        return super.setVarLong(position, value);
+    }
+
+    /**
+     * Decodes integers of up to 8 bytes using a single word load from the region, if the word does not straddle two regions.
+     */
+    @Override
+    public long readVarLong() {
+        final long position = readIdx(1); // A variable-length integer is always written at once
+        final CompositeRegion region = regionAt(position);
+        if (region.canFit(position, Long.BYTES)) {
+            final long loaded = region.buffer().getLong(region.pos(position));
+            final long word = this.bigEndian ? Long.reverseBytes(loaded) : loaded; // The first byte must be the least significant
+            final int length = VarInts.length(word);
+            if (length != 0) {
+                readPosition(position + length);
+                return VarInts.decode(word);
+            }
+        }
+
+        return readVarLongAt(position);
+    }
+
+    @Override
+    public void writeVarLong(final long value) {
+        final int length = Writable.varLongSize(value);
+        final long position = writeIdx(length);
+        setVarLong(position, value);
+        writePosition(position + length);
+    }
+
+    /**
+     * Encodes the characters region by region, handing every run of code points fitting into a region to the region's own encoder.
+     * Only code points straddling two regions are written byte by byte.
+     */
+    @Override
+    public int setUtf8(final long position, final CharSequence chars, final int start, final int end) {
+        long current = position;
+        int index = start;
+        while (index < end) {
+            final CompositeRegion region = regionAt(current);
+            final Buffer buffer = region.buffer();
+            final long regionPosition = region.pos(current);
+            final long remaining = region.limit() - regionPosition;
+
+            int split = index;
+            long bytes = 0;
+            while (split < end) {
+                final int codePoint = Utf8.codePointAt(chars, split, end);
+                final int length = Utf8.length(codePoint);
+                if (bytes + length > remaining) break;
+
+                bytes += length;
+                split += Utf8.charCount(codePoint);
+            }
+
+            if (split > index) {
+                buffer.setUtf8(regionPosition, chars, index, split);
+                current += bytes;
+                index = split;
+            } else { // The next code point straddles two regions
+                final int codePoint = Utf8.codePointAt(chars, index, end);
+                final int encoded = Utf8.encode(codePoint);
+                final int length = Utf8.length(codePoint);
+                for (int b = 0; b < length; b++) {
+                    set(current++, (byte) (encoded >>> (b << 3)));
+                }
+                index += Utf8.charCount(codePoint);
+            }
+        }
+
+        return (int) (current - position);
+    }
+
+    @Override
+    public int setAscii(final long position, final CharSequence chars, final int start, final int end) {
+        long current = position;
+        int index = start;
+        while (index < end) {
+            final CompositeRegion region = regionAt(current);
+            final Buffer buffer = region.buffer();
+            final long regionPosition = region.pos(current);
+            final int count = (int) Math.min(region.limit() - regionPosition, end - index);
+
+            buffer.setAscii(regionPosition, chars, index, index + count);
+            current += count;
+            index += count;
+        }
+
+        return end - start;
+    }
+
+    @Override
+    public String readUtf8(final int length) {
+        final long position = readIdx(length);
+        final String value = getUtf8(position, length);
+        readPosition(position + length);
+        return value;
+    }
+
+    @Override
+    public int writeUtf8(final CharSequence chars) {
+        final int length = Writable.utf8Length(chars);
+        final long position = writeIdx(length);
+        setUtf8(position, chars, 0, chars.length());
+        writePosition(position + length);
+        return length;
+    }
+
+    @Override
+    public int writeAscii(final CharSequence chars) {
+        final int length = chars.length();
+        final long position = writeIdx(length);
+        setAscii(position, chars, 0, length);
+        writePosition(position + length);
+        return length;
     }
 
     /**
@@ -543,9 +1276,29 @@ public class CompositeBuffer extends AbstractBuffer {
     @Override
     public String toString() {
         return className() + "{ " +
-                "buffers: " + regions.length + ", " +
+                "buffers: " + this.regionCount + ", " +
                 "writePosition: " + writePosition() + ", " +
                 "readPosition: " + readPosition() +
                 " }";
     }
+
+    /**
+     * Copies elements between a region and an array. This interface is for internal use only.
+     */
+    @FunctionalInterface
+    private interface BulkCopy<A> {
+
+        void copy(Buffer buffer, long position, A values, int offset, int length);
+
+    }
+
+    /**
+     * Copies a single element straddling regions between the buffer and an array. This interface is for internal use only.
+     */
+    @FunctionalInterface
+    private interface StraddledCopy<A> {
+
+        void copy(CompositeBuffer buffer, int regionIdx, long position, A values, int index);
+
+    }
 }
@@ -8,18 +8,39 @@ import de.bethibande.memory.Buffer;
  */
 public class CompositeRegion {
 
-    private final Buffer buffer;
+    private Buffer buffer;
     private long offset;
+    private long limit;
 
     public CompositeRegion(final Buffer buffer, final long offset) {
         this.buffer = buffer;
         this.offset = offset;
+        this.limit = buffer.capacity();
     }
 
     public Buffer buffer() {
         return buffer;
     }
 
+    /**
+     * Replaces the backing buffer, used by recycled slices to reuse their regions. The limit is reset to the capacity of the buffer.
+     */
+    public void buffer(final Buffer buffer) {
+        this.buffer = buffer;
+        this.limit = buffer == null ? 0 : buffer.capacity();
+    }
+
+    /**
+     * Retrieves the position within the backing buffer the region ends at, the capacity of the buffer unless the region only covers part of it.
+     */
+    public long limit() {
+        return limit;
+    }
+
+    public void limit(final long limit) {
+        this.limit = limit;
+    }
+
     public long offset() {
         return offset;
     }
@@ -33,14 +54,15 @@ public class CompositeRegion {
     }
 
     public boolean canFit(final long globalOffset, final int length) {
-        return globalOffset + length <= this.offset + this.buffer.capacity();
+        return globalOffset + length <= this.offset + this.limit;
     }
 
     @Override
     public String toString() {
         return "CompositeRegion { " +
                "capacity: " + this.buffer.capacity() + ", " +
-               "offset: " + this.offset +
+               "offset: " + this.offset + ", " +
+               "limit: " + this.limit +
                " }";
     }
 }
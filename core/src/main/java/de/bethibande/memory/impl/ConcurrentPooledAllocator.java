@@ -0,0 +1,301 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe variant of the {@link PooledAllocator}. Buffers may be allocated and released from any thread.
+ * <br>
+ * Every thread owns a small cache, called a magazine, which serves allocations and releases without any synchronization.
+ * Full magazines are handed to a lock-free shared stack, from which other threads can refill their empty magazines.
+ * Buffers released by a thread other than the one that allocated them are pushed onto the allocating thread's return queue,
+ * which the owner drains once its magazine runs empty. This keeps the common case of allocating on I/O threads and releasing on worker threads
+ * free of contention on a single shared structure.
+ * <br>
+ * Once a thread exits, its magazine and return queue are handed to the shared stack, either by the next release of one of its buffers
+ * or by a {@link Cleaner} once the thread has been garbage collected. Buffers released after the owning thread has exited go straight to the shared stack.
+ * <br>
+ * The allocated buffers will be an instance of {@link JavaNioBuffer}. Pool hits, misses and recycled buffers are counted by {@link BufferMetrics#POOLED}.
+ */
+public class ConcurrentPooledAllocator implements Allocator {
+
+    public static final int DEFAULT_MAGAZINE_SIZE = 32;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final AtomicInteger allocated = new AtomicInteger();
+    private final LongAdder queued = new LongAdder();
+
+    private final AtomicReference<Magazine> depot = new AtomicReference<>();
+    private final ThreadLocal<ThreadCache> caches = ThreadLocal.withInitial(() -> new ThreadCache(Thread.currentThread()));
+
+    private final int allocationSize;
+    private final int magazineSize;
+
+    public ConcurrentPooledAllocator(final int allocationSize) {
+        this(allocationSize, DEFAULT_MAGAZINE_SIZE);
+    }
+
+    /**
+     * Creates a new concurrent pooled allocator.
+     *
+     * @param allocationSize the size of every buffer allocated by this allocator
+     * @param magazineSize the number of buffers each thread may cache locally before handing them to the shared stack
+     */
+    public ConcurrentPooledAllocator(final int allocationSize, final int magazineSize) {
+        if (magazineSize < 1) throw new IllegalArgumentException("The magazine size must be at least 1");
+
+        this.allocationSize = allocationSize;
+        this.magazineSize = magazineSize;
+    }
+
+    protected Buffer doAllocate(final ThreadCache owner) {
+        allocated.incrementAndGet();
+        BufferMetrics.POOLED.miss(getClass(), allocationSize);
+        return new ConcurrentPooledBuffer(ByteBuffer.allocateDirect(allocationSize), this, owner);
+    }
+
+    /**
+     * Allocates a buffer of the specified size from the calling thread's cache, the shared stack or creates a new one.
+     * If a size other than the pre-configured allocation size is requested, an exception is thrown.
+     *
+     * @param size the size of the buffer to allocate. Must match the pre-defined allocation size or be -1.
+     * @return a buffer of the requested size, either from the pool or newly allocated.
+     * @throws IllegalArgumentException if the size does not match the pre-defined allocation size and is not -1.
+     */
+    @Override
+    public Buffer allocate(final long size) {
+        if (size != -1 && size != allocationSize) throw new IllegalArgumentException("Invalid allocation size!");
+
+        final ThreadCache cache = caches.get();
+        final ConcurrentPooledBuffer buffer = cache.poll();
+        if (buffer != null) {
+            queued.decrement();
+            buffer.owner = cache;
+            buffer.trackLeaks();
+            BufferMetrics.POOLED.hit();
+            return buffer;
+        }
+
+        return doAllocate(cache);
+    }
+
+    protected void release(final ConcurrentPooledBuffer buffer) {
+        buffer.reset();
+        buffer.retain(1 - buffer.referenceCount());
+        BufferMetrics.POOLED.recycled();
+        queued.increment();
+
+        final ThreadCache owner = buffer.owner;
+        final Thread thread = owner.thread.get();
+        if (thread == Thread.currentThread()) {
+            owner.offer(buffer);
+        } else if (thread != null && thread.isAlive()) {
+            owner.returned(buffer);
+        } else {
+            // The owning thread is gone and will never drain its cache again, hand its buffers to the shared stack.
+            owner.close();
+
+            final ConcurrentPooledBuffer[] buffers = new ConcurrentPooledBuffer[magazineSize];
+            buffers[0] = buffer;
+            pushMagazine(buffers, 1);
+        }
+    }
+
+    private void pushMagazine(final ConcurrentPooledBuffer[] buffers, final int count) {
+        // Magazines are never reused once pushed, which rules out the ABA problem of the Treiber stack.
+        final Magazine magazine = new Magazine(buffers, count);
+        Magazine head;
+        do {
+            head = depot.get();
+            magazine.next = head;
+        } while (!depot.compareAndSet(head, magazine));
+    }
+
+    private Magazine popMagazine() {
+        Magazine head;
+        do {
+            head = depot.get();
+            if (head == null) return null;
+        } while (!depot.compareAndSet(head, head.next));
+
+        return head;
+    }
+
+    /**
+     * Retrieves the number of buffers currently held by the pool, across all thread caches, the shared stack and the return queues.
+     * The caches of threads that have exited are included, their buffers are moved to the shared stack once the exit has been observed.
+     *
+     * @return the number of buffers currently present in the pool.
+     */
+    public int queueSize() {
+        return queued.intValue();
+    }
+
+    /**
+     * Retrieves the total number of allocated buffers managed by the pool.
+     *
+     * @return the total number of buffers that have been allocated.
+     */
+    public int poolSize() {
+        return allocated.get();
+    }
+
+    /**
+     * A full magazine on the shared stack.
+     */
+    private static final class Magazine {
+
+        private final ConcurrentPooledBuffer[] buffers;
+        private final int count;
+        private Magazine next;
+
+        private Magazine(final ConcurrentPooledBuffer[] buffers, final int count) {
+            this.buffers = buffers;
+            this.count = count;
+        }
+    }
+
+    /**
+     * The per-thread cache of a {@link ConcurrentPooledAllocator}.
+     * Only {@link #returned(ConcurrentPooledBuffer)} may be called by threads other than the owning thread,
+     * {@link #close()} may only be called once the owning thread has exited.
+     */
+    protected final class ThreadCache {
+
+        // Held weakly so that the cleaner registered on the thread is able to run.
+        private final WeakReference<Thread> thread;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private ConcurrentPooledBuffer[] magazine = new ConcurrentPooledBuffer[magazineSize];
+        private int count;
+
+        // Lock-free stack of buffers released by other threads. It is only ever drained as a whole,
+        // so reusing the buffers as nodes cannot cause an ABA problem.
+        private final AtomicReference<ConcurrentPooledBuffer> returned = new AtomicReference<>();
+
+        private ThreadCache(final Thread thread) {
+            this.thread = new WeakReference<>(thread);
+            CLEANER.register(thread, this::close);
+        }
+
+        private ConcurrentPooledBuffer poll() {
+            if (count == 0 && !drainReturned() && !refill()) return null;
+
+            final ConcurrentPooledBuffer buffer = magazine[--count];
+            magazine[count] = null;
+            return buffer;
+        }
+
+        private void offer(final ConcurrentPooledBuffer buffer) {
+            if (count == magazine.length) {
+                pushMagazine(magazine, count);
+                magazine = new ConcurrentPooledBuffer[magazineSize];
+                count = 0;
+            }
+
+            magazine[count++] = buffer;
+        }
+
+        private void returned(final ConcurrentPooledBuffer buffer) {
+            ConcurrentPooledBuffer head;
+            do {
+                head = returned.get();
+                buffer.next = head;
+            } while (!returned.compareAndSet(head, buffer));
+
+            // The owning thread may have exited and been closed after the caller checked it, in which case nobody else will drain the stack.
+            if (closed.get()) flushReturned();
+        }
+
+        /**
+         * Hands the magazine and the return queue of this cache to the shared stack. Must only be called after the owning thread has exited.
+         */
+        private void close() {
+            if (!closed.compareAndSet(false, true)) return;
+
+            if (count > 0) pushMagazine(magazine, count);
+            this.magazine = null;
+            this.count = 0;
+
+            flushReturned();
+        }
+
+        private void flushReturned() {
+            ConcurrentPooledBuffer buffer = returned.getAndSet(null);
+            ConcurrentPooledBuffer[] buffers = null;
+            int count = 0;
+
+            while (buffer != null) {
+                final ConcurrentPooledBuffer next = buffer.next;
+                buffer.next = null;
+
+                if (buffers == null || count == buffers.length) {
+                    if (buffers != null) pushMagazine(buffers, count);
+                    buffers = new ConcurrentPooledBuffer[magazineSize];
+                    count = 0;
+                }
+
+                buffers[count++] = buffer;
+                buffer = next;
+            }
+
+            if (count > 0) pushMagazine(buffers, count);
+        }
+
+        private boolean drainReturned() {
+            ConcurrentPooledBuffer buffer = returned.getAndSet(null);
+            if (buffer == null) return false;
+
+            while (buffer != null) {
+                final ConcurrentPooledBuffer next = buffer.next;
+                buffer.next = null;
+                offer(buffer);
+                buffer = next;
+            }
+
+            return true;
+        }
+
+        private boolean refill() {
+            final Magazine full = popMagazine();
+            if (full == null) return false;
+
+            this.magazine = full.buffers;
+            this.count = full.count;
+            return true;
+        }
+    }
+
+    /**
+     * ConcurrentPooledBuffer is a subclass of {@link JavaNioBuffer} owned by a {@link ConcurrentPooledAllocator}.
+     * This class is for internal use only.
+     */
+    protected static class ConcurrentPooledBuffer extends JavaNioBuffer {
+
+        protected final ConcurrentPooledAllocator allocator;
+
+        private ThreadCache owner;
+        private ConcurrentPooledBuffer next;
+
+        public ConcurrentPooledBuffer(final ByteBuffer buffer, final ConcurrentPooledAllocator allocator, final ThreadCache owner) {
+            super(buffer);
+            this.allocator = allocator;
+            this.owner = owner;
+        }
+
+        @Override
+        protected void free() {
+            this.allocator.release(this);
+        }
+    }
+
+}
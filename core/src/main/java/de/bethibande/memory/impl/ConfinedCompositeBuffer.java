@@ -0,0 +1,62 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+
+/**
+ * A thread-confined variant of the {@link CompositeBuffer}.
+ * The read and write positions as well as the reference count are accessed using plain loads and stores instead of volatile or atomic operations.
+ * The backing buffers are not affected, pass confined buffers such as {@link ConfinedNioBuffer} to avoid atomic reference counting when slicing.
+ * <br>
+ * Instances must only ever be used by a single thread at a time. Handing a buffer over to another thread requires external synchronization.
+ */
+public class ConfinedCompositeBuffer extends CompositeBuffer {
+
+    public ConfinedCompositeBuffer(final Buffer[] buffers) {
+        super(buffers);
+    }
+
+    @Override
+    public long writePosition() {
+        return plainWritePosition();
+    }
+
+    @Override
+    public void writePosition(final long position) {
+        plainWritePosition(position);
+    }
+
+    @Override
+    public long readPosition() {
+        return plainReadPosition();
+    }
+
+    @Override
+    public void readPosition(final long position) {
+        plainReadPosition(position);
+    }
+
+    @Override
+    public void retain() {
+        plainRetain(1);
+    }
+
+    @Override
+    public void retain(final int count) {
+        plainRetain(count);
+    }
+
+    @Override
+    public void release() {
+        plainRelease();
+    }
+
+    @Override
+    public int referenceCount() {
+        return plainReferenceCount();
+    }
+
+    @Override
+    protected String className() {
+        return "ConfinedCompositeBuffer";
+    }
+}
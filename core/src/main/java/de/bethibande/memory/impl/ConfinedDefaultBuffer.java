@@ -0,0 +1,61 @@
+package de.bethibande.memory.impl;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
+/**
+ * A thread-confined variant of the {@link DefaultBuffer}.
+ * The read and write positions as well as the reference count are accessed using plain loads and stores instead of volatile or atomic operations.
+ * <br>
+ * Instances must only ever be used by a single thread at a time. Handing a buffer over to another thread requires external synchronization.
+ */
+public class ConfinedDefaultBuffer extends DefaultBuffer {
+
+    public ConfinedDefaultBuffer(final MemorySegment segment) {
+        super(segment);
+    }
+
+    public ConfinedDefaultBuffer(final MemorySegment segment, final ByteOrder order) {
+        super(segment, order);
+    }
+
+    @Override
+    public long writePosition() {
+        return plainWritePosition();
+    }
+
+    @Override
+    public void writePosition(final long position) {
+        plainWritePosition(position);
+    }
+
+    @Override
+    public long readPosition() {
+        return plainReadPosition();
+    }
+
+    @Override
+    public void readPosition(final long position) {
+        plainReadPosition(position);
+    }
+
+    @Override
+    public void retain() {
+        plainRetain(1);
+    }
+
+    @Override
+    public void retain(final int count) {
+        plainRetain(count);
+    }
+
+    @Override
+    public void release() {
+        plainRelease();
+    }
+
+    @Override
+    public int referenceCount() {
+        return plainReferenceCount();
+    }
+}
@@ -0,0 +1,79 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A thread-confined variant of the {@link FastCompositeBuffer}.
+ * The read and write positions as well as the reference count are accessed using plain loads and stores instead of volatile or atomic operations.
+ * Buffers allocated by this class, either initially or when expanding, are {@link ConfinedNioBuffer} instances.
+ * <br>
+ * Instances must only ever be used by a single thread at a time. Handing a buffer over to another thread requires external synchronization.
+ */
+public class ConfinedFastCompositeBuffer extends FastCompositeBuffer {
+
+    public ConfinedFastCompositeBuffer(final int initialBufferCount, final int exponent) {
+        final int bufferSize = 1 << exponent;
+        final Buffer[] buffers = new Buffer[initialBufferCount];
+        for (int i = 0; i < initialBufferCount; i++) {
+            buffers[i] = new ConfinedNioBuffer(ByteBuffer.allocateDirect(bufferSize));
+        }
+
+        this(buffers, exponent);
+    }
+
+    public ConfinedFastCompositeBuffer(final Buffer[] buffers, final int exponent) {
+        super(buffers, exponent);
+    }
+
+    @Override
+    protected Buffer allocateBuffer() {
+        return new ConfinedNioBuffer(ByteBuffer.allocateDirect(expectedRegionSize()).order(order()));
+    }
+
+    @Override
+    public long writePosition() {
+        return plainWritePosition();
+    }
+
+    @Override
+    public void writePosition(final long position) {
+        plainWritePosition(position);
+    }
+
+    @Override
+    public long readPosition() {
+        return plainReadPosition();
+    }
+
+    @Override
+    public void readPosition(final long position) {
+        plainReadPosition(position);
+    }
+
+    @Override
+    public void retain() {
+        plainRetain(1);
+    }
+
+    @Override
+    public void retain(final int count) {
+        plainRetain(count);
+    }
+
+    @Override
+    public void release() {
+        plainRelease();
+    }
+
+    @Override
+    public int referenceCount() {
+        return plainReferenceCount();
+    }
+
+    @Override
+    protected String className() {
+        return "ConfinedFastCompositeBuffer";
+    }
+}
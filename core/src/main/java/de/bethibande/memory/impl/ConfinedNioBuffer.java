@@ -0,0 +1,56 @@
+package de.bethibande.memory.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A thread-confined variant of the {@link JavaNioBuffer}.
+ * The read and write positions as well as the reference count are accessed using plain loads and stores instead of volatile or atomic operations.
+ * <br>
+ * Instances must only ever be used by a single thread at a time. Handing a buffer over to another thread requires external synchronization.
+ */
+public class ConfinedNioBuffer extends JavaNioBuffer {
+
+    public ConfinedNioBuffer(final ByteBuffer buffer) {
+        super(buffer);
+    }
+
+    @Override
+    public long writePosition() {
+        return plainWritePosition();
+    }
+
+    @Override
+    public void writePosition(final long position) {
+        plainWritePosition(position);
+    }
+
+    @Override
+    public long readPosition() {
+        return plainReadPosition();
+    }
+
+    @Override
+    public void readPosition(final long position) {
+        plainReadPosition(position);
+    }
+
+    @Override
+    public void retain() {
+        plainRetain(1);
+    }
+
+    @Override
+    public void retain(final int count) {
+        plainRetain(count);
+    }
+
+    @Override
+    public void release() {
+        plainRelease();
+    }
+
+    @Override
+    public int referenceCount() {
+        return plainReferenceCount();
+    }
+}
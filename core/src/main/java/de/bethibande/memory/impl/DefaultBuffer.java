@@ -5,6 +5,7 @@ import de.bethibande.memory.Buffer;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /**
  * A concrete implementation of the {@link AbstractBuffer} that leverages
@@ -18,12 +19,39 @@ import java.nio.ByteBuffer;
  */
 public class DefaultBuffer extends AbstractBuffer {
 
+    public static final long MAX_NIO_BUFFER_SIZE = 1 << 30;
+
+    private static final ValueLayout.OfLong LONG_LITTLE_ENDIAN = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final ByteOrder SWAPPED_ORDER = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    private static final ValueLayout.OfShort SHORT_SWAPPED = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(SWAPPED_ORDER);
+    private static final ValueLayout.OfInt INT_SWAPPED = ValueLayout.JAVA_INT_UNALIGNED.withOrder(SWAPPED_ORDER);
+    private static final ValueLayout.OfLong LONG_SWAPPED = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(SWAPPED_ORDER);
+    private static final ValueLayout.OfFloat FLOAT_SWAPPED = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(SWAPPED_ORDER);
+    private static final ValueLayout.OfDouble DOUBLE_SWAPPED = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(SWAPPED_ORDER);
+    private static final ValueLayout.OfChar CHAR_SWAPPED = ValueLayout.JAVA_CHAR_UNALIGNED.withOrder(SWAPPED_ORDER);
+
     private final MemorySegment segment;
     private final long capacity;
+    private final ByteOrder order;
+    private final boolean swapBytes;
 
     public DefaultBuffer(final MemorySegment segment) {
+        this(segment, ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Creates a buffer accessing the given segment using the given byte order.<br>
+     * All accesses use the native-order layouts, values are only swapped if the byte order differs from {@link ByteOrder#nativeOrder()}.
+     *
+     * @param segment the memory segment backing the buffer
+     * @param order the byte order used to read and write multibyte values
+     */
+    public DefaultBuffer(final MemorySegment segment, final ByteOrder order) {
         this.segment = segment;
         this.capacity = segment.byteSize();
+        this.order = order;
+        this.swapBytes = order != ByteOrder.nativeOrder();
     }
 
     @Override
@@ -33,15 +61,40 @@ public class DefaultBuffer extends AbstractBuffer {
 
     @Override
     public Buffer slice(final long offset, final long length) {
-        return new SlicedBuffer(this.segment.asSlice(offset, length), this);
+        retain();
+        return new SlicedBuffer(this.segment.asSlice(offset, length), this.order, this);
     }
 
     public ByteBuffer asNioBuffer() {
         return this.segment.asByteBuffer();
     }
 
+    /**
+     * Creates views of the given range, split into chunks of at most {@link #MAX_NIO_BUFFER_SIZE} bytes as a {@link ByteBuffer} is int-indexed.
+     */
+    @Override
+    public ByteBuffer[] nioBuffers(final long position, final long length) {
+        final int count = (int) Math.max(1, (length + MAX_NIO_BUFFER_SIZE - 1) / MAX_NIO_BUFFER_SIZE);
+        final ByteBuffer[] buffers = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            final long offset = i * MAX_NIO_BUFFER_SIZE;
+            buffers[i] = this.segment.asSlice(position + offset, Math.min(MAX_NIO_BUFFER_SIZE, length - offset)).asByteBuffer();
+        }
+
+        return buffers;
+    }
+
     public Buffer asReadOnly() {
-        return new DefaultBuffer(this.segment.asReadOnly());
+        return new DefaultBuffer(this.segment.asReadOnly(), this.order);
+    }
+
+    @Override
+    public ByteOrder order() {
+        return this.order;
+    }
+
+    protected MemorySegment segment() {
+        return this.segment;
     }
 
     public boolean isMapped() {
@@ -100,6 +153,22 @@ public class DefaultBuffer extends AbstractBuffer {
         MemorySegment.ofArray(bytes).asSlice(offset, length).copyFrom(this.segment.asSlice(position, length));
     }
 
+    private short ordered(final short value) {
+        return this.swapBytes ? Short.reverseBytes(value) : value;
+    }
+
+    private int ordered(final int value) {
+        return this.swapBytes ? Integer.reverseBytes(value) : value;
+    }
+
+    private long ordered(final long value) {
+        return this.swapBytes ? Long.reverseBytes(value) : value;
+    }
+
+    private char ordered(final char value) {
+        return this.swapBytes ? Character.reverseBytes(value) : value;
+    }
+
     @Override
     public byte getByte(final long position) {
         return this.segment.get(ValueLayout.JAVA_BYTE, position);
@@ -107,26 +176,28 @@ public class DefaultBuffer extends AbstractBuffer {
 
     @Override
     public short getShort(final long position) {
-        return this.segment.get(ValueLayout.JAVA_SHORT_UNALIGNED, position);
+        return ordered(this.segment.get(ValueLayout.JAVA_SHORT_UNALIGNED, position));
     }
 
     @Override
     public int getInt(final long position) {
-        return this.segment.get(ValueLayout.JAVA_INT_UNALIGNED, position);
+        return ordered(this.segment.get(ValueLayout.JAVA_INT_UNALIGNED, position));
     }
 
     @Override
     public long getLong(final long position) {
-        return this.segment.get(ValueLayout.JAVA_LONG_UNALIGNED, position);
+        return ordered(this.segment.get(ValueLayout.JAVA_LONG_UNALIGNED, position));
     }
 
     @Override
     public float getFloat(final long position) {
+        if (this.swapBytes) return this.segment.get(FLOAT_SWAPPED, position);
         return this.segment.get(ValueLayout.JAVA_FLOAT_UNALIGNED, position);
     }
 
     @Override
     public double getDouble(final long position) {
+        if (this.swapBytes) return this.segment.get(DOUBLE_SWAPPED, position);
         return this.segment.get(ValueLayout.JAVA_DOUBLE_UNALIGNED, position);
     }
 
@@ -137,7 +208,7 @@ public class DefaultBuffer extends AbstractBuffer {
 
     @Override
     public char getChar(final long position) {
-        return this.segment.get(ValueLayout.JAVA_CHAR_UNALIGNED, position);
+        return ordered(this.segment.get(ValueLayout.JAVA_CHAR_UNALIGNED, position));
     }
 
     @Override
@@ -164,27 +235,27 @@ public class DefaultBuffer extends AbstractBuffer {
 
     @Override
     public short readShort() {
-        return readAndIncrement(this.segment.get(ValueLayout.JAVA_SHORT_UNALIGNED, this.readPosition()), 2);
+        return readAndIncrement(ordered(this.segment.get(ValueLayout.JAVA_SHORT_UNALIGNED, this.readPosition())), 2);
     }
 
     @Override
     public int readInt() {
-        return readAndIncrement(this.segment.get(ValueLayout.JAVA_INT_UNALIGNED, this.readPosition()), 4);
+        return readAndIncrement(ordered(this.segment.get(ValueLayout.JAVA_INT_UNALIGNED, this.readPosition())), 4);
     }
 
     @Override
     public long readLong() {
-        return readAndIncrement(this.segment.get(ValueLayout.JAVA_LONG_UNALIGNED, this.readPosition()), 8);
+        return readAndIncrement(ordered(this.segment.get(ValueLayout.JAVA_LONG_UNALIGNED, this.readPosition())), 8);
     }
 
     @Override
     public float readFloat() {
-        return readAndIncrement(this.segment.get(ValueLayout.JAVA_FLOAT_UNALIGNED, this.readPosition()), 4);
+        return readAndIncrement(getFloat(this.readPosition()), 4);
     }
 
     @Override
     public double readDouble() {
-        return readAndIncrement(this.segment.get(ValueLayout.JAVA_DOUBLE_UNALIGNED, this.readPosition()), 8);
+        return readAndIncrement(getDouble(this.readPosition()), 8);
     }
 
     @Override
@@ -194,7 +265,7 @@ public class DefaultBuffer extends AbstractBuffer {
 
     @Override
     public char readChar() {
-        return readAndIncrement(this.segment.get(ValueLayout.JAVA_CHAR_UNALIGNED, this.readPosition()), 2);
+        return readAndIncrement(ordered(this.segment.get(ValueLayout.JAVA_CHAR_UNALIGNED, this.readPosition())), 2);
     }
 
     @Override
@@ -214,27 +285,35 @@ public class DefaultBuffer extends AbstractBuffer {
 
     @Override
     public void set(final long position, final short s) {
-        this.segment.set(ValueLayout.JAVA_SHORT_UNALIGNED, position, s);
+        this.segment.set(ValueLayout.JAVA_SHORT_UNALIGNED, position, ordered(s));
     }
 
     @Override
     public void set(final long position, final int i) {
-        this.segment.set(ValueLayout.JAVA_INT_UNALIGNED, position, i);
+        this.segment.set(ValueLayout.JAVA_INT_UNALIGNED, position, ordered(i));
     }
 
     @Override
     public void set(final long position, final long l) {
-        this.segment.set(ValueLayout.JAVA_LONG_UNALIGNED, position, l);
+        this.segment.set(ValueLayout.JAVA_LONG_UNALIGNED, position, ordered(l));
     }
 
     @Override
     public void set(final long position, final float f) {
-        this.segment.set(ValueLayout.JAVA_FLOAT_UNALIGNED, position, f);
+        if (this.swapBytes) {
+            this.segment.set(FLOAT_SWAPPED, position, f);
+        } else {
+            this.segment.set(ValueLayout.JAVA_FLOAT_UNALIGNED, position, f);
+        }
     }
 
     @Override
     public void set(final long position, final double d) {
-        this.segment.set(ValueLayout.JAVA_DOUBLE_UNALIGNED, position, d);
+        if (this.swapBytes) {
+            this.segment.set(DOUBLE_SWAPPED, position, d);
+        } else {
+            this.segment.set(ValueLayout.JAVA_DOUBLE_UNALIGNED, position, d);
+        }
     }
 
     @Override
@@ -244,7 +323,7 @@ public class DefaultBuffer extends AbstractBuffer {
 
     @Override
     public void set(final long position, final char c) {
-        this.segment.set(ValueLayout.JAVA_CHAR_UNALIGNED, position, c);
+        this.segment.set(ValueLayout.JAVA_CHAR_UNALIGNED, position, ordered(c));
     }
 
     @Override
@@ -267,31 +346,31 @@ public class DefaultBuffer extends AbstractBuffer {
 
     @Override
     public void write(final short s) {
-        this.segment.set(ValueLayout.JAVA_SHORT_UNALIGNED, this.writePosition(), s);
+        this.segment.set(ValueLayout.JAVA_SHORT_UNALIGNED, this.writePosition(), ordered(s));
         this.writePosition(this.writePosition() + 2);
     }
 
     @Override
     public void write(final int i) {
-        this.segment.set(ValueLayout.JAVA_INT_UNALIGNED, this.writePosition(), i);
+        this.segment.set(ValueLayout.JAVA_INT_UNALIGNED, this.writePosition(), ordered(i));
         this.writePosition(this.writePosition() + 4);
     }
 
     @Override
     public void write(final long l) {
-        this.segment.set(ValueLayout.JAVA_LONG_UNALIGNED, this.writePosition(), l);
+        this.segment.set(ValueLayout.JAVA_LONG_UNALIGNED, this.writePosition(), ordered(l));
         this.writePosition(this.writePosition() + 8);
     }
 
     @Override
     public void write(final float f) {
-        this.segment.set(ValueLayout.JAVA_FLOAT_UNALIGNED, this.writePosition(), f);
+        set(this.writePosition(), f);
         this.writePosition(this.writePosition() + 4);
     }
 
     @Override
     public void write(final double d) {
-        this.segment.set(ValueLayout.JAVA_DOUBLE_UNALIGNED, this.writePosition(), d);
+        set(this.writePosition(), d);
         this.writePosition(this.writePosition() + 8);
     }
 
@@ -303,7 +382,7 @@ public class DefaultBuffer extends AbstractBuffer {
 
     @Override
     public void write(final char c) {
-        this.segment.set(ValueLayout.JAVA_CHAR_UNALIGNED, this.writePosition(), c);
+        this.segment.set(ValueLayout.JAVA_CHAR_UNALIGNED, this.writePosition(), ordered(c));
         this.writePosition(this.writePosition() + 2);
     }
 
@@ -315,4 +394,169 @@ public class DefaultBuffer extends AbstractBuffer {
                 "readPosition: " + readPosition() +
                 " }";
     }
+
+    @Override
+    public void get(final long position, final short[] values, final int offset, final int length) {
+        MemorySegment.copy(this.segment, this.swapBytes ? SHORT_SWAPPED : ValueLayout.JAVA_SHORT_UNALIGNED, position, values, offset, length);
+    }
+
+    @Override
+    public void get(final long position, final int[] values, final int offset, final int length) {
+        MemorySegment.copy(this.segment, this.swapBytes ? INT_SWAPPED : ValueLayout.JAVA_INT_UNALIGNED, position, values, offset, length);
+    }
+
+    @Override
+    public void get(final long position, final long[] values, final int offset, final int length) {
+        MemorySegment.copy(this.segment, this.swapBytes ? LONG_SWAPPED : ValueLayout.JAVA_LONG_UNALIGNED, position, values, offset, length);
+    }
+
+    @Override
+    public void get(final long position, final float[] values, final int offset, final int length) {
+        MemorySegment.copy(this.segment, this.swapBytes ? FLOAT_SWAPPED : ValueLayout.JAVA_FLOAT_UNALIGNED, position, values, offset, length);
+    }
+
+    @Override
+    public void get(final long position, final double[] values, final int offset, final int length) {
+        MemorySegment.copy(this.segment, this.swapBytes ? DOUBLE_SWAPPED : ValueLayout.JAVA_DOUBLE_UNALIGNED, position, values, offset, length);
+    }
+
+    @Override
+    public void get(final long position, final char[] values, final int offset, final int length) {
+        MemorySegment.copy(this.segment, this.swapBytes ? CHAR_SWAPPED : ValueLayout.JAVA_CHAR_UNALIGNED, position, values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final short[] values, final int offset, final int length) {
+        MemorySegment.copy(values, offset, this.segment, this.swapBytes ? SHORT_SWAPPED : ValueLayout.JAVA_SHORT_UNALIGNED, position, length);
+    }
+
+    @Override
+    public void set(final long position, final int[] values, final int offset, final int length) {
+        MemorySegment.copy(values, offset, this.segment, this.swapBytes ? INT_SWAPPED : ValueLayout.JAVA_INT_UNALIGNED, position, length);
+    }
+
+    @Override
+    public void set(final long position, final long[] values, final int offset, final int length) {
+        MemorySegment.copy(values, offset, this.segment, this.swapBytes ? LONG_SWAPPED : ValueLayout.JAVA_LONG_UNALIGNED, position, length);
+    }
+
+    @Override
+    public void set(final long position, final float[] values, final int offset, final int length) {
+        MemorySegment.copy(values, offset, this.segment, this.swapBytes ? FLOAT_SWAPPED : ValueLayout.JAVA_FLOAT_UNALIGNED, position, length);
+    }
+
+    @Override
+    public void set(final long position, final double[] values, final int offset, final int length) {
+        MemorySegment.copy(values, offset, this.segment, this.swapBytes ? DOUBLE_SWAPPED : ValueLayout.JAVA_DOUBLE_UNALIGNED, position, length);
+    }
+
+    @Override
+    public void set(final long position, final char[] values, final int offset, final int length) {
+        MemorySegment.copy(values, offset, this.segment, this.swapBytes ? CHAR_SWAPPED : ValueLayout.JAVA_CHAR_UNALIGNED, position, length);
+    }
+
+    @Override
+    public long indexOf(final long from, final long to, final byte value) {
+        final long pattern = ByteSearch.broadcast(value);
+
+        long position = from;
+        for (; position + Long.BYTES <= to; position += Long.BYTES) {
+            final long mask = ByteSearch.matches(this.segment.get(LONG_LITTLE_ENDIAN, position), pattern);
+            if (mask != 0) return position + ByteSearch.firstMatch(mask);
+        }
+
+        for (; position < to; position++) {
+            if (getByte(position) == value) return position;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public long lastIndexOf(final long from, final long to, final byte value) {
+        final long pattern = ByteSearch.broadcast(value);
+
+        long position = to;
+        for (; position - Long.BYTES >= from; position -= Long.BYTES) {
+            final long mask = ByteSearch.matches(this.segment.get(LONG_LITTLE_ENDIAN, position - Long.BYTES), pattern);
+            if (mask != 0) return position - Long.BYTES + ByteSearch.lastMatch(mask);
+        }
+
+        while (position > from) {
+            if (getByte(--position) == value) return position;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Decodes integers of up to 8 bytes using a single word load when at least 8 bytes are left.
+     */
+    @Override
+    public long getVarLong(final long position) {
+        if (position + Long.BYTES <= capacity()) {
+            final long word = this.segment.get(LONG_LITTLE_ENDIAN, position);
+            if (VarInts.length(word) != 0) return VarInts.decode(word);
+        }
+
+        return super.getVarLong(position);
+    }
+
+    @Override
+    public long readVarLong() {
+        final long position = readPosition();
+        if (position + Long.BYTES <= capacity()) {
+            final long word = this.segment.get(LONG_LITTLE_ENDIAN, position);
+            final int length = VarInts.length(word);
+            if (length != 0) {
+                readPosition(position + length);
+                return VarInts.decode(word);
+            }
+        }
+
+        return readVarLongAt(position);
+    }
+
+    @Override
+    public int varLength(final long position) {
+        if (position + Long.BYTES <= capacity()) {
+            final int length = VarInts.length(this.segment.get(LONG_LITTLE_ENDIAN, position));
+            if (length != 0) return length;
+        }
+
+        return super.varLength(position);
+    }
+
+    @Override
+    public int setUtf8(final long position, final CharSequence chars, final int start, final int end) {
+        long current = position;
+        for (int i = start; i < end; i++) {
+            final char c = chars.charAt(i);
+            if (c < 0x80) { // ASCII fast path
+                this.segment.set(ValueLayout.JAVA_BYTE, current++, (byte) c);
+                continue;
+            }
+
+            final int codePoint = Utf8.codePointAt(chars, i, end);
+            final int encoded = Utf8.encode(codePoint);
+            final int length = Utf8.length(codePoint);
+            for (int b = 0; b < length; b++) {
+                this.segment.set(ValueLayout.JAVA_BYTE, current++, (byte) (encoded >>> (b << 3)));
+            }
+
+            i += Utf8.charCount(codePoint) - 1;
+        }
+
+        return (int) (current - position);
+    }
+
+    @Override
+    public int setAscii(final long position, final CharSequence chars, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            final char c = chars.charAt(i);
+            this.segment.set(ValueLayout.JAVA_BYTE, position + i - start, c < 0x80 ? (byte) c : (byte) Utf8.REPLACEMENT);
+        }
+
+        return end - start;
+    }
 }
@@ -3,13 +3,76 @@ package de.bethibande.memory.impl;
 import de.bethibande.memory.Allocator;
 import de.bethibande.memory.Buffer;
 
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
 /**
  * DirectAllocator is an implementation of the Allocator interface for allocating off-heap memory buffers using the {@link DefaultBuffer} implementation.
+ * If configured as confined, the allocated buffers will be {@link ConfinedDefaultBuffer} instances instead.
+ * Buffers use the native byte order unless configured otherwise.
+ * <br>
+ * Allocated and released bytes are counted by {@link BufferMetrics#DIRECT}. The memory is allocated using the global arena,
+ * which never frees it, the bytes outstanding therefore only reflect the buffers that have not been released yet.
  */
 public class DirectAllocator implements Allocator {
 
+    private final boolean confined;
+    private final ByteOrder order;
+
+    public DirectAllocator() {
+        this(false);
+    }
+
+    public DirectAllocator(final boolean confined) {
+        this(confined, ByteOrder.nativeOrder());
+    }
+
+    public DirectAllocator(final boolean confined, final ByteOrder order) {
+        this.confined = confined;
+        this.order = order;
+    }
+
     @Override
     public Buffer allocate(final long size) {
-        return Buffer.direct(size);
+        final MemorySegment segment = Arena.global().allocate(size);
+        BufferMetrics.DIRECT.allocated(size);
+
+        if (confined) return new ConfinedDirectBuffer(segment, this.order);
+        return new DirectBuffer(segment, this.order);
+    }
+
+    /**
+     * DirectBuffer is a subclass of {@link DefaultBuffer} counting its release in the {@link BufferMetrics}.
+     * This class is for internal use only.
+     */
+    protected static class DirectBuffer extends DefaultBuffer {
+
+        public DirectBuffer(final MemorySegment segment, final ByteOrder order) {
+            super(segment, order);
+        }
+
+        @Override
+        protected void free() {
+            super.free();
+            BufferMetrics.DIRECT.released(capacity());
+        }
+    }
+
+    /**
+     * ConfinedDirectBuffer is a subclass of {@link ConfinedDefaultBuffer} counting its release in the {@link BufferMetrics}.
+     * This class is for internal use only.
+     */
+    protected static class ConfinedDirectBuffer extends ConfinedDefaultBuffer {
+
+        public ConfinedDirectBuffer(final MemorySegment segment, final ByteOrder order) {
+            super(segment, order);
+        }
+
+        @Override
+        protected void free() {
+            super.free();
+            BufferMetrics.DIRECT.released(capacity());
+        }
     }
 }
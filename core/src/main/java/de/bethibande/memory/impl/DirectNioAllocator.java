@@ -3,14 +3,76 @@ package de.bethibande.memory.impl;
 import de.bethibande.memory.Allocator;
 import de.bethibande.memory.Buffer;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * An implementation of the {@link Allocator} interface that provides functionality
  * for allocating instances of the {@link JavaNioBuffer} class.
+ * If configured as confined, the allocated buffers will be {@link ConfinedNioBuffer} instances instead.
+ * Buffers use the {@link ByteBuffer} default of {@link ByteOrder#BIG_ENDIAN} unless configured otherwise.
+ * <br>
+ * Allocated and released bytes are counted by {@link BufferMetrics#DIRECT_NIO}.
+ * The memory of a released buffer is freed once the garbage collector reclaims its {@link ByteBuffer}.
  */
 public class DirectNioAllocator implements Allocator {
 
+    private final boolean confined;
+    private final ByteOrder order;
+
+    public DirectNioAllocator() {
+        this(false);
+    }
+
+    public DirectNioAllocator(final boolean confined) {
+        this(confined, ByteOrder.BIG_ENDIAN);
+    }
+
+    public DirectNioAllocator(final boolean confined, final ByteOrder order) {
+        this.confined = confined;
+        this.order = order;
+    }
+
     @Override
     public Buffer allocate(final long size) {
-        return Buffer.directNio((int) size);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect((int) size).order(this.order);
+        BufferMetrics.DIRECT_NIO.allocated(size);
+
+        if (confined) return new ConfinedDirectNioBuffer(buffer);
+        return new DirectNioBuffer(buffer);
+    }
+
+    /**
+     * DirectNioBuffer is a subclass of {@link JavaNioBuffer} counting its release in the {@link BufferMetrics}.
+     * This class is for internal use only.
+     */
+    protected static class DirectNioBuffer extends JavaNioBuffer {
+
+        public DirectNioBuffer(final ByteBuffer buffer) {
+            super(buffer);
+        }
+
+        @Override
+        protected void free() {
+            super.free();
+            BufferMetrics.DIRECT_NIO.released(capacity());
+        }
+    }
+
+    /**
+     * ConfinedDirectNioBuffer is a subclass of {@link ConfinedNioBuffer} counting its release in the {@link BufferMetrics}.
+     * This class is for internal use only.
+     */
+    protected static class ConfinedDirectNioBuffer extends ConfinedNioBuffer {
+
+        public ConfinedDirectNioBuffer(final ByteBuffer buffer) {
+            super(buffer);
+        }
+
+        @Override
+        protected void free() {
+            super.free();
+            BufferMetrics.DIRECT_NIO.released(capacity());
+        }
     }
 }
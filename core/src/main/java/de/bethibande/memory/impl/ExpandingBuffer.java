@@ -5,8 +5,6 @@ import de.bethibande.memory.Buffer;
 
 import java.nio.ByteBuffer;
 
-import static java.lang.Math.max;
-
 /**
  * The {@code ExpandingBuffer} class is a specialized buffer that can dynamically expand its capacity
  * when necessary. It extends {@link FastCompositeBuffer} and is optimized for scenarios requiring
@@ -16,25 +14,96 @@ import static java.lang.Math.max;
  * This class leverages an {@link Allocator} implementation to manage the creation of new buffers
  * and handles dynamic memory management efficiently.
  * <br>
+ * The regions are stored in a circular array with a power-of-two capacity, so {@link #compact()} releases consumed regions
+ * from the head without moving the remaining ones. Compaction can be triggered automatically by setting a {@link #compactionWatermark(long)}.
+ * Expansions and compactions are counted by {@link BufferMetrics#COMPOSITE}.
+ * <br>
  * It is recommended to use this class in combination with a {@link PooledAllocator}
  */
 public class ExpandingBuffer extends FastCompositeBuffer {
 
     private final Allocator allocator;
 
+    private int head;
+    private int regionMask;
+    private long compactionWatermark;
+
     public ExpandingBuffer(final int initialBufferCount, final int exponent, final Allocator allocator) {
         final Buffer[] buffers = new Buffer[initialBufferCount];
         for (int i = 0; i < initialBufferCount; i++) {
-            buffers[i] = allocator.allocate(-1);
+            buffers[i] = allocator.allocate(1L << exponent);
         }
 
         this(buffers, exponent, allocator);
     }
 
     public ExpandingBuffer(final Buffer[] buffers, final int exponent, final Allocator allocator) {
+        this.compactionWatermark = Long.MAX_VALUE; // Disabled, assigned early as the super constructor may set the read position
+
         super(buffers, exponent);
 
         this.allocator = allocator;
+        unwrap(this.regions.length);
+    }
+
+    /**
+     * Copies the regions in their logical order to the start of the given array.
+     */
+    private void copyRegions(final CompositeRegion[] target) {
+        final int first = Math.min(this.regionCount, this.regions.length - this.head);
+        System.arraycopy(this.regions, this.head, target, 0, first);
+        System.arraycopy(this.regions, 0, target, first, this.regionCount - first);
+    }
+
+    /**
+     * Moves the regions to the start of a new region array with a capacity of at least the given number of regions,
+     * rounded up to the next power of two.
+     */
+    private void unwrap(final int capacity) {
+        final int length = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        final CompositeRegion[] regions = new CompositeRegion[length];
+        copyRegions(regions);
+
+        this.regions = regions;
+        this.regionMask = length - 1;
+        this.head = 0;
+    }
+
+    @Override
+    protected void ensureRegionCapacity(final int count) {
+        if (count <= this.regions.length) return;
+
+        unwrap(Math.max(count, this.regions.length << 1));
+    }
+
+    @Override
+    protected void insertRegion(final CompositeRegion region, final int index) {
+        if (index != this.regionCount) { // Inserting in between shifts the following regions, which requires a contiguous array
+            unwrap(this.regions.length);
+            super.insertRegion(region, index);
+            return;
+        }
+
+        ensureRegionCapacity(this.regionCount + 1);
+        this.regions[(this.head + this.regionCount) & this.regionMask] = region;
+        this.regionCount++;
+    }
+
+    @Override
+    protected int bufferIdxAt(final long offset) {
+        return (int) ((this.head + (offset >> exponent)) & this.regionMask);
+    }
+
+    @Override
+    protected int nextRegionIdx(final int regionIdx) {
+        return (regionIdx + 1) & this.regionMask;
+    }
+
+    @Override
+    public CompositeRegion[] regions() {
+        final CompositeRegion[] regions = new CompositeRegion[this.regionCount];
+        copyRegions(regions);
+        return regions;
     }
 
     @Override
@@ -44,67 +113,114 @@ public class ExpandingBuffer extends FastCompositeBuffer {
 
     @Override
     protected long writeIdx(final long bytes) {
-        final long currentWritePosition = writePosition();
-        final long nextWritePosition = currentWritePosition + bytes;
+        final long position = writePosition();
+        ensureWritable(position, bytes);
+        return position;
+    }
 
-        final int requiredRegionIndex = (int) ((nextWritePosition - 1) >> exponent);
+    @Override
+    protected long ensureWritable(final long position, final long bytes) {
+        final int requiredRegionIndex = (int) ((position + bytes - 1) >> exponent);
 
-        while (requiredRegionIndex >= super.regions.length) {
+        while (requiredRegionIndex >= super.regionCount) {
             expand();
+            BufferMetrics.COMPOSITE.expanded(this, capacity());
         }
 
-        try {
-            return currentWritePosition;
-        } finally {
-            writePosition(nextWritePosition);
-        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Expands by at most one region per transfer, so a large length does not allocate its entire size up front.
+     */
+    @Override
+    protected long transferLimit() {
+        return Math.max(writable(), expectedRegionSize());
     }
 
     public long writableAt(final long position) {
         return capacity() - position;
     }
 
+    @Override
+    public void readPosition(final long position) {
+        super.readPosition(position);
+
+        if (position >= this.compactionWatermark) {
+            compact();
+        }
+    }
+
     /**
-     * Compact the underlying buffer regions by identifying and releasing unused buffer segments,
-     * then updates the structure of the buffer regions to reflect the reduced memory footprint.
+     * Enables automatic compaction. Once the read position reaches the watermark, {@link #compact()} is called,
+     * releasing all fully consumed regions to the allocator. This keeps the memory footprint of a buffer that is written
+     * and read continuously bounded by the watermark plus the amount of unread data.
      * <br>
-     * This method iteratively checks if buffer regions up to the current read position can be
-     * released based on the expected allocation size. Regions that are no longer needed are
-     * released, and the remaining regions are shifted to the start of the internal structures.
-     * Additionally, the read and write positions are adjusted to account for the released memory regions.
+     * Compaction rebases the read and write positions, positions obtained before reading may no longer be valid afterward.
+     * This includes the position of a {@link BufferCursor}, which should be reset after committing.
+     *
+     * @param watermark the read position triggering a compaction, at least the region size, or {@link Long#MAX_VALUE} to disable automatic compaction
+     * @throws IllegalArgumentException if the watermark is smaller than the region size
+     */
+    public void compactionWatermark(final long watermark) {
+        if (watermark < expectedRegionSize()) {
+            throw new IllegalArgumentException("The watermark " + watermark + " is smaller than the region size of " + expectedRegionSize());
+        }
+
+        this.compactionWatermark = watermark;
+    }
+
+    public long compactionWatermark() {
+        return this.compactionWatermark;
+    }
+
+    /**
+     * Compact the underlying buffer regions by releasing all regions that have been read entirely.
+     * <br>
+     * The consumed regions are released back to the allocator and dropped from the head of the circular region array,
+     * the remaining regions are neither copied nor moved. If no region remains, a new one is allocated.
+     * Afterward, the read and write positions are rebased to account for the released memory regions.
      */
     public void compact() {
-        final long allocationSize = expectedRegionSize();
-
-        long offset = 0;
-        int bufferCount = 0;
-        while (offset + allocationSize <= readPosition()) {
-            final CompositeRegion region = regionAt(offset);
-            region.buffer().release();
-            bufferCount++;
-            offset += allocationSize;
+        final int consumed = (int) (readPosition() >> exponent);
+        if (consumed == 0) return;
+
+        for (int i = 0; i < consumed; i++) {
+            final int regionIdx = (this.head + i) & this.regionMask;
+            this.regions[regionIdx].buffer().release();
+            this.regions[regionIdx] = null;
         }
 
-        final int remainingBufferCount = this.regions.length - bufferCount;
-        final CompositeRegion[] regions = new CompositeRegion[max(remainingBufferCount, 1)];
-        System.arraycopy(this.regions, bufferCount, regions, 0, remainingBufferCount);
+        this.head = (this.head + consumed) & this.regionMask;
+        this.regionCount -= consumed;
 
-        if (remainingBufferCount == 0) {
-            regions[0] = region(allocateBuffer(), 0);
+        if (this.regionCount == 0) {
+            this.head = 0;
+            this.regions[0] = region(allocateBuffer(), 0);
+            this.regionCount = 1;
         }
 
-        this.regions = regions;
-        this.size = regions.length * allocationSize;
+        this.size = calculateSize();
 
-        final long capacityReduction = bufferCount * allocationSize;
+        final long capacityReduction = (long) consumed << exponent;
         readPosition(readPosition() - capacityReduction);
         writePosition(writePosition() - capacityReduction);
+
+        BufferMetrics.COMPOSITE.compacted(this, capacityReduction, capacity());
+    }
+
+    @Override
+    protected void free() {
+        unwrap(this.regions.length); // The composite buffer releases the regions stored at the start of the array
+        super.free();
     }
 
     @Override
     public void write(final ByteBuffer readable) {
         final int bytes = readable.remaining();
-        set(writeIdx(bytes), readable, readable.position(), bytes);
+        final long position = writeIdx(bytes);
+        set(position, readable, readable.position(), bytes);
+        writePosition(position + bytes);
     }
 
     @Override
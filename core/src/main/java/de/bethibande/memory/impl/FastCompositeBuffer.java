@@ -2,6 +2,8 @@ package de.bethibande.memory.impl;
 
 import de.bethibande.memory.Buffer;
 
+import java.nio.ByteOrder;
+
 /**
  * A {@link CompositeBuffer} implementation that uses a fixed-size buffer for each region.
  * This makes memory access and finding the backing buffer at any position much faster at the cost of flexibility.
@@ -21,10 +23,22 @@ public class FastCompositeBuffer extends CompositeBuffer {
      * @throws IllegalArgumentException if any buffer's size does not match the calculated size based on the exponent
      */
     public FastCompositeBuffer(final int initialBufferCount, final int exponent) {
+        this(initialBufferCount, exponent, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Constructs a FastCompositeBuffer with a specified number of initial buffers using the given byte order.
+     * Buffers allocated when expanding use the same byte order.
+     *
+     * @param initialBufferCount the number of buffers to initialize the composite buffer with
+     * @param exponent the power of 2 that defines the size of each buffer, resulting in buffer sizes of 2^exponent
+     * @param order the byte order of the buffer
+     */
+    public FastCompositeBuffer(final int initialBufferCount, final int exponent, final ByteOrder order) {
         final int bufferSize = 1 << exponent;
         final Buffer[] buffers = new Buffer[initialBufferCount];
         for (int i = 0; i < initialBufferCount; i++) {
-            buffers[i] = Buffer.directNio(bufferSize);
+            buffers[i] = Buffer.directNio(bufferSize, order);
         }
 
         this(buffers, exponent);
@@ -51,7 +65,7 @@ public class FastCompositeBuffer extends CompositeBuffer {
         return bitMask + 1;
     }
 
-    private void validateBufferSizes(final Buffer[] buffers) {
+    protected void validateBufferSizes(final Buffer[] buffers) {
         for (int i = 0; i < buffers.length; i++) {
             if (buffers[i].capacity() != expectedRegionSize()) {
                 throw new IllegalArgumentException("The buffer capacity " + buffers[i].capacity() + " does not match the expected size of " + expectedRegionSize());
@@ -59,8 +73,23 @@ public class FastCompositeBuffer extends CompositeBuffer {
         }
     }
 
+    /**
+     * Computes the mask used to wrap region indices of ring buffers using a power-of-two number of regions.
+     *
+     * @param count the number of regions
+     * @return {@code count - 1}
+     * @throws IllegalArgumentException if count is not a power of two
+     */
+    protected static int regionMask(final int count) {
+        if (Integer.bitCount(count) != 1) {
+            throw new IllegalArgumentException("The number of buffers " + count + " is not a power of two");
+        }
+
+        return count - 1;
+    }
+
     protected Buffer allocateBuffer() {
-        return Buffer.directNio(expectedRegionSize());
+        return Buffer.directNio(expectedRegionSize(), order());
     }
 
     /**
@@ -72,18 +101,18 @@ public class FastCompositeBuffer extends CompositeBuffer {
      */
     public Buffer expand() {
         final Buffer buffer = allocateBuffer();
-        expand(buffer, super.regions.length);
+        expand(buffer, super.regionCount);
         return buffer;
     }
 
     @Override
-    protected long[] updateIndex(final CompositeRegion[] regions) {
-        return null;
+    protected void updateIndex(final int from) {
+        // Regions are located using the exponent, the index is not needed
     }
 
     @Override
-    protected long calculateSize(final CompositeRegion[] regions) {
-        return (long) regions.length * expectedRegionSize();
+    protected long calculateSize() {
+        return (long) this.regionCount * expectedRegionSize();
     }
 
     @Override
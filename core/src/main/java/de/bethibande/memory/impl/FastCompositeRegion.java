@@ -21,7 +21,7 @@ public class FastCompositeRegion extends CompositeRegion {
 
     @Override
     public boolean canFit(final long globalOffset, final int length) {
-        return pos(globalOffset) + length <= buffer().capacity();
+        return pos(globalOffset) + length <= limit();
     }
 
     @Override
@@ -2,7 +2,10 @@ package de.bethibande.memory.impl;
 
 import de.bethibande.memory.Buffer;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /**
  * JavaNioBuffer is a concrete implementation of the {@link AbstractBuffer} class,
@@ -14,6 +17,8 @@ import java.nio.ByteBuffer;
  */
 public class JavaNioBuffer extends AbstractBuffer {
 
+    private static final VarHandle LONG_LITTLE_ENDIAN = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
     private final ByteBuffer buffer;
 
     public JavaNioBuffer(final ByteBuffer buffer) {
@@ -24,6 +29,19 @@ public class JavaNioBuffer extends AbstractBuffer {
         return buffer.duplicate();
     }
 
+    @Override
+    public ByteBuffer[] nioBuffers(final long position, final long length) {
+        return new ByteBuffer[] { this.buffer.slice((int) position, (int) length) };
+    }
+
+    /**
+     * Retrieves the byte order of the wrapped {@link ByteBuffer}, which is {@link ByteOrder#BIG_ENDIAN} unless changed before wrapping it.
+     */
+    @Override
+    public ByteOrder order() {
+        return this.buffer.order();
+    }
+
     @Override
     public long capacity() {
         return buffer.capacity();
@@ -212,7 +230,7 @@ public class JavaNioBuffer extends AbstractBuffer {
     @Override
     public Buffer slice(final long offset, final long length) {
         retain();
-        return new SlicedNioBuffer(buffer.slice((int) offset, (int) length), this);
+        return new SlicedNioBuffer(buffer.slice((int) offset, (int) length).order(this.buffer.order()), this);
     }
 
     protected int writeIdx(final int bytes) {
@@ -272,4 +290,169 @@ public class JavaNioBuffer extends AbstractBuffer {
     public void write(final char c) {
         buffer.putChar(writeIdx(2), c);
     }
+
+    @Override
+    public void get(final long position, final short[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Short.BYTES).order(this.buffer.order()).asShortBuffer().get(values, offset, length);
+    }
+
+    @Override
+    public void get(final long position, final int[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Integer.BYTES).order(this.buffer.order()).asIntBuffer().get(values, offset, length);
+    }
+
+    @Override
+    public void get(final long position, final long[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Long.BYTES).order(this.buffer.order()).asLongBuffer().get(values, offset, length);
+    }
+
+    @Override
+    public void get(final long position, final float[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Float.BYTES).order(this.buffer.order()).asFloatBuffer().get(values, offset, length);
+    }
+
+    @Override
+    public void get(final long position, final double[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Double.BYTES).order(this.buffer.order()).asDoubleBuffer().get(values, offset, length);
+    }
+
+    @Override
+    public void get(final long position, final char[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Character.BYTES).order(this.buffer.order()).asCharBuffer().get(values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final short[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Short.BYTES).order(this.buffer.order()).asShortBuffer().put(values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final int[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Integer.BYTES).order(this.buffer.order()).asIntBuffer().put(values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final long[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Long.BYTES).order(this.buffer.order()).asLongBuffer().put(values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final float[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Float.BYTES).order(this.buffer.order()).asFloatBuffer().put(values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final double[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Double.BYTES).order(this.buffer.order()).asDoubleBuffer().put(values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final char[] values, final int offset, final int length) {
+        this.buffer.slice((int) position, length * Character.BYTES).order(this.buffer.order()).asCharBuffer().put(values, offset, length);
+    }
+
+    @Override
+    public long indexOf(final long from, final long to, final byte value) {
+        final long pattern = ByteSearch.broadcast(value);
+
+        long position = from;
+        for (; position + Long.BYTES <= to; position += Long.BYTES) {
+            final long mask = ByteSearch.matches((long) LONG_LITTLE_ENDIAN.get(this.buffer, (int) (position)), pattern);
+            if (mask != 0) return position + ByteSearch.firstMatch(mask);
+        }
+
+        for (; position < to; position++) {
+            if (getByte(position) == value) return position;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public long lastIndexOf(final long from, final long to, final byte value) {
+        final long pattern = ByteSearch.broadcast(value);
+
+        long position = to;
+        for (; position - Long.BYTES >= from; position -= Long.BYTES) {
+            final long mask = ByteSearch.matches((long) LONG_LITTLE_ENDIAN.get(this.buffer, (int) (position - Long.BYTES)), pattern);
+            if (mask != 0) return position - Long.BYTES + ByteSearch.lastMatch(mask);
+        }
+
+        while (position > from) {
+            if (getByte(--position) == value) return position;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Decodes integers of up to 8 bytes using a single word load when at least 8 bytes are left.
+     */
+    @Override
+    public long getVarLong(final long position) {
+        if (position + Long.BYTES <= capacity()) {
+            final long word = (long) LONG_LITTLE_ENDIAN.get(this.buffer, (int) position);
+            if (VarInts.length(word) != 0) return VarInts.decode(word);
+        }
+
+        return super.getVarLong(position);
+    }
+
+    @Override
+    public long readVarLong() {
+        final long position = readPosition();
+        if (position + Long.BYTES <= capacity()) {
+            final long word = (long) LONG_LITTLE_ENDIAN.get(this.buffer, (int) position);
+            final int length = VarInts.length(word);
+            if (length != 0) {
+                readPosition(position + length);
+                return VarInts.decode(word);
+            }
+        }
+
+        return readVarLongAt(position);
+    }
+
+    @Override
+    public int varLength(final long position) {
+        if (position + Long.BYTES <= capacity()) {
+            final int length = VarInts.length((long) LONG_LITTLE_ENDIAN.get(this.buffer, (int) position));
+            if (length != 0) return length;
+        }
+
+        return super.varLength(position);
+    }
+
+    @Override
+    public int setUtf8(final long position, final CharSequence chars, final int start, final int end) {
+        long current = position;
+        for (int i = start; i < end; i++) {
+            final char c = chars.charAt(i);
+            if (c < 0x80) { // ASCII fast path
+                this.buffer.put((int) (current++), (byte) c);
+                continue;
+            }
+
+            final int codePoint = Utf8.codePointAt(chars, i, end);
+            final int encoded = Utf8.encode(codePoint);
+            final int length = Utf8.length(codePoint);
+            for (int b = 0; b < length; b++) {
+                this.buffer.put((int) (current++), (byte) (encoded >>> (b << 3)));
+            }
+
+            i += Utf8.charCount(codePoint) - 1;
+        }
+
+        return (int) (current - position);
+    }
+
+    @Override
+    public int setAscii(final long position, final CharSequence chars, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            final char c = chars.charAt(i);
+            this.buffer.put((int) (position + i - start), c < 0x80 ? (byte) c : (byte) Utf8.REPLACEMENT);
+        }
+
+        return end - start;
+    }
 }
@@ -0,0 +1,285 @@
+package de.bethibande.memory.impl;
+
+import java.io.Serial;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.Cleaner;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Detects reference-counted buffers that become unreachable without having been released.
+ * <br>
+ * A sampled buffer is registered with a {@link Cleaner} together with a {@link Tracker} capturing the stack trace of the allocation.
+ * Releasing the last reference closes the tracker. If the garbage collector finds the buffer while the tracker is still open,
+ * the buffer leaked and a {@link Leak} is handed to the reporter, which logs a warning by default.
+ * Depending on the {@link Level}, the tracker also keeps the stack traces of the most recent {@code retain} and {@code release} calls.
+ * <br>
+ * Buffers are tracked by the global detector, configured once using the system properties {@link #LEVEL_PROPERTY},
+ * {@link #SAMPLING_INTERVAL_PROPERTY} and {@link #MAX_RECORDS_PROPERTY}. Leak detection is disabled by default.
+ * As {@link #ENABLED} is a constant, the checks on the hot paths of the buffers are removed entirely by the JIT compiler while leak detection is disabled.
+ */
+public final class LeakDetector {
+
+    public static final String LEVEL_PROPERTY = "de.bethibande.memory.leakDetection.level";
+    public static final String SAMPLING_INTERVAL_PROPERTY = "de.bethibande.memory.leakDetection.samplingInterval";
+    public static final String MAX_RECORDS_PROPERTY = "de.bethibande.memory.leakDetection.maxRecords";
+
+    public static final int DEFAULT_SAMPLING_INTERVAL = 128;
+    public static final int DEFAULT_MAX_RECORDS = 4;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final System.Logger LOGGER = System.getLogger(LeakDetector.class.getName());
+
+    private static final LeakDetector GLOBAL = new LeakDetector(
+            Level.valueOf(System.getProperty(LEVEL_PROPERTY, Level.DISABLED.name()).toUpperCase(Locale.ROOT)),
+            Integer.getInteger(SAMPLING_INTERVAL_PROPERTY, DEFAULT_SAMPLING_INTERVAL),
+            Integer.getInteger(MAX_RECORDS_PROPERTY, DEFAULT_MAX_RECORDS),
+            LeakDetector::log
+    );
+
+    /**
+     * Whether the global detector tracks any buffers.
+     */
+    public static final boolean ENABLED = GLOBAL.level != Level.DISABLED;
+
+    public enum Level {
+        /**
+         * No buffers are tracked.
+         */
+        DISABLED,
+        /**
+         * One in every sampling interval buffers is tracked, recording the allocation only.
+         */
+        SIMPLE,
+        /**
+         * One in every sampling interval buffers is tracked, recording the allocation and the most recent accesses.
+         */
+        ADVANCED,
+        /**
+         * Every buffer is tracked, recording the allocation and the most recent accesses.
+         */
+        PARANOID
+    }
+
+    private final LongAdder leaks = new LongAdder();
+
+    private final Level level;
+    private final int samplingInterval;
+    private final int maxRecords;
+    private final Consumer<Leak> reporter;
+
+    /**
+     * Creates a detector independent of the global detector.
+     *
+     * @param samplingInterval the average number of allocations per tracked buffer, ignored by {@link Level#PARANOID}
+     * @param maxRecords the number of recent accesses recorded by {@link Level#ADVANCED} and {@link Level#PARANOID}
+     * @param reporter receives every detected leak on the cleaner thread
+     * @throws IllegalArgumentException if the sampling interval is less than 1 or the number of records is negative
+     */
+    public LeakDetector(final Level level, final int samplingInterval, final int maxRecords, final Consumer<Leak> reporter) {
+        if (samplingInterval < 1) throw new IllegalArgumentException("The sampling interval must be at least 1");
+        if (maxRecords < 0) throw new IllegalArgumentException("The number of records must not be negative");
+
+        this.level = level;
+        this.samplingInterval = samplingInterval;
+        this.maxRecords = level == Level.SIMPLE ? 0 : maxRecords;
+        this.reporter = reporter;
+    }
+
+    public static LeakDetector global() {
+        return GLOBAL;
+    }
+
+    private static void log(final Leak leak) {
+        LOGGER.log(System.Logger.Level.WARNING, leak.describe());
+    }
+
+    public Level level() {
+        return this.level;
+    }
+
+    /**
+     * Retrieves the number of leaks reported by this detector.
+     */
+    public long leaks() {
+        return this.leaks.sum();
+    }
+
+    private boolean sample() {
+        return switch (this.level) {
+            case DISABLED -> false;
+            case PARANOID -> true;
+            default -> this.samplingInterval == 1 || ThreadLocalRandom.current().nextInt(this.samplingInterval) == 0;
+        };
+    }
+
+    /**
+     * Starts tracking the given resource if it is sampled. The tracker must not reference the resource.
+     *
+     * @return the tracker to close once the resource has been released, or null if the resource is not tracked
+     */
+    public Tracker track(final Object resource) {
+        if (!sample()) return null;
+
+        final Tracker tracker = new Tracker(this, resource.getClass().getName());
+        tracker.cleanable = CLEANER.register(resource, tracker);
+        return tracker;
+    }
+
+    private void report(final Leak leak) {
+        this.leaks.increment();
+        this.reporter.accept(leak);
+    }
+
+    /**
+     * A leak of a buffer that became unreachable without being released.
+     *
+     * @param resource the class name of the leaked buffer
+     * @param allocation the stack trace of the allocation
+     * @param accesses the stack traces of the most recent accesses, oldest first
+     */
+    public record Leak(String resource, StackTraceElement[] allocation, List<Access> accesses) {
+
+        public String describe() {
+            final StringBuilder builder = new StringBuilder("A ").append(this.resource)
+                    .append(" was garbage collected without being released. Allocated at:");
+            appendStackTrace(builder, this.allocation);
+
+            for (int i = this.accesses.size() - 1; i >= 0; i--) {
+                final Access access = this.accesses.get(i);
+                builder.append(System.lineSeparator()).append("Recent ").append(access.hint()).append(':');
+                appendStackTrace(builder, access.stackTrace());
+            }
+
+            return builder.toString();
+        }
+
+        private static void appendStackTrace(final StringBuilder builder, final StackTraceElement[] stackTrace) {
+            for (int i = 0; i < stackTrace.length; i++) {
+                builder.append(System.lineSeparator()).append("\tat ").append(stackTrace[i]);
+            }
+        }
+    }
+
+    /**
+     * A recorded {@code retain} or {@code release} call.
+     */
+    public record Access(String hint, StackTraceElement[] stackTrace) {
+    }
+
+    /**
+     * Tracks a single buffer from its allocation until it is released.
+     * Stack traces are captured as {@link Throwable}s, which are only turned into stack trace elements if the buffer leaks.
+     */
+    public static final class Tracker implements Runnable {
+
+        private static final VarHandle CLOSED;
+
+        static {
+            try {
+                CLOSED = MethodHandles.lookup().findVarHandle(Tracker.class, "closed", boolean.class);
+            } catch (final ReflectiveOperationException ex) {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+
+        private final LeakDetector detector;
+        private final String resource;
+        private final Throwable allocation = new Throwable();
+        private final ArrayDeque<Record> records;
+
+        private Cleaner.Cleanable cleanable;
+        private volatile boolean closed;
+
+        private Tracker(final LeakDetector detector, final String resource) {
+            this.detector = detector;
+            this.resource = resource;
+            this.records = detector.maxRecords == 0 ? null : new ArrayDeque<>(detector.maxRecords);
+        }
+
+        /**
+         * Records the stack trace of an access if the detector keeps recent accesses.
+         */
+        public void record(final String hint) {
+            if (this.records == null || this.closed) return;
+
+            final Record record = new Record(hint);
+            synchronized (this.records) {
+                if (this.records.size() == this.detector.maxRecords) {
+                    this.records.pollFirst();
+                }
+
+                this.records.addLast(record);
+            }
+        }
+
+        /**
+         * Stops tracking the buffer as it has been released.
+         */
+        public void close() {
+            if (CLOSED.compareAndSet(this, false, true)) {
+                this.cleanable.clean();
+            }
+        }
+
+        public boolean isClosed() {
+            return this.closed;
+        }
+
+        /**
+         * Invoked by the cleaner once the buffer became unreachable, or by {@link #close()}.
+         */
+        @Override
+        public void run() {
+            if (!CLOSED.compareAndSet(this, false, true)) return;
+
+            final List<Access> accesses = new ArrayList<>();
+            if (this.records != null) {
+                synchronized (this.records) {
+                    for (final Record record : this.records) {
+                        accesses.add(new Access(record.getMessage(), trim(record.getStackTrace())));
+                    }
+                }
+            }
+
+            this.detector.report(new Leak(this.resource, trim(this.allocation.getStackTrace()), accesses));
+        }
+
+        /**
+         * Removes the frames of the detector itself from the top of the stack trace.
+         */
+        private static StackTraceElement[] trim(final StackTraceElement[] stackTrace) {
+            int from = 0;
+            while (from < stackTrace.length && isDetectorFrame(stackTrace[from])) {
+                from++;
+            }
+
+            return Arrays.copyOfRange(stackTrace, from, stackTrace.length);
+        }
+
+        private static boolean isDetectorFrame(final StackTraceElement element) {
+            final String className = element.getClassName();
+            return className.equals(LeakDetector.class.getName()) || className.startsWith(LeakDetector.class.getName() + "$");
+        }
+    }
+
+    /**
+     * Captures the stack trace of an access. This class is for internal use only.
+     */
+    private static final class Record extends Throwable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private Record(final String hint) {
+            super(hint, null, false, true);
+        }
+    }
+}
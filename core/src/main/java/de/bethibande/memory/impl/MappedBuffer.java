@@ -0,0 +1,47 @@
+package de.bethibande.memory.impl;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * A {@link DefaultBuffer} backed by a memory-mapped region of a file.
+ * Every mapped buffer owns the {@link Arena} its region has been mapped into, the region is unmapped as soon as the last reference is released.
+ * <br>
+ * Modifications are written to the file by the operating system eventually. {@link #force()} and {@link #force(long, long)}
+ * may be used to synchronously write modified (dirty) ranges back to the storage device.
+ * <br>
+ * Please note that accessing the buffer after its region has been unmapped results in an {@link IllegalStateException}.
+ */
+public class MappedBuffer extends DefaultBuffer {
+
+    private final Arena arena;
+
+    public MappedBuffer(final MemorySegment segment, final Arena arena) {
+        super(segment);
+
+        this.arena = arena;
+    }
+
+    /**
+     * Writes all modifications of the mapped region back to the file.
+     */
+    public void force() {
+        segment().force();
+    }
+
+    /**
+     * Writes the modifications within the given range of the mapped region back to the file.
+     *
+     * @param position the start of the range
+     * @param length the length of the range in bytes
+     */
+    public void force(final long position, final long length) {
+        segment().asSlice(position, length).force();
+    }
+
+    @Override
+    protected void free() {
+        super.free();
+        this.arena.close();
+    }
+}
@@ -0,0 +1,74 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+
+/**
+ * A {@link FastCompositeBuffer} made up of {@link MappedBuffer} regions, used to map files of any size.
+ * All regions have a size of 2^exponent bytes, except for the last region, which only covers the remainder of the mapped range.
+ * <br>
+ * The buffer cannot be expanded. All regions are unmapped once the last reference to the buffer has been released.
+ */
+public class MappedCompositeBuffer extends FastCompositeBuffer {
+
+    public MappedCompositeBuffer(final MappedBuffer[] buffers, final int exponent) {
+        super(buffers, exponent);
+    }
+
+    @Override
+    protected void validateBufferSizes(final Buffer[] buffers) {
+        for (int i = 0; i < buffers.length; i++) {
+            final long capacity = buffers[i].capacity();
+            final boolean last = i == buffers.length - 1;
+            if (capacity > expectedRegionSize() || (!last && capacity != expectedRegionSize())) {
+                throw new IllegalArgumentException("The buffer capacity " + capacity + " does not match the expected size of " + expectedRegionSize());
+            }
+        }
+    }
+
+    @Override
+    protected long calculateSize() {
+        if (this.regionCount == 0) return 0;
+
+        final long tail = this.regions[this.regionCount - 1].buffer().capacity();
+        return (long) (this.regionCount - 1) * expectedRegionSize() + tail;
+    }
+
+    /**
+     * Writes all modifications of the mapped regions back to the file.
+     */
+    public void force() {
+        for (int i = 0; i < this.regionCount; i++) {
+            ((MappedBuffer) regions[i].buffer()).force();
+        }
+    }
+
+    /**
+     * Writes the modifications within the given range back to the file, only regions overlapping the range are synchronized.
+     *
+     * @param position the start of the range
+     * @param length the length of the range in bytes
+     */
+    public void force(final long position, final long length) {
+        long current = position;
+        final long end = position + length;
+        while (current < end) {
+            final CompositeRegion region = regionAt(current);
+            final MappedBuffer buffer = (MappedBuffer) region.buffer();
+            final long offset = region.pos(current);
+            final long bytes = Math.min(buffer.capacity() - offset, end - current);
+
+            buffer.force(offset, bytes);
+            current += bytes;
+        }
+    }
+
+    @Override
+    public void expand(final Buffer buffer, final int index) {
+        throw new UnsupportedOperationException("MappedCompositeBuffer cannot be expanded");
+    }
+
+    @Override
+    protected String className() {
+        return "MappedCompositeBuffer";
+    }
+}
@@ -0,0 +1,152 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An allocator mapping regions of a single file into memory. Every mapped region is backed by its own {@link Arena},
+ * which is closed, and the region thereby unmapped, once the last reference to the buffer has been released.
+ * <br>
+ * {@link #allocate(long)} carves consecutive regions out of the file, starting at offset 0. When mapping in read-write mode, the file is grown as needed.
+ * {@link #map(long, long)} and {@link #mapComposite(long, long, int)} map arbitrary, possibly overlapping, ranges of the file.
+ * Ranges larger than 2^exponent bytes should be mapped using {@link #mapComposite(long, long, int)}, which returns a {@link MappedCompositeBuffer}
+ * of multiple regions instead of a single large mapping.
+ * <br>
+ * Closing the allocator closes the file channel. Buffers mapped before closing the allocator remain valid.
+ * All {@link IOException}s are rethrown as {@link UncheckedIOException}s.
+ * <br>
+ * This allocator is not thread-safe.
+ */
+public class MappedFileAllocator implements Allocator, AutoCloseable {
+
+    private final FileChannel channel;
+    private final FileChannel.MapMode mode;
+
+    private long offset;
+
+    /**
+     * Opens the given file for mapping. Unless mapping in read-only mode, the file is created if it does not exist yet.
+     *
+     * @param file the file to map
+     * @param mode the mode used to map regions of the file
+     */
+    public MappedFileAllocator(final Path file, final FileChannel.MapMode mode) {
+        this.mode = mode;
+
+        try {
+            if (mode == FileChannel.MapMode.READ_ONLY) {
+                this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            } else {
+                this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Maps the next {@code size} bytes of the file.
+     *
+     * @param size the size of the region to map
+     * @return a {@link MappedBuffer} with a write position of 0
+     * @throws IllegalArgumentException if the requested size is negative
+     */
+    @Override
+    public Buffer allocate(final long size) {
+        if (size < 0) throw new IllegalArgumentException("Invalid allocation size!");
+
+        final MappedBuffer buffer = mapRegion(this.offset, size);
+        this.offset += size;
+        return buffer;
+    }
+
+    /**
+     * Maps the given range of the file into a single buffer.
+     *
+     * @param offset the offset within the file
+     * @param length the length of the range in bytes
+     * @return a {@link MappedBuffer} whose write position is set to the end of the range, so the mapped contents can be read
+     */
+    public MappedBuffer map(final long offset, final long length) {
+        final MappedBuffer buffer = mapRegion(offset, length);
+        buffer.writePosition(length);
+        return buffer;
+    }
+
+    /**
+     * Maps the given range of the file into a composite buffer of regions with a size of 2^exponent bytes each.
+     *
+     * @param offset the offset within the file
+     * @param length the length of the range in bytes
+     * @param exponent the exponent defining the region size
+     * @return a {@link MappedCompositeBuffer} whose write position is set to the end of the range, so the mapped contents can be read
+     */
+    public MappedCompositeBuffer mapComposite(final long offset, final long length, final int exponent) {
+        final long regionSize = 1L << exponent;
+        final int count = (int) ((length + regionSize - 1) >> exponent);
+
+        final MappedBuffer[] buffers = new MappedBuffer[count];
+        for (int i = 0; i < count; i++) {
+            final long position = (long) i << exponent;
+            buffers[i] = mapRegion(offset + position, Math.min(regionSize, length - position));
+        }
+
+        final MappedCompositeBuffer buffer = new MappedCompositeBuffer(buffers, exponent);
+        buffer.writePosition(length);
+        return buffer;
+    }
+
+    /**
+     * Maps the entire file into a composite buffer of regions with a size of 2^exponent bytes each.
+     *
+     * @param exponent the exponent defining the region size
+     * @return a {@link MappedCompositeBuffer} covering the entire file
+     */
+    public MappedCompositeBuffer mapAll(final int exponent) {
+        return mapComposite(0, size(), exponent);
+    }
+
+    protected MappedBuffer mapRegion(final long offset, final long length) {
+        final Arena arena = Arena.ofShared();
+        try {
+            final MemorySegment segment = this.channel.map(this.mode, offset, length, arena);
+            return new MappedBuffer(segment, arena);
+        } catch (final IOException ex) {
+            arena.close();
+            throw new UncheckedIOException(ex);
+        } catch (final RuntimeException ex) {
+            arena.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Retrieves the current size of the mapped file.
+     *
+     * @return the size of the file in bytes
+     */
+    public long size() {
+        try {
+            return this.channel.size();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
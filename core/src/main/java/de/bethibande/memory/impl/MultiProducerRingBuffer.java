@@ -0,0 +1,391 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.Gettable;
+import de.bethibande.memory.ReferenceCounted;
+import de.bethibande.memory.Settable;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+
+/**
+ * A bounded, lock-free ring buffer shared by any number of producer threads and drained by exactly one consumer thread.
+ * It uses the region layout of {@link FastCompositeBuffer}, the number of regions must be a power of two.
+ * <br>
+ * Producers append records in two steps. {@link #claim(int)} atomically reserves a range of the ring using a compare-and-set on the shared claim cursor
+ * and returns the position of the record's payload. The producer then fills the payload using the positional {@code set} methods
+ * and publishes the record using {@link #commit(long)}. Records may be committed in any order,
+ * the consumer however only ever sees records in claim order and stops at the first record that has not been committed yet.
+ * <br>
+ * Every record is prefixed by an 8 byte header and padded to a multiple of 8 bytes, so headers never straddle two regions.
+ * The header holds the negated record length while the record is being written and the record length once it has been committed.
+ * A header of 0 marks space that has not been claimed yet, the consumer therefore zeroes every record once it has been consumed
+ * and hands the space back to the producers at the end of each {@link #poll(RecordHandler, int)}.
+ * <br>
+ * The ring is not a stream-based {@link Buffer}, it only supports positional writes to claimed records.
+ * Records are appended using {@link #claim(int)} and {@link #commit(long)} and consumed using {@link #poll(RecordHandler)}.
+ */
+public class MultiProducerRingBuffer implements Settable, ReferenceCounted {
+
+    public static final int HEADER_LENGTH = 8;
+    public static final int ALIGNMENT = 8;
+
+    private static final int SPIN_LIMIT = 128;
+
+    private final PaddedCursor claim = new PaddedCursor(0L);
+    private final PaddedCursor consumer = new PaddedCursor(0L);
+    private final PaddedCursor consumerCache = new PaddedCursor(0L);
+
+    private final Records records;
+
+    public MultiProducerRingBuffer(final int bufferCount, final int exponent) {
+        validateExponent(exponent);
+
+        this.records = new Records(bufferCount, exponent);
+        clear(0, capacity());
+    }
+
+    public MultiProducerRingBuffer(final Buffer[] buffers, final int exponent) {
+        validateExponent(exponent);
+
+        this.records = new Records(buffers, exponent);
+        clear(0, capacity());
+    }
+
+    private static void validateExponent(final int exponent) {
+        if ((1 << exponent) < ALIGNMENT) {
+            throw new IllegalArgumentException("The region size must be at least " + ALIGNMENT + " bytes");
+        }
+    }
+
+    private static long align(final long length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    private void clear(final long from, final long to) {
+        for (long position = from; position < to; position += ALIGNMENT) {
+            this.records.set(position, 0L);
+        }
+    }
+
+    private static void idle(final int spins) {
+        if (spins < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Claims space for a record with the given payload length, waiting for the consumer if the ring is full.
+     *
+     * @param length the length of the record's payload in bytes
+     * @return the position of the record's payload, to be passed to {@link #commit(long)} once the payload has been written
+     * @throws IllegalArgumentException if the record can never fit into the ring
+     */
+    public long claim(final int length) {
+        int spins = 0;
+        long position;
+        while ((position = tryClaim(length)) < 0) {
+            idle(spins++);
+        }
+
+        return position;
+    }
+
+    /**
+     * Claims space for a record with the given payload length if there is enough space available, without waiting for the consumer.
+     *
+     * @param length the length of the record's payload in bytes
+     * @return the position of the record's payload or -1 if there is not enough space left
+     * @throws IllegalArgumentException if the record can never fit into the ring
+     */
+    public long tryClaim(final int length) {
+        final long recordLength = align(HEADER_LENGTH + (long) length);
+        if (length < 0 || recordLength > capacity() || recordLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cannot claim " + length + " bytes in a ring buffer with a capacity of " + capacity());
+        }
+
+        long position;
+        do {
+            position = this.claim.getAcquire();
+
+            final long wrapPoint = position + recordLength - capacity();
+            if (this.consumerCache.getAcquire() < wrapPoint) {
+                final long readPosition = this.consumer.getAcquire();
+                if (readPosition < wrapPoint) return -1;
+
+                this.consumerCache.setRelease(readPosition);
+            }
+        } while (!this.claim.compareAndSet(position, position + recordLength));
+
+        this.records.set(position, -(HEADER_LENGTH + length));
+        return position + HEADER_LENGTH;
+    }
+
+    /**
+     * Publishes a claimed record to the consumer. All writes to the payload made before committing are visible to the consumer.
+     *
+     * @param position the payload position returned by {@link #claim(int)}
+     */
+    public void commit(final long position) {
+        final long header = position - HEADER_LENGTH;
+        final int recordLength = -this.records.getInt(header);
+
+        VarHandle.releaseFence();
+        this.records.set(header, recordLength);
+    }
+
+    /**
+     * Retrieves the payload length of a claimed or committed record.
+     *
+     * @param position the payload position returned by {@link #claim(int)}
+     * @return the length of the record's payload in bytes
+     */
+    public int recordLength(final long position) {
+        return Math.abs(this.records.getInt(position - HEADER_LENGTH)) - HEADER_LENGTH;
+    }
+
+    /**
+     * Passes all committed records to the given handler, stopping at the first record that has not been committed yet.
+     * Must only be called by the consumer.
+     *
+     * @return the number of records consumed
+     */
+    public int poll(final RecordHandler handler) {
+        return poll(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Passes up to {@code limit} committed records to the given handler, stopping at the first record that has not been committed yet.
+     * Once the handler has returned, the space of the consumed records is handed back to the producers.
+     * Must only be called by the consumer.
+     *
+     * @return the number of records consumed
+     */
+    public int poll(final RecordHandler handler, final int limit) {
+        final long head = this.consumer.getPlain();
+
+        long position = head;
+        int count = 0;
+        try {
+            while (count < limit) {
+                final int recordLength = this.records.getInt(position);
+                VarHandle.acquireFence();
+                if (recordLength <= 0) break;
+
+                handler.onRecord(this.records, position + HEADER_LENGTH, recordLength - HEADER_LENGTH);
+
+                final long next = position + align(recordLength);
+                clear(position, next);
+                position = next;
+                count++;
+            }
+        } finally {
+            if (position != head) {
+                this.consumer.setRelease(position);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Retrieves the total number of bytes available for records, including headers and padding.
+     */
+    public long capacity() {
+        return this.records.capacity();
+    }
+
+    /**
+     * Retrieves the number of bytes claimed and not yet consumed, including headers, padding and records that have not been committed yet.
+     */
+    public long readable() {
+        return this.claim.getAcquire() - this.consumer.getAcquire();
+    }
+
+    public long writable() {
+        return capacity() - readable();
+    }
+
+    @Override
+    public void set(final long position, final byte[] bytes) {
+        this.records.set(position, bytes);
+    }
+
+    @Override
+    public void set(final long position, final byte[] bytes, final int offset, final int length) {
+        this.records.set(position, bytes, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final ByteBuffer buffer, final int offset, final int length) {
+        this.records.set(position, buffer, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final byte b) {
+        this.records.set(position, b);
+    }
+
+    @Override
+    public void set(final long position, final short s) {
+        this.records.set(position, s);
+    }
+
+    @Override
+    public void set(final long position, final int i) {
+        this.records.set(position, i);
+    }
+
+    @Override
+    public void set(final long position, final long l) {
+        this.records.set(position, l);
+    }
+
+    @Override
+    public void set(final long position, final float f) {
+        this.records.set(position, f);
+    }
+
+    @Override
+    public void set(final long position, final double d) {
+        this.records.set(position, d);
+    }
+
+    @Override
+    public void set(final long position, final boolean b) {
+        this.records.set(position, b);
+    }
+
+    @Override
+    public void set(final long position, final char c) {
+        this.records.set(position, c);
+    }
+
+    @Override
+    public void set(final long position, final short[] values, final int offset, final int length) {
+        this.records.set(position, values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final int[] values, final int offset, final int length) {
+        this.records.set(position, values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final long[] values, final int offset, final int length) {
+        this.records.set(position, values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final float[] values, final int offset, final int length) {
+        this.records.set(position, values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final double[] values, final int offset, final int length) {
+        this.records.set(position, values, offset, length);
+    }
+
+    @Override
+    public void set(final long position, final char[] values, final int offset, final int length) {
+        this.records.set(position, values, offset, length);
+    }
+
+    @Override
+    public int setVarLong(final long position, final long value) {
+        return this.records.setVarLong(position, value);
+    }
+
+    @Override
+    public int setUtf8(final long position, final CharSequence chars, final int start, final int end) {
+        return this.records.setUtf8(position, chars, start, end);
+    }
+
+    @Override
+    public int setAscii(final long position, final CharSequence chars, final int start, final int end) {
+        return this.records.setAscii(position, chars, start, end);
+    }
+
+    @Override
+    public void retain(final int count) {
+        this.records.retain(count);
+    }
+
+    @Override
+    public void retain() {
+        this.records.retain();
+    }
+
+    @Override
+    public void release() {
+        this.records.release();
+    }
+
+    @Override
+    public int referenceCount() {
+        return this.records.referenceCount();
+    }
+
+    @Override
+    public String toString() {
+        return "MultiProducerRingBuffer{ " +
+                "capacity: " + capacity() + ", " +
+                "claimPosition: " + this.claim.getAcquire() + ", " +
+                "consumerPosition: " + this.consumer.getAcquire() +
+                " }";
+    }
+
+    /**
+     * The regions holding the records of a {@link MultiProducerRingBuffer}. Positions wrap around at the end of the ring.
+     * This class is for internal use only.
+     */
+    private static final class Records extends FastCompositeBuffer {
+
+        private final int regionMask;
+
+        private Records(final int bufferCount, final int exponent) {
+            super(bufferCount, exponent);
+            this.regionMask = regionMask(bufferCount);
+        }
+
+        private Records(final Buffer[] buffers, final int exponent) {
+            super(buffers, exponent);
+            this.regionMask = regionMask(buffers.length);
+        }
+
+        @Override
+        protected int bufferIdxAt(final long offset) {
+            return (int) (offset >> exponent) & regionMask;
+        }
+
+        @Override
+        protected int nextRegionIdx(final int regionIdx) {
+            return (regionIdx + 1) & regionMask;
+        }
+
+        @Override
+        protected String className() {
+            return "MultiProducerRingBuffer.Records";
+        }
+    }
+
+    /**
+     * Callback receiving the records consumed by {@link #poll(RecordHandler)}.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+
+        /**
+         * Handles a single record. The payload must be read using the positional {@code get} methods of the given records
+         * before returning, as its space is handed back to the producers afterward.
+         *
+         * @param records the regions of the ring holding the record
+         * @param position the position of the record's payload
+         * @param length the length of the record's payload in bytes
+         */
+        void onRecord(Gettable records, long position, int length);
+
+    }
+}
@@ -0,0 +1,79 @@
+package de.bethibande.memory.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Padding placed in front of the cursor value. Superclass fields are laid out first, so the value can not share a cache line with
+ * whatever object precedes the cursor in memory.
+ */
+abstract class CursorLeftPadding {
+
+    protected long p01, p02, p03, p04, p05, p06, p07, p08;
+
+}
+
+/**
+ * The actual cursor value along with a plain cache field only ever accessed by the thread owning the cursor.
+ */
+abstract class CursorValue extends CursorLeftPadding {
+
+    protected volatile long value;
+    protected long cache;
+
+}
+
+/**
+ * A cache-line-padded position shared between threads, such as the producer and consumer positions of a ring buffer.
+ * <br>
+ * Next to the position itself, every cursor has a {@link #cache()} field. It is meant to hold the last observed value of the opposite cursor,
+ * it is only ever accessed by the thread owning the cursor and lives on the same cache line as the value written by that thread.
+ * <br>
+ * This class is for internal use only.
+ */
+final class PaddedCursor extends CursorValue {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(CursorValue.class, "value", long.class);
+        } catch (final ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    protected long p11, p12, p13, p14, p15, p16, p17, p18;
+
+    PaddedCursor(final long initialValue) {
+        VALUE.set(this, initialValue);
+    }
+
+    /**
+     * Reads the value without any ordering guarantees. Only safe to use from the thread owning the cursor.
+     */
+    long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    void setRelease(final long value) {
+        VALUE.setRelease(this, value);
+    }
+
+    boolean compareAndSet(final long expected, final long value) {
+        return VALUE.compareAndSet(this, expected, value);
+    }
+
+    long cache() {
+        return this.cache;
+    }
+
+    void cache(final long value) {
+        this.cache = value;
+    }
+
+}
@@ -16,6 +16,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <br>
  * This allocator enhances performance by limiting repeated memory allocation and deallocation, while
  * maintaining a consistent size for memory buffers.
+ * Pool hits, misses and recycled buffers are counted by {@link BufferMetrics#POOLED}.
  */
 public class PooledAllocator implements Allocator {
 
@@ -29,6 +30,7 @@ public class PooledAllocator implements Allocator {
 
     protected Buffer doAllocate() {
         allocated.incrementAndGet();
+        BufferMetrics.POOLED.miss(getClass(), allocationSize);
         return new PooledBuffer(ByteBuffer.allocateDirect(allocationSize), this);
     }
 
@@ -44,8 +46,12 @@ public class PooledAllocator implements Allocator {
     public Buffer allocate(final long size) {
         if (size != -1 && size != allocationSize) throw new IllegalArgumentException("Invalid allocation size!");
 
-        final Buffer buffer = pool.poll();
-        if (buffer != null) return buffer;
+        final PooledBuffer buffer = pool.poll();
+        if (buffer != null) {
+            buffer.trackLeaks();
+            BufferMetrics.POOLED.hit();
+            return buffer;
+        }
 
         return doAllocate();
     }
@@ -53,6 +59,7 @@ public class PooledAllocator implements Allocator {
     protected void release(final PooledBuffer buffer) {
         buffer.reset();
         buffer.retain(1 - buffer.referenceCount());
+        BufferMetrics.POOLED.recycled();
         pool.offer(buffer);
     }
 
@@ -2,6 +2,16 @@ package de.bethibande.memory.impl;
 
 import de.bethibande.memory.Buffer;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
 /**
  * A {@code RingBuffer} is an advanced implementation of {@code FastCompositeBuffer} designed
  * to handle data in a circular or ring-like manner. It allows for efficient use of memory by
@@ -15,37 +25,488 @@ import de.bethibande.memory.Buffer;
  * the buffer will automatically expand by one or more buffers ahead of the position to be written to accommodate the new data.
  * If there are enough bytes left to write and the read-position is not 0, the buffer will simply wrap around to the beginning of the buffer if necessary.
  * <br>
+ * A maximum capacity turns the buffer into a bounded buffer for one producer and one consumer thread. It expands up to the maximum capacity,
+ * after which the {@code write*} methods park the producer until the consumer has freed enough space, {@link #tryWrite(byte[], int, int)}
+ * returns false instead and {@link #tryWrite(byte[], int, int, long, TimeUnit)} waits for a limited time.
+ * Every read of a bounded buffer holds its lock until the read position has been advanced, so an expansion never moves regions that are being read.
+ * The positional {@code get} and {@code set} methods as well as {@link BufferCursor}s do not synchronize with the other thread.
+ * How often and how long producers had to wait is tracked by {@link #stalls()} and {@link #stallNanos()}.
+ * Expansions are counted by {@link BufferMetrics#COMPOSITE}.
+ * <br>
  * The read and write-positions are incremented indefinitely and may exceed the capacity of the buffer.
  */
 public class RingBuffer extends FastCompositeBuffer {
 
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final long maxCapacity;
+    private final ReentrantLock lock;
+    private final Condition consumed;
+
+    private final LongAdder stalls = new LongAdder();
+    private final LongAdder stallNanos = new LongAdder();
+    private final LongAdder rejectedWrites = new LongAdder();
+
     public RingBuffer(final int initialBufferCount, final int exponent) {
-        super(initialBufferCount, exponent);
+        this(initialBufferCount, exponent, ByteOrder.BIG_ENDIAN, UNBOUNDED);
+    }
+
+    public RingBuffer(final int initialBufferCount, final int exponent, final ByteOrder order) {
+        this(initialBufferCount, exponent, order, UNBOUNDED);
+    }
+
+    public RingBuffer(final int initialBufferCount, final int exponent, final long maxCapacity) {
+        this(initialBufferCount, exponent, ByteOrder.BIG_ENDIAN, maxCapacity);
+    }
+
+    /**
+     * Constructs a ring buffer with the given number of initial regions of 2^exponent bytes.
+     *
+     * @param maxCapacity the capacity up to which the buffer expands before writes wait for the consumer, a multiple of 2^exponent, or {@link #UNBOUNDED}
+     * @throws IllegalArgumentException if the initial capacity exceeds the maximum capacity or the maximum capacity is not a multiple of the region size
+     */
+    public RingBuffer(final int initialBufferCount, final int exponent, final ByteOrder order, final long maxCapacity) {
+        validateMaxCapacity((long) initialBufferCount << exponent, exponent, maxCapacity);
+
+        final ReentrantLock lock = maxCapacity == UNBOUNDED ? null : new ReentrantLock();
+        this.maxCapacity = maxCapacity;
+        this.lock = lock;
+        this.consumed = lock == null ? null : lock.newCondition();
+
+        super(initialBufferCount, exponent, order);
     }
 
     public RingBuffer(final Buffer[] buffers, final int exponent) {
+        this(buffers, exponent, UNBOUNDED);
+    }
+
+    public RingBuffer(final Buffer[] buffers, final int exponent, final long maxCapacity) {
+        validateMaxCapacity((long) buffers.length << exponent, exponent, maxCapacity);
+
+        final ReentrantLock lock = maxCapacity == UNBOUNDED ? null : new ReentrantLock();
+        this.maxCapacity = maxCapacity;
+        this.lock = lock;
+        this.consumed = lock == null ? null : lock.newCondition();
+
         super(buffers, exponent);
     }
 
+    private static void validateMaxCapacity(final long capacity, final int exponent, final long maxCapacity) {
+        if (capacity > maxCapacity) {
+            throw new IllegalArgumentException("The initial capacity " + capacity + " exceeds the maximum capacity of " + maxCapacity);
+        }
+        if (maxCapacity != UNBOUNDED && (maxCapacity & ((1L << exponent) - 1)) != 0) { // The buffer only expands by whole regions
+            throw new IllegalArgumentException("The maximum capacity " + maxCapacity + " is not a multiple of the region size " + (1L << exponent));
+        }
+    }
+
+    public long maxCapacity() {
+        return this.maxCapacity;
+    }
+
+    public boolean isBounded() {
+        return this.lock != null;
+    }
+
+    /**
+     * Retrieves the number of writes that had to wait for the consumer because the buffer reached its maximum capacity.
+     */
+    public long stalls() {
+        return this.stalls.sum();
+    }
+
+    /**
+     * Retrieves the total time in nanoseconds producers spent waiting for the consumer.
+     */
+    public long stallNanos() {
+        return this.stallNanos.sum();
+    }
+
+    /**
+     * Retrieves the number of calls to {@code tryWrite} that returned false.
+     */
+    public long rejectedWrites() {
+        return this.rejectedWrites.sum();
+    }
+
     @Override
     protected long writeIdx(final long bytes) {
         final long position = writePosition();
-        final long remaining = writableAt(position);
+        ensureWritable(position, bytes);
+        return position;
+    }
 
-        if (remaining >= bytes) {
-            return super.writeIdx(bytes);
+    @Override
+    protected long ensureWritable(final long position, final long bytes) {
+        if (writableAt(position) < bytes) {
+            if (this.lock == null) {
+                expandUntilWritable(position, bytes);
+            } else {
+                awaitWritable(position, bytes);
+            }
         }
 
+        return readPosition() + capacity(); // Writing beyond this position would overwrite unread bytes
+    }
+
+    /**
+     * Expands the buffer until the given number of bytes can be written at the position or the maximum capacity has been reached.
+     *
+     * @return whether the bytes can be written
+     */
+    private boolean expandUntilWritable(final long position, final long bytes) {
         while (writableAt(position) < bytes) {
+            if (capacity() + expectedRegionSize() > this.maxCapacity) return false;
+
             expandAt(position);
         }
 
-        return super.writeIdx(bytes);
+        return true;
+    }
+
+    private void validateLength(final long bytes) {
+        if (bytes > this.maxCapacity) {
+            throw new IllegalArgumentException("Cannot write " + bytes + " bytes to a ring buffer with a maximum capacity of " + this.maxCapacity);
+        }
+    }
+
+    /**
+     * Parks the producer until the consumer has freed enough space to write the given number of bytes at the position.
+     */
+    private void awaitWritable(final long position, final long bytes) {
+        validateLength(bytes);
+
+        this.lock.lock();
+        try {
+            if (expandUntilWritable(position, bytes)) return;
+
+            final long start = System.nanoTime();
+            this.stalls.increment();
+            do {
+                this.consumed.awaitUninterruptibly();
+            } while (writableAt(position) < bytes);
+            this.stallNanos.add(System.nanoTime() - start);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Waits up to the given time for the consumer to free enough space to write the given number of bytes at the position.
+     *
+     * @return whether the bytes can be written
+     */
+    private boolean awaitWritable(final long position, final long bytes, final long nanos) throws InterruptedException {
+        if (writableAt(position) >= bytes) return true;
+        if (this.lock == null) return expandUntilWritable(position, bytes);
+
+        validateLength(bytes);
+
+        this.lock.lock();
+        try {
+            if (expandUntilWritable(position, bytes)) return true;
+            if (nanos <= 0L) {
+                this.rejectedWrites.increment();
+                return false;
+            }
+
+            final long start = System.nanoTime();
+            this.stalls.increment();
+            try {
+                long remaining = nanos;
+                while (writableAt(position) < bytes) {
+                    if (remaining <= 0L) {
+                        this.rejectedWrites.increment();
+                        return false;
+                    }
+
+                    remaining = this.consumed.awaitNanos(remaining);
+                }
+
+                return true;
+            } finally {
+                this.stallNanos.add(System.nanoTime() - start);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the given bytes if there is enough space available or the buffer can expand, without waiting for the consumer.
+     *
+     * @return true if the bytes have been written, false if the maximum capacity has been reached
+     */
+    public boolean tryWrite(final byte[] bytes) {
+        return tryWrite(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes the given bytes if there is enough space available or the buffer can expand, without waiting for the consumer.
+     *
+     * @return true if the bytes have been written, false if the maximum capacity has been reached
+     */
+    public boolean tryWrite(final byte[] bytes, final int offset, final int length) {
+        try {
+            return tryWrite(bytes, offset, length, 0L, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException ex) { // Only thrown while waiting, which a timeout of 0 never does
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes the given bytes, waiting up to the given time for the consumer if the maximum capacity has been reached.
+     *
+     * @return true if the bytes have been written, false if the timeout elapsed before enough space was available
+     * @throws InterruptedException if the thread has been interrupted while waiting
+     */
+    public boolean tryWrite(final byte[] bytes, final int offset, final int length, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long position = writePosition();
+        if (!awaitWritable(position, length, unit.toNanos(timeout))) return false;
+
+        set(position, bytes, offset, length);
+        writePosition(position + length);
+        return true;
+    }
+
+    /**
+     * Runs a read of a bounded buffer while holding its lock, so the producer cannot move the regions being read.
+     */
+    private <T> T locked(final Supplier<T> read) {
+        this.lock.lock();
+        try {
+            return read.get();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void locked(final Runnable read) {
+        this.lock.lock();
+        try {
+            read.run();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void readPosition(final long position) {
+        if (this.lock == null) {
+            super.readPosition(position);
+            return;
+        }
+
+        this.lock.lock();
+        try {
+            super.readPosition(position);
+            this.consumed.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void read(final ByteBuffer buffer) {
+        if (this.lock == null) {
+            super.read(buffer);
+        } else {
+            locked(() -> super.read(buffer));
+        }
+    }
+
+    @Override
+    public void read(final byte[] bytes) {
+        read(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void read(final byte[] bytes, final int offset, final int length) {
+        if (this.lock == null) {
+            super.read(bytes, offset, length);
+        } else {
+            locked(() -> super.read(bytes, offset, length));
+        }
+    }
+
+    @Override
+    public byte readByte() {
+        return this.lock == null ? super.readByte() : locked(() -> super.readByte());
+    }
+
+    @Override
+    public short readShort() {
+        return this.lock == null ? super.readShort() : locked(() -> super.readShort());
+    }
+
+    @Override
+    public int readInt() {
+        return this.lock == null ? super.readInt() : locked(() -> super.readInt());
+    }
+
+    @Override
+    public long readLong() {
+        return this.lock == null ? super.readLong() : locked(() -> super.readLong());
+    }
+
+    @Override
+    public float readFloat() {
+        return this.lock == null ? super.readFloat() : locked(() -> super.readFloat());
+    }
+
+    @Override
+    public double readDouble() {
+        return this.lock == null ? super.readDouble() : locked(() -> super.readDouble());
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return this.lock == null ? super.readBoolean() : locked(() -> super.readBoolean());
+    }
+
+    @Override
+    public char readChar() {
+        return this.lock == null ? super.readChar() : locked(() -> super.readChar());
+    }
+
+    @Override
+    public void read(final short[] values, final int offset, final int length) {
+        if (this.lock == null) {
+            super.read(values, offset, length);
+        } else {
+            locked(() -> super.read(values, offset, length));
+        }
+    }
+
+    @Override
+    public void read(final int[] values, final int offset, final int length) {
+        if (this.lock == null) {
+            super.read(values, offset, length);
+        } else {
+            locked(() -> super.read(values, offset, length));
+        }
+    }
+
+    @Override
+    public void read(final long[] values, final int offset, final int length) {
+        if (this.lock == null) {
+            super.read(values, offset, length);
+        } else {
+            locked(() -> super.read(values, offset, length));
+        }
+    }
+
+    @Override
+    public void read(final float[] values, final int offset, final int length) {
+        if (this.lock == null) {
+            super.read(values, offset, length);
+        } else {
+            locked(() -> super.read(values, offset, length));
+        }
+    }
+
+    @Override
+    public void read(final double[] values, final int offset, final int length) {
+        if (this.lock == null) {
+            super.read(values, offset, length);
+        } else {
+            locked(() -> super.read(values, offset, length));
+        }
+    }
+
+    @Override
+    public void read(final char[] values, final int offset, final int length) {
+        if (this.lock == null) {
+            super.read(values, offset, length);
+        } else {
+            locked(() -> super.read(values, offset, length));
+        }
+    }
+
+    @Override
+    public long readVarLong() {
+        return this.lock == null ? super.readVarLong() : locked(() -> super.readVarLong());
+    }
+
+    @Override
+    public String readUtf8(final int length) {
+        return this.lock == null ? super.readUtf8(length) : locked(() -> super.readUtf8(length));
+    }
+
+    @Override
+    public long transferTo(final WritableByteChannel channel, final long length) throws IOException {
+        if (this.lock == null) return super.transferTo(channel, length);
+
+        this.lock.lock();
+        try {
+            return super.transferTo(channel, length);
+        } finally {
+            this.lock.unlock();
+        }
     }
 
+    /**
+     * Inserts a new region, so that at least one more region of bytes can be written at the given write position.
+     * <br>
+     * Positions are mapped to regions by their index modulo the number of regions, the regions holding unread bytes
+     * are therefore moved to the index they map to after the expansion. If the ring is full and the read and write positions
+     * share a region, the bytes in front of the write position are copied to the new region, as the shared region can only
+     * remain in place for the unread bytes following the read position.
+     *
+     * @throws IllegalStateException if the buffer would exceed its maximum capacity
+     */
     public void expandAt(final long position) {
-        final int idx = bufferIdxAfter(position);
-        expand(allocateBuffer(), idx + 1);
+        if (capacity() + expectedRegionSize() > this.maxCapacity) {
+            throw new IllegalStateException("The buffer cannot expand beyond its maximum capacity of " + this.maxCapacity);
+        }
+
+        final int count = super.regionCount;
+        final int expandedCount = count + 1;
+        final CompositeRegion[] regions = this.regions;
+        final CompositeRegion[] expanded = new CompositeRegion[Math.max(regions.length, expandedCount)];
+        final boolean[] moved = new boolean[count];
+
+        final long first = readPosition() >> exponent;
+        final long last = (position - 1) >> exponent;
+        for (long regionNumber = first; regionNumber <= last; regionNumber++) {
+            final int from = (int) regionNumber % count; // Same mapping as bufferIdxAt
+            final int to = (int) regionNumber % expandedCount;
+
+            if (moved[from]) { // The region also holds the oldest unread bytes, which stay in place
+                final Buffer buffer = allocateBuffer();
+                final byte[] bytes = new byte[(int) (position - (regionNumber << exponent))];
+                regions[from].buffer().get(0, bytes);
+                buffer.set(0, bytes);
+
+                expanded[to] = region(buffer, 0);
+            } else {
+                expanded[to] = regions[from];
+                moved[from] = true;
+            }
+        }
+
+        int free = 0;
+        for (int i = 0; i < expandedCount; i++) { // Fills the remaining indices with the consumed regions and a new one
+            if (expanded[i] != null) continue;
+
+            while (free < count && moved[free]) free++;
+            expanded[i] = free < count ? regions[free++] : region(allocateBuffer(), 0);
+        }
+
+        this.regions = expanded;
+        this.regionCount = expandedCount;
+        this.size = calculateSize();
+
+        BufferMetrics.COMPOSITE.expanded(this, this.size);
+    }
+
+    /**
+     * Expands by at most one region per transfer, so a large length does not allocate its entire size up front.
+     */
+    @Override
+    protected long transferLimit() {
+        return Math.max(writable(), expectedRegionSize());
     }
 
     public long writableAt(final long position) {
@@ -62,15 +523,14 @@ public class RingBuffer extends FastCompositeBuffer {
         return writePosition() - readPosition();
     }
 
-    protected int bufferIdxAfter(final long position) {
-        final int regionCount = super.regions.length;
-        long nextRegion = ((position + expectedRegionSize() - 1) >> exponent) % regionCount;
-        return (int) ((nextRegion + 1) % regionCount);
+    @Override
+    protected int bufferIdxAt(final long offset) {
+        return (int) (offset >> exponent) % super.regionCount;
     }
 
     @Override
-    protected int bufferIdxAt(final long offset) {
-        return (int) (offset >> exponent) % super.regions.length;
+    protected int nextRegionIdx(final int regionIdx) {
+        return (regionIdx + 1) % super.regionCount;
     }
 
     @Override
@@ -0,0 +1,254 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+
+/**
+ * A durable, append-only log following the semantics of the {@link ExpandingBuffer}.
+ * Every region is a memory-mapped segment file of 2^exponent bytes stored in the log's directory.
+ * Expanding the buffer rolls over to a new segment file, {@link #compact()} deletes the segment files that have been read entirely,
+ * or, if enabled, keeps up to {@link #MAX_RECYCLED_SEGMENTS} of them around to be renamed and reused as new segments.
+ * <br>
+ * The absolute read and write positions (counted from the start of the very first segment) are stored in a small memory-mapped metadata file
+ * whenever they change. Reopening the log restores both positions and maps the segments between them without scanning any data.
+ * Segment files are named after their sequence number, which is the absolute position of their first byte divided by the segment size.
+ * <br>
+ * Modifications are written to the files by the operating system eventually, {@link #force()} synchronously writes all segments and the metadata back to storage.
+ * Releasing the last reference unmaps all files without deleting them. This class is not thread-safe.
+ */
+public class SegmentedLogBuffer extends ExpandingBuffer {
+
+    public static final int MAX_RECYCLED_SEGMENTS = 4;
+
+    private static final String METADATA_FILE = "log.meta";
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    private static final long MAGIC = 0x4C4F475345474D31L; // "LOGSEGM1"
+    private static final long METADATA_SIZE = 24;
+    private static final long MAGIC_OFFSET = 0;
+    private static final long READ_POSITION_OFFSET = 8;
+    private static final long WRITE_POSITION_OFFSET = 16;
+
+    private final SegmentAllocator segments;
+    private final MappedBuffer metadata;
+
+    private long firstSegment;
+
+    public SegmentedLogBuffer(final Path directory, final int exponent) {
+        this(directory, exponent, false);
+    }
+
+    /**
+     * Opens the log stored in the given directory, creating a new log if the directory does not contain one yet.
+     *
+     * @param directory the directory holding the segment and metadata files
+     * @param exponent the exponent defining the segment size of 2^exponent bytes, must match the exponent the log was created with
+     * @param recycleSegments whether to rename and reuse consumed segment files instead of deleting them
+     */
+    public SegmentedLogBuffer(final Path directory, final int exponent, final boolean recycleSegments) {
+        final MappedBuffer metadata = openMetadata(directory);
+        final long readPosition = metadata.getLong(READ_POSITION_OFFSET);
+        final long writePosition = metadata.getLong(WRITE_POSITION_OFFSET);
+
+        final long first = readPosition >> exponent;
+        final long last = Math.max(first, (writePosition - 1) >> exponent);
+
+        final SegmentAllocator segments = new SegmentAllocator(directory, exponent, recycleSegments, last + 1);
+        segments.collectStaleSegments(first, last);
+
+        final Buffer[] buffers = new Buffer[(int) (last - first + 1)];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = segments.open(first + i);
+        }
+
+        this.segments = segments;
+        this.metadata = metadata;
+        this.firstSegment = first;
+
+        super(buffers, exponent, segments);
+
+        readPosition(readPosition - (first << exponent));
+        writePosition(writePosition - (first << exponent));
+    }
+
+    private static MappedBuffer openMetadata(final Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        try (final MappedFileAllocator allocator = new MappedFileAllocator(directory.resolve(METADATA_FILE), FileChannel.MapMode.READ_WRITE)) {
+            final boolean created = allocator.size() == 0;
+            final MappedBuffer metadata = allocator.map(0, METADATA_SIZE);
+
+            if (created) {
+                metadata.set(MAGIC_OFFSET, MAGIC);
+            } else if (metadata.getLong(MAGIC_OFFSET) != MAGIC) {
+                metadata.release();
+                throw new IllegalStateException("The directory " + directory + " does not contain a valid log");
+            }
+
+            return metadata;
+        }
+    }
+
+    private long segmentBase() {
+        return this.firstSegment << exponent;
+    }
+
+    @Override
+    public void writePosition(final long position) {
+        super.writePosition(position);
+        this.metadata.set(WRITE_POSITION_OFFSET, segmentBase() + position);
+    }
+
+    @Override
+    public void readPosition(final long position) {
+        this.metadata.set(READ_POSITION_OFFSET, segmentBase() + position); // Stored first, an automatic compaction stores the rebased position
+        super.readPosition(position);
+    }
+
+    /**
+     * Releases all segments that have been read entirely, see {@link ExpandingBuffer#compact()}.
+     * The segment files are deleted or recycled afterward. The absolute positions stored in the metadata file remain unchanged.
+     */
+    @Override
+    public void compact() {
+        final long first = this.firstSegment;
+        final int consumed = (int) (readPosition() >> exponent);
+
+        this.firstSegment += consumed; // Keeps the absolute positions stored while the relative positions are adjusted
+        super.compact();
+
+        for (long sequence = first; sequence < first + consumed; sequence++) {
+            this.segments.discard(sequence);
+        }
+    }
+
+    /**
+     * Writes all modifications of the segments and the metadata back to the storage device.
+     */
+    public void force() {
+        final CompositeRegion[] regions = regions();
+        for (int i = 0; i < regions.length; i++) {
+            ((MappedBuffer) regions[i].buffer()).force();
+        }
+
+        this.metadata.force();
+    }
+
+    /**
+     * Retrieves the sequence number of the first segment still mapped by this log.
+     */
+    public long firstSegment() {
+        return this.firstSegment;
+    }
+
+    @Override
+    protected void free() {
+        super.free();
+        this.metadata.release();
+    }
+
+    @Override
+    protected String className() {
+        return "SegmentedLogBuffer";
+    }
+
+    /**
+     * SegmentAllocator is an {@link Allocator} mapping the segment files of a {@link SegmentedLogBuffer}.
+     * Every allocation rolls over to the next segment file. This class is for internal use only.
+     */
+    protected static class SegmentAllocator implements Allocator {
+
+        private final ArrayDeque<Path> recycled = new ArrayDeque<>();
+
+        private final Path directory;
+        private final long segmentSize;
+        private final boolean recycleSegments;
+
+        private long nextSegment;
+
+        public SegmentAllocator(final Path directory, final int exponent, final boolean recycleSegments, final long nextSegment) {
+            this.directory = directory;
+            this.segmentSize = 1L << exponent;
+            this.recycleSegments = recycleSegments;
+            this.nextSegment = nextSegment;
+        }
+
+        protected Path segmentFile(final long sequence) {
+            return this.directory.resolve(String.format("%020d", sequence) + SEGMENT_SUFFIX);
+        }
+
+        /**
+         * Maps the segment file with the given sequence number, creating it if it does not exist.
+         */
+        public MappedBuffer open(final long sequence) {
+            try (final MappedFileAllocator allocator = new MappedFileAllocator(segmentFile(sequence), FileChannel.MapMode.READ_WRITE)) {
+                return (MappedBuffer) allocator.allocate(this.segmentSize);
+            }
+        }
+
+        @Override
+        public Buffer allocate(final long size) {
+            final long sequence = this.nextSegment++;
+            final Path recycledFile = this.recycled.poll();
+
+            if (recycledFile != null) {
+                try {
+                    Files.move(recycledFile, segmentFile(sequence));
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+
+            return open(sequence);
+        }
+
+        /**
+         * Deletes or recycles the file of a segment that has been released.
+         */
+        public void discard(final long sequence) {
+            discard(segmentFile(sequence));
+        }
+
+        private void discard(final Path file) {
+            try {
+                if (this.recycleSegments && this.recycled.size() < MAX_RECYCLED_SEGMENTS) {
+                    this.recycled.add(file);
+                } else {
+                    Files.deleteIfExists(file);
+                }
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * Discards segment files outside the given range, left behind by a compaction or expansion that was interrupted.
+         */
+        public void collectStaleSegments(final long first, final long last) {
+            try (final DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + SEGMENT_SUFFIX)) {
+                for (final Path file : files) {
+                    final String name = file.getFileName().toString();
+                    final long sequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+
+                    if (sequence < first || sequence > last) {
+                        discard(file);
+                    }
+                }
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pooled allocator serving requests of arbitrary sizes, modeled after the size classes of jemalloc.
+ * Requested sizes are rounded up to the next size class and each size class is pooled separately.
+ * <br>
+ * Size classes are spaced 16 bytes apart up to 128 bytes. Above that, every power of two is split into four equally spaced classes,
+ * for example 160, 192, 224 and 256 bytes, which limits the memory wasted by rounding up to 25%.
+ * <br>
+ * Small size classes are carved out of shared chunks of {@link #chunkSize()} bytes, larger classes are allocated individually.
+ * The returned buffers are instances of {@link JavaNioBuffer} with a capacity of exactly the requested size.
+ * Releasing a buffer returns its memory to the pool of its size class.
+ * <br>
+ * This allocator is thread-safe, buffers may be allocated and released from any thread.
+ */
+public class SizeClassAllocator implements Allocator {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    public static final int MAX_SIZE = 1 << 30;
+
+    private static final int QUANTUM_SHIFT = 4;
+    private static final int QUANTUM_CLASSES = 8; // 16 - 128 bytes
+    private static final int LG_QUANTUM_MAX = 7; // 128 bytes
+
+    private final SizeClass[] classes = new SizeClass[sizeClassIndex(MAX_SIZE) + 1];
+    private final AtomicInteger chunks = new AtomicInteger();
+
+    private final int chunkSize;
+    private final int maxSmallSize;
+
+    public SizeClassAllocator() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new size class allocator.
+     * Size classes of up to an eighth of the chunk size are carved out of shared chunks.
+     *
+     * @param chunkSize the size of the chunks small size classes are carved out of
+     */
+    public SizeClassAllocator(final int chunkSize) {
+        this.chunkSize = chunkSize;
+        this.maxSmallSize = chunkSize >> 3;
+
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new SizeClass(sizeClassSize(i));
+        }
+    }
+
+    /**
+     * Computes the index of the smallest size class capable of holding the given number of bytes.
+     *
+     * @param size the number of bytes, must be between 1 and {@link #MAX_SIZE}
+     * @return the index of the size class
+     */
+    public static int sizeClassIndex(final long size) {
+        if (size <= (1 << LG_QUANTUM_MAX)) {
+            return (int) ((size + (1 << QUANTUM_SHIFT) - 1) >> QUANTUM_SHIFT) - 1;
+        }
+
+        final int lg = 63 - Long.numberOfLeadingZeros(size - 1);
+        final int step = (int) (((size - 1) >> (lg - 2)) & 3);
+        return QUANTUM_CLASSES + ((lg - LG_QUANTUM_MAX) << 2) + step;
+    }
+
+    /**
+     * Returns the size of the size class at the given index.
+     *
+     * @param index the index of the size class
+     * @return the number of bytes held by each buffer of the size class
+     */
+    public static int sizeClassSize(final int index) {
+        if (index < QUANTUM_CLASSES) {
+            return (index + 1) << QUANTUM_SHIFT;
+        }
+
+        final int lg = LG_QUANTUM_MAX + ((index - QUANTUM_CLASSES) >> 2);
+        final int step = (index - QUANTUM_CLASSES) & 3;
+        return (1 << lg) + ((step + 1) << (lg - 2));
+    }
+
+    /**
+     * Rounds the given size up to the size of its size class.
+     *
+     * @param size the requested number of bytes
+     * @return the number of bytes actually reserved for a request of the given size
+     */
+    public static int sizeClass(final long size) {
+        return sizeClassSize(sizeClassIndex(size));
+    }
+
+    /**
+     * Allocates a buffer of exactly the requested size from the pool of the matching size class.
+     *
+     * @param size the size of the buffer to allocate, must be between 1 and {@link #MAX_SIZE}
+     * @return a buffer with a capacity of {@code size} bytes
+     * @throws IllegalArgumentException if the requested size is less than 1 or greater than {@link #MAX_SIZE}
+     */
+    @Override
+    public Buffer allocate(final long size) {
+        if (size < 1 || size > MAX_SIZE) throw new IllegalArgumentException("Invalid allocation size!");
+
+        final SizeClass sizeClass = classes[sizeClassIndex(size)];
+        final ByteBuffer slot = sizeClass.poll();
+
+        return new SizeClassBuffer(slot.slice(0, (int) size), slot, sizeClass);
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Retrieves the number of chunks allocated for small size classes.
+     *
+     * @return the number of chunks allocated so far
+     */
+    public int chunkCount() {
+        return chunks.get();
+    }
+
+    /**
+     * Retrieves the number of free buffers pooled by the size class of the given size.
+     *
+     * @param size a size belonging to the size class to query
+     * @return the number of buffers currently present in the pool of the size class
+     */
+    public int queueSize(final long size) {
+        return classes[sizeClassIndex(size)].free.size();
+    }
+
+    /**
+     * A single size class and its pool of free slots.
+     */
+    protected final class SizeClass {
+
+        private final int size;
+        private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+
+        private SizeClass(final int size) {
+            this.size = size;
+        }
+
+        private ByteBuffer poll() {
+            final ByteBuffer slot = free.poll();
+            if (slot != null) return slot;
+
+            if (size > maxSmallSize) return ByteBuffer.allocateDirect(size);
+
+            return carve();
+        }
+
+        private ByteBuffer carve() {
+            final ByteBuffer chunk = ByteBuffer.allocateDirect(chunkSize);
+            chunks.incrementAndGet();
+
+            final int slots = chunkSize / size;
+            for (int i = 1; i < slots; i++) {
+                free.offer(chunk.slice(i * size, size));
+            }
+
+            return chunk.slice(0, size);
+        }
+
+        private void release(final ByteBuffer slot) {
+            free.offer(slot);
+        }
+    }
+
+    /**
+     * SizeClassBuffer is a subclass of {@link JavaNioBuffer} owned by a {@link SizeClassAllocator}.
+     * This class is for internal use only.
+     */
+    protected static class SizeClassBuffer extends JavaNioBuffer {
+
+        private final ByteBuffer slot;
+        private final SizeClass sizeClass;
+
+        public SizeClassBuffer(final ByteBuffer buffer, final ByteBuffer slot, final SizeClass sizeClass) {
+            super(buffer);
+            this.slot = slot;
+            this.sizeClass = sizeClass;
+        }
+
+        @Override
+        protected void free() {
+            this.sizeClass.release(this.slot);
+        }
+    }
+
+}
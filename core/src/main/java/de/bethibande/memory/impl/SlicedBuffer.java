@@ -3,13 +3,18 @@ package de.bethibande.memory.impl;
 import de.bethibande.memory.Buffer;
 
 import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
 
 public class SlicedBuffer extends DefaultBuffer {
 
     private final Buffer parent;
 
     public SlicedBuffer(final MemorySegment segment, final Buffer parent) {
-        super(segment);
+        this(segment, ByteOrder.nativeOrder(), parent);
+    }
+
+    public SlicedBuffer(final MemorySegment segment, final ByteOrder order, final Buffer parent) {
+        super(segment, order);
 
         this.parent = parent;
     }
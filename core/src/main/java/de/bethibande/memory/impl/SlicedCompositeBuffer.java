@@ -0,0 +1,140 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+
+import java.util.ArrayDeque;
+
+/**
+ * A slice of a {@link CompositeBuffer}, created by {@link CompositeBuffer#slice(long, long)}.
+ * <br>
+ * Instead of slicing every backing buffer it overlaps, the slice maps its regions directly onto the backing buffers of the source buffer.
+ * The offset of the first region is shifted back by the position the slice starts at within its backing buffer,
+ * and the limit of the last region is clipped to the end of the slice, so no intermediate buffers are needed.
+ * Accessing a position outside the slice throws an {@link IndexOutOfBoundsException} instead of reaching into the rest of the backing buffers. The slice retains the source buffer and every backing buffer it overlaps until it is released,
+ * expanding or compacting the source buffer therefore does not affect the slice.
+ * <br>
+ * Released slices are kept in a small per-thread pool and reused along with their region objects,
+ * so slicing allocates nothing once the pool of the slicing thread is warm. A slice must therefore not be used once it has been released,
+ * as it may already be mapped onto another range. Slices cannot be expanded.
+ */
+public class SlicedCompositeBuffer extends CompositeBuffer {
+
+    public static final int MAX_RECYCLED_SLICES = 64;
+
+    private static final ThreadLocal<ArrayDeque<SlicedCompositeBuffer>> RECYCLED = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private CompositeBuffer source;
+    private long length;
+
+    protected SlicedCompositeBuffer() {
+        super(new Buffer[0]);
+    }
+
+    /**
+     * Takes a slice from the pool of the current thread, or creates a new one, and maps it onto the given range of the source buffer.
+     * The caller must have retained the source buffer for the slice.
+     */
+    static SlicedCompositeBuffer acquire(final CompositeBuffer source, final long offset, final long length) {
+        SlicedCompositeBuffer slice = RECYCLED.get().pollLast();
+        if (slice == null) {
+            slice = new SlicedCompositeBuffer();
+        } else {
+            slice.retain(1 - slice.referenceCount());
+            slice.trackLeaks();
+        }
+
+        slice.map(source, offset, length);
+        return slice;
+    }
+
+    private void map(final CompositeBuffer source, final long offset, final long length) {
+        this.source = source;
+        this.length = length;
+        order(source.order());
+
+        int count = 0;
+        long position = 0;
+        while (position < length) {
+            final CompositeRegion sourceRegion = source.regionAt(offset + position);
+            final Buffer buffer = sourceRegion.buffer();
+            final long start = sourceRegion.pos(offset + position); // Only the first region may start within its backing buffer
+            final long end = Math.min(sourceRegion.limit(), start + (length - position)); // Only the last region may end within its backing buffer
+            buffer.retain();
+
+            ensureRegionCapacity(count + 1);
+            CompositeRegion region = this.regions[count];
+            if (region == null) {
+                region = region(buffer, position - start);
+                this.regions[count] = region;
+            } else {
+                region.buffer(buffer);
+                region.offset(position - start);
+            }
+            region.limit(end);
+
+            this.index[count] = position;
+            count++;
+            position += end - start;
+        }
+
+        this.regionCount = count;
+        this.size = length;
+        readPosition(0);
+        writePosition(0);
+    }
+
+    public CompositeBuffer source() {
+        return this.source;
+    }
+
+    @Override
+    protected long calculateSize() {
+        return this.length;
+    }
+
+    @Override
+    protected int bufferIdxAt(final long offset) {
+        if (offset < 0 || offset >= this.length) {
+            throw new IndexOutOfBoundsException("The position " + offset + " is out of bounds for a slice of length " + this.length);
+        }
+
+        return super.bufferIdxAt(offset);
+    }
+
+    @Override
+    protected int nextRegionIdx(final int regionIdx) {
+        if (regionIdx + 1 >= this.regionCount) {
+            throw new IndexOutOfBoundsException("The access exceeds the end of the slice of length " + this.length);
+        }
+
+        return regionIdx + 1;
+    }
+
+    @Override
+    public void expand(final Buffer buffer, final int index) {
+        throw new UnsupportedOperationException("Slices cannot be expanded");
+    }
+
+    @Override
+    protected void free() {
+        for (int i = 0; i < this.regionCount; i++) {
+            final CompositeRegion region = this.regions[i];
+            region.buffer().release();
+            region.buffer(null); // The region object is reused, the backing buffer must not be kept alive
+        }
+
+        this.regionCount = 0;
+        this.source.release();
+        this.source = null;
+
+        final ArrayDeque<SlicedCompositeBuffer> recycled = RECYCLED.get();
+        if (recycled.size() < MAX_RECYCLED_SLICES) {
+            recycled.addLast(this);
+        }
+    }
+
+    @Override
+    protected String className() {
+        return "SlicedCompositeBuffer";
+    }
+}
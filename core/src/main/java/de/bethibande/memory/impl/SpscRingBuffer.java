@@ -0,0 +1,212 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+
+/**
+ * A bounded, lock-free ring buffer for handing data from exactly one producer thread to exactly one consumer thread.
+ * It uses the region layout of {@link FastCompositeBuffer}, the number of regions must be a power of two.
+ * <br>
+ * The write position is owned by the producer and the read position by the consumer. Both are stored in separate cache-line-padded cursors.
+ * Data is published by storing the new write position with release semantics after the data has been written and observed
+ * by loading it with acquire semantics before reading. Consumed space is handed back to the producer the same way.
+ * Each side caches the last position it observed of the other side and only reloads it once the cached value no longer suffices,
+ * which keeps the cursors' cache lines from bouncing between the cores on every access.
+ * <br>
+ * Unlike the {@link RingBuffer}, this buffer never expands. The {@code write*} and {@code read*} methods busy-wait until enough space or data is available,
+ * while {@link #tryWrite(byte[], int, int)} and {@link #tryRead(byte[], int, int)} return immediately if that is not the case.
+ * The producer may also check {@link #writable()} and the consumer {@link #readable()} before calling the blocking methods, as the values
+ * can only ever grow due to actions of the other thread.
+ * <br>
+ * The positional {@code get} and {@code set} methods do not synchronize with the other thread.
+ * After writing data using {@code set}, the producer may publish it by advancing the write position using {@link #writePosition(long)}.
+ * As with the {@link RingBuffer}, the read and write-positions are incremented indefinitely and may exceed the capacity of the buffer.
+ */
+public class SpscRingBuffer extends FastCompositeBuffer {
+
+    private static final int SPIN_LIMIT = 128;
+
+    private final PaddedCursor producer = new PaddedCursor(0L);
+    private final PaddedCursor consumer = new PaddedCursor(0L);
+
+    private final int regionMask;
+
+    public SpscRingBuffer(final int bufferCount, final int exponent) {
+        super(bufferCount, exponent);
+
+        this.regionMask = regionMask(bufferCount);
+    }
+
+    public SpscRingBuffer(final Buffer[] buffers, final int exponent) {
+        super(buffers, exponent);
+
+        this.regionMask = regionMask(buffers.length);
+    }
+
+    @Override
+    public long writePosition() {
+        return this.producer.getAcquire();
+    }
+
+    /**
+     * Publishes all bytes up to the given position to the consumer. Must only be called by the producer.
+     */
+    @Override
+    public void writePosition(final long position) {
+        this.producer.setRelease(position);
+    }
+
+    @Override
+    public long readPosition() {
+        return this.consumer.getAcquire();
+    }
+
+    /**
+     * Hands all bytes up to the given position back to the producer. Must only be called by the consumer.
+     */
+    @Override
+    public void readPosition(final long position) {
+        this.consumer.setRelease(position);
+    }
+
+    @Override
+    public long readable() {
+        return writePosition() - readPosition();
+    }
+
+    @Override
+    public long writable() {
+        return capacity() - readable();
+    }
+
+    private boolean hasWritable(final long position, final long bytes) {
+        final long wrapPoint = position + bytes - capacity();
+        if (this.producer.cache() >= wrapPoint) return true;
+
+        final long readPosition = this.consumer.getAcquire();
+        this.producer.cache(readPosition);
+        return readPosition >= wrapPoint;
+    }
+
+    private boolean hasReadable(final long position, final long bytes) {
+        final long required = position + bytes;
+        if (this.consumer.cache() >= required) return true;
+
+        final long writePosition = this.producer.getAcquire();
+        this.consumer.cache(writePosition);
+        return writePosition >= required;
+    }
+
+    private static void idle(final int spins) {
+        if (spins < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    @Override
+    protected long writeIdx(final long bytes) {
+        if (bytes > capacity()) {
+            throw new IllegalArgumentException("Cannot write " + bytes + " bytes to a ring buffer with a capacity of " + capacity());
+        }
+
+        final long position = this.producer.getPlain();
+        int spins = 0;
+        while (!hasWritable(position, bytes)) {
+            idle(spins++);
+        }
+
+        return position;
+    }
+
+    @Override
+    protected long readIdx(final long bytes) {
+        if (bytes > capacity()) {
+            throw new IllegalArgumentException("Cannot read " + bytes + " bytes from a ring buffer with a capacity of " + capacity());
+        }
+
+        final long position = this.consumer.getPlain();
+        int spins = 0;
+        while (!hasReadable(position, bytes)) {
+            idle(spins++);
+        }
+
+        return position;
+    }
+
+    /**
+     * Writes the given bytes if there is enough space available, without waiting for the consumer.
+     *
+     * @return true if the bytes have been written, false if there is not enough space left
+     */
+    public boolean tryWrite(final byte[] bytes) {
+        return tryWrite(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes the given bytes if there is enough space available, without waiting for the consumer.
+     *
+     * @return true if the bytes have been written, false if there is not enough space left
+     */
+    public boolean tryWrite(final byte[] bytes, final int offset, final int length) {
+        final long position = this.producer.getPlain();
+        if (!hasWritable(position, length)) return false;
+
+        set(position, bytes, offset, length);
+        writePosition(position + length);
+        return true;
+    }
+
+    /**
+     * Reads the given number of bytes if they are available, without waiting for the producer.
+     *
+     * @return true if the bytes have been read, false if not enough bytes are available
+     */
+    public boolean tryRead(final byte[] bytes) {
+        return tryRead(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads the given number of bytes if they are available, without waiting for the producer.
+     *
+     * @return true if the bytes have been read, false if not enough bytes are available
+     */
+    public boolean tryRead(final byte[] bytes, final int offset, final int length) {
+        final long position = this.consumer.getPlain();
+        if (!hasReadable(position, length)) return false;
+
+        get(position, bytes, offset, length);
+        readPosition(position + length);
+        return true;
+    }
+
+    @Override
+    public void expand(final Buffer buffer, final int index) {
+        throw new UnsupportedOperationException("SpscRingBuffer cannot be expanded");
+    }
+
+    @Override
+    protected int bufferIdxAt(final long offset) {
+        return (int) (offset >> exponent) & regionMask;
+    }
+
+    @Override
+    public BufferCursor reader() {
+        throw new UnsupportedOperationException("SpscRingBuffer does not support cursors");
+    }
+
+    @Override
+    public BufferCursor writer() {
+        throw new UnsupportedOperationException("SpscRingBuffer does not support cursors");
+    }
+
+    @Override
+    protected int nextRegionIdx(final int regionIdx) {
+        return (regionIdx + 1) & regionMask;
+    }
+
+    @Override
+    protected String className() {
+        return "SpscRingBuffer";
+    }
+}
@@ -0,0 +1,59 @@
+package de.bethibande.memory.impl;
+
+/**
+ * Helpers for encoding UTF-8 one code point at a time. Encoded code points are packed into an int in little-endian byte order,
+ * so the first byte to write is stored in the least significant bits.
+ * <br>
+ * This class is for internal use only.
+ */
+final class Utf8 {
+
+    static final char REPLACEMENT = '?';
+
+    private Utf8() {
+    }
+
+    /**
+     * @return the code point starting at the given index or {@link #REPLACEMENT} if the char is an unpaired surrogate
+     */
+    static int codePointAt(final CharSequence chars, final int index, final int end) {
+        final char c = chars.charAt(index);
+        if (!Character.isSurrogate(c)) return c;
+
+        if (Character.isHighSurrogate(c) && index + 1 < end) {
+            final char low = chars.charAt(index + 1);
+            if (Character.isLowSurrogate(low)) return Character.toCodePoint(c, low);
+        }
+
+        return REPLACEMENT;
+    }
+
+    static int charCount(final int codePoint) {
+        return codePoint >= 0x10000 ? 2 : 1;
+    }
+
+    static int length(final int codePoint) {
+        if (codePoint < 0x80) return 1;
+        if (codePoint < 0x800) return 2;
+        if (codePoint < 0x10000) return 3;
+        return 4;
+    }
+
+    static int encode(final int codePoint) {
+        if (codePoint < 0x80) return codePoint;
+        if (codePoint < 0x800) {
+            return (0xC0 | codePoint >>> 6)
+                    | (0x80 | codePoint & 0x3F) << 8;
+        }
+        if (codePoint < 0x10000) {
+            return (0xE0 | codePoint >>> 12)
+                    | (0x80 | codePoint >>> 6 & 0x3F) << 8
+                    | (0x80 | codePoint & 0x3F) << 16;
+        }
+        return (0xF0 | codePoint >>> 18)
+                | (0x80 | codePoint >>> 12 & 0x3F) << 8
+                | (0x80 | codePoint >>> 6 & 0x3F) << 16
+                | (0x80 | codePoint & 0x3F) << 24;
+    }
+
+}
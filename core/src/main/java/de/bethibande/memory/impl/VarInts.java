@@ -0,0 +1,46 @@
+package de.bethibande.memory.impl;
+
+/**
+ * Branch-free helpers for LEB128 variable-length integers, decoding and encoding up to eight bytes at a time.
+ * Words must be loaded and stored in little-endian byte order, so the first byte of the integer maps to the least significant bits of the word.
+ * <br>
+ * This class is for internal use only.
+ */
+final class VarInts {
+
+    static final int MAX_LENGTH = 10;
+
+    private static final long PAYLOAD_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long CONTINUATION_BITS = 0x8080808080808080L;
+
+    private VarInts() {
+    }
+
+    /**
+     * @return the length of the integer starting at the first byte of the word or 0 if it does not end within the word
+     */
+    static int length(final long word) {
+        final long terminators = ~word & CONTINUATION_BITS;
+        if (terminators == 0) return 0;
+
+        return (Long.numberOfTrailingZeros(terminators) + 1) >>> 3;
+    }
+
+    /**
+     * Decodes the integer starting at the first byte of the word. The integer must end within the word, see {@link #length(long)}.
+     */
+    static long decode(final long word) {
+        final long terminators = ~word & CONTINUATION_BITS;
+        final long mask = terminators ^ (terminators - 1); // All bits up to and including the first terminator
+        return Long.compress(word & mask, PAYLOAD_BITS);
+    }
+
+    /**
+     * Encodes a value of up to 56 bits into the lowest {@code length} bytes of a word.
+     */
+    static long encode(final long value, final int length) {
+        final long continuation = CONTINUATION_BITS & ((1L << ((length - 1) << 3)) - 1);
+        return Long.expand(value, PAYLOAD_BITS) | continuation;
+    }
+
+}
@@ -0,0 +1,73 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArenaAllocatorTest {
+
+    @Test
+    public void testCarveSlices() {
+        final ArenaAllocator allocator = Allocator.arena(64);
+
+        final Buffer a = allocator.allocate(8);
+        final Buffer b = allocator.allocate(8);
+
+        assertEquals(8, a.capacity());
+        assertEquals(1, allocator.activeChunks());
+
+        a.write(1L);
+        b.write(2L);
+        assertEquals(1L, a.readLong());
+        assertEquals(2L, b.readLong());
+    }
+
+    @Test
+    public void testCloseChunkOnLastRelease() {
+        final ArenaAllocator allocator = Allocator.arena(64);
+
+        final Buffer a = allocator.allocate(32);
+        final Buffer b = allocator.allocate(32);
+        final Buffer c = allocator.allocate(32); // Does not fit into the first chunk
+
+        assertEquals(2, allocator.activeChunks());
+
+        a.release();
+        assertEquals(2, allocator.activeChunks());
+
+        b.release();
+        assertEquals(1, allocator.activeChunks());
+        assertThrows(IllegalStateException.class, () -> b.getLong(0));
+
+        c.release();
+        assertEquals(1, allocator.activeChunks());
+
+        allocator.close();
+        assertEquals(0, allocator.activeChunks());
+    }
+
+    @Test
+    public void testDedicatedChunk() {
+        final ArenaAllocator allocator = Allocator.arena(64);
+
+        final Buffer buffer = allocator.allocate(128);
+        assertEquals(128, buffer.capacity());
+        assertEquals(1, allocator.activeChunks());
+
+        buffer.release();
+        assertEquals(0, allocator.activeChunks());
+    }
+
+    @Test
+    public void testSliceRetainsParent() {
+        final Buffer buffer = Buffer.direct(16);
+        final Buffer slice = buffer.slice(0, 8);
+
+        assertEquals(2, buffer.referenceCount());
+        slice.release();
+        assertEquals(1, buffer.referenceCount());
+    }
+
+}
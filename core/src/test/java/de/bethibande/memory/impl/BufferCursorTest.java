@@ -0,0 +1,135 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BufferCursorTest {
+
+    private static void writeValues(final BufferCursor writer, final int count) {
+        for (int i = 0; i < count; i++) {
+            writer.write((byte) i);
+            writer.write((short) i);
+            writer.write(i);
+            writer.write((long) i);
+            writer.write((double) i);
+        }
+    }
+
+    private static void readValues(final BufferCursor reader, final int count) {
+        for (int i = 0; i < count; i++) {
+            assertEquals((byte) i, reader.readByte());
+            assertEquals((short) i, reader.readShort());
+            assertEquals(i, reader.readInt());
+            assertEquals(i, reader.readLong());
+            assertEquals(i, reader.readDouble());
+        }
+    }
+
+    @Test
+    public void testComposite() {
+        final CompositeBuffer buffer = Buffer.composite(Buffer.direct(7), Buffer.direct(3), Buffer.direct(64), Buffer.direct(200));
+
+        final BufferCursor writer = buffer.writer();
+        writeValues(writer, 10); // 23 bytes each, straddling every boundary
+        assertEquals(0, buffer.writePosition());
+        writer.commit();
+        assertEquals(230, buffer.writePosition());
+
+        final BufferCursor reader = buffer.reader();
+        readValues(reader, 10);
+        reader.commit();
+        assertEquals(230, buffer.readPosition());
+
+        buffer.readPosition(0);
+        for (int i = 0; i < 10; i++) { // Cursors and the buffer agree on the layout
+            assertEquals((byte) i, buffer.readByte());
+            assertEquals((short) i, buffer.readShort());
+            assertEquals(i, buffer.readInt());
+            assertEquals(i, buffer.readLong());
+            assertEquals(i, buffer.readDouble());
+        }
+    }
+
+    @Test
+    public void testBytes() {
+        final FastCompositeBuffer buffer = Buffer.fastComposite(4, 4);
+        final byte[] bytes = new byte[40];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        final BufferCursor writer = buffer.writer();
+        writer.write((byte) -1);
+        writer.write(bytes, 0, 10); // Fits into the first region
+        writer.write(bytes, 10, 30); // Spans three regions
+        writer.commit();
+
+        final BufferCursor reader = buffer.reader();
+        assertEquals((byte) -1, reader.readByte());
+        final byte[] read = new byte[40];
+        reader.read(read);
+        assertArrayEquals(bytes, read);
+    }
+
+    @Test
+    public void testRingBufferExpandsAndWraps() {
+        final RingBuffer buffer = Buffer.ring(4, 2);
+        final BufferCursor writer = buffer.writer();
+        writeValues(writer, 3); // Expands the buffer as 69 bytes exceed the initial capacity of 32 bytes
+        writer.commit();
+
+        assertTrue(buffer.capacity() >= 69);
+        readValues(buffer.reader(), 3);
+
+        final RingBuffer ring = Buffer.ring(4, 2);
+        ring.writePosition(28);
+        ring.readPosition(28);
+
+        final BufferCursor wrapping = ring.writer();
+        wrapping.write(0x0102030405060708L); // Wraps around to the first region
+        wrapping.write(42L);
+        wrapping.commit();
+
+        assertEquals(2, ring.regions().length);
+        assertEquals(0x0102030405060708L, ring.getLong(28));
+        assertEquals(42L, ring.getLong(36));
+
+        final BufferCursor filling = ring.writer();
+        filling.write(new byte[16]); // Fills the ring up to the read position
+        filling.commit();
+        assertEquals(2, ring.regions().length);
+        assertEquals(0x0102030405060708L, ring.readLong());
+        assertEquals(42L, ring.readLong());
+    }
+
+    @Test
+    public void testExpandingBuffer() {
+        final ExpandingBuffer buffer = Buffer.expanding(4);
+        final BufferCursor writer = buffer.writer();
+        writeValues(writer, 20);
+        writer.commit();
+
+        assertEquals(460, buffer.writePosition());
+        readValues(buffer.reader(), 20);
+    }
+
+    @Test
+    public void testPositionAndReset() {
+        final CompositeBuffer buffer = Buffer.composite(Buffer.direct(8), Buffer.direct(8));
+        buffer.set(12, 7);
+
+        final BufferCursor reader = buffer.reader();
+        reader.position(12);
+        assertEquals(7, reader.readInt());
+
+        buffer.readPosition(12);
+        reader.reset();
+        assertEquals(12, reader.position());
+        assertEquals(7, reader.readInt());
+
+        assertThrows(UnsupportedOperationException.class, () -> Buffer.spscRing(4, 2).writer());
+    }
+
+}
@@ -0,0 +1,97 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BufferMetricsTest {
+
+    @Test
+    public void testPooledAllocator() throws Exception {
+        final BufferMetrics metrics = BufferMetrics.POOLED;
+        final long hits = metrics.getPoolHits();
+        final long misses = metrics.getPoolMisses();
+        final long recycles = metrics.getRecycles();
+        final long outstanding = metrics.getBytesOutstanding();
+
+        final PooledAllocator allocator = Allocator.pooled(64);
+        final Buffer first = allocator.allocate(64);
+        final Buffer second = allocator.allocate(64);
+        first.release();
+        allocator.allocate(64).release();
+        second.release();
+
+        assertEquals(hits + 1, metrics.getPoolHits());
+        assertEquals(misses + 2, metrics.getPoolMisses());
+        assertEquals(recycles + 3, metrics.getRecycles());
+        assertEquals(outstanding + 128, metrics.getBytesOutstanding()); // Idle buffers are still held by the pool
+        assertTrue(metrics.getHighWaterMark() >= 128);
+
+        final Object registered = ManagementFactory.getPlatformMBeanServer().getAttribute(BufferMetrics.objectName("pooled"), "PoolHits");
+        assertEquals(metrics.getPoolHits(), registered);
+    }
+
+    @Test
+    public void testDirectAllocator() {
+        final long outstanding = BufferMetrics.DIRECT.getBytesOutstanding();
+        final Buffer buffer = Allocator.direct().allocate(32);
+        assertEquals(outstanding + 32, BufferMetrics.DIRECT.getBytesOutstanding());
+
+        buffer.release();
+        assertEquals(outstanding, BufferMetrics.DIRECT.getBytesOutstanding());
+
+        final long nioOutstanding = BufferMetrics.DIRECT_NIO.getBytesOutstanding();
+        final Buffer confined = Allocator.confinedDirectNio().allocate(16);
+        assertEquals(nioOutstanding + 16, BufferMetrics.DIRECT_NIO.getBytesOutstanding());
+
+        confined.release();
+        assertEquals(nioOutstanding, BufferMetrics.DIRECT_NIO.getBytesOutstanding());
+    }
+
+    @Test
+    public void testExpansionAndCompactionEvents() throws Exception {
+        final long expansions = BufferMetrics.COMPOSITE.getExpansions();
+        final long compactions = BufferMetrics.COMPOSITE.getCompactions();
+        final Path file = Files.createTempFile("metrics", ".jfr");
+
+        try (final Recording recording = new Recording()) {
+            recording.enable(BufferMetrics.ExpansionEvent.class);
+            recording.enable(BufferMetrics.CompactionEvent.class);
+            recording.start();
+
+            final ExpandingBuffer buffer = Buffer.expanding(4);
+            buffer.write(new byte[40]); // Expands by two regions
+            buffer.read(new byte[32]);
+            buffer.compact();
+            buffer.release();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertEquals(expansions + 2, BufferMetrics.COMPOSITE.getExpansions());
+        assertEquals(compactions + 1, BufferMetrics.COMPOSITE.getCompactions());
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals(2, events.stream().filter(event -> event.getEventType().getName().equals("de.bethibande.memory.Expansion")).count());
+        final RecordedEvent compaction = events.stream()
+                .filter(event -> event.getEventType().getName().equals("de.bethibande.memory.Compaction"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(32, compaction.getLong("released"));
+        assertEquals(16, compaction.getLong("capacity"));
+    }
+
+}
@@ -0,0 +1,95 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkArrayTest {
+
+    private static void testRoundTrip(final Buffer buffer) {
+        final long[] longs = { 1L, -2L, Long.MAX_VALUE, 4L, 5L };
+        final int[] ints = { 1, -2, Integer.MIN_VALUE };
+        final short[] shorts = { 1, -2, Short.MAX_VALUE };
+        final char[] chars = { 'a', '\u00DF', '\u20AC' };
+        final float[] floats = { 1.5f, -2.25f };
+        final double[] doubles = { Math.PI, -Math.E };
+
+        buffer.write(1); // Misalign all arrays by 1 byte
+        buffer.write((byte) 0);
+        buffer.write(longs);
+        buffer.write(ints);
+        buffer.write(shorts);
+        buffer.write(chars);
+        buffer.write(floats);
+        buffer.write(doubles);
+
+        assertEquals(5 + 40 + 12 + 6 + 6 + 8 + 16, buffer.writePosition());
+        assertEquals(longs[2], buffer.getLong(5 + 16));
+        assertEquals(ints[2], buffer.getInt(45 + 8));
+
+        buffer.readPosition(5);
+        final long[] readLongs = new long[longs.length + 2];
+        buffer.read(readLongs, 1, longs.length);
+        assertArrayEquals(longs, Arrays.copyOfRange(readLongs, 1, longs.length + 1));
+
+        final int[] readInts = new int[ints.length];
+        buffer.read(readInts);
+        assertArrayEquals(ints, readInts);
+
+        final short[] readShorts = new short[shorts.length];
+        buffer.read(readShorts);
+        assertArrayEquals(shorts, readShorts);
+
+        final char[] readChars = new char[chars.length];
+        buffer.read(readChars);
+        assertArrayEquals(chars, readChars);
+
+        final float[] readFloats = new float[floats.length];
+        buffer.read(readFloats);
+        assertArrayEquals(floats, readFloats);
+
+        final double[] readDoubles = new double[doubles.length];
+        buffer.read(readDoubles);
+        assertArrayEquals(doubles, readDoubles);
+        assertEquals(0, buffer.readable());
+    }
+
+    @Test
+    public void testDefaultBuffer() {
+        testRoundTrip(Buffer.direct(128));
+    }
+
+    @Test
+    public void testJavaNioBuffer() {
+        testRoundTrip(Buffer.directNio(128));
+    }
+
+    @Test
+    public void testFastCompositeBuffer() {
+        testRoundTrip(Buffer.fastComposite(3, 16)); // Most elements straddle regions or are split at region boundaries
+    }
+
+    @Test
+    public void testCompositeBuffer() {
+        testRoundTrip(Buffer.composite(Buffer.directNio(7), Buffer.directNio(50), Buffer.directNio(71)));
+    }
+
+    @Test
+    public void testExpandingBuffer() {
+        testRoundTrip(Buffer.expanding(4));
+    }
+
+    @Test
+    public void testTinyRegions() {
+        final Buffer[] regions = new Buffer[36];
+        for (int i = 0; i < regions.length; i++) {
+            regions[i] = Buffer.directNio(3); // Longs and doubles span up to four regions
+        }
+
+        testRoundTrip(Buffer.composite(regions));
+    }
+
+}
@@ -0,0 +1,114 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ByteOrderTest {
+
+    private static final long VALUE = 0x0102030405060708L;
+
+    private static void testStraddle(final Buffer buffer, final ByteOrder order) {
+        assertEquals(order, buffer.order());
+
+        final Buffer expected = Buffer.directNio(8, order);
+        expected.set(0, VALUE);
+
+        for (int position = 0; position <= 8; position++) { // Covers every split of the value across the region boundary at 8
+            buffer.set(position, VALUE);
+            for (int i = 0; i < 8; i++) {
+                assertEquals(expected.getByte(i), buffer.getByte(position + i));
+            }
+
+            assertEquals(VALUE, buffer.getLong(position));
+            assertEquals((int) (order == ByteOrder.BIG_ENDIAN ? VALUE >>> 32 : VALUE), buffer.getInt(position));
+            assertEquals((short) (order == ByteOrder.BIG_ENDIAN ? VALUE >>> 48 : VALUE), buffer.getShort(position));
+        }
+
+        buffer.set(6, Math.PI);
+        assertEquals(Math.PI, buffer.getDouble(6));
+        buffer.set(7, 1.5f);
+        assertEquals(1.5f, buffer.getFloat(7));
+        buffer.set(7, '€');
+        assertEquals('€', buffer.getChar(7));
+    }
+
+    @Test
+    public void testDefaultBuffer() {
+        for (final ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+            final Buffer buffer = Buffer.direct(16, order);
+            buffer.set(3, VALUE);
+
+            final Buffer nio = Buffer.directNio(16, order);
+            nio.set(3, VALUE);
+
+            for (int i = 0; i < 16; i++) {
+                assertEquals(nio.getByte(i), buffer.getByte(i));
+            }
+
+            final Buffer slice = buffer.slice(3, 8);
+            assertEquals(order, slice.order());
+            assertEquals(VALUE, slice.getLong(0));
+            slice.release();
+
+            final long[] longs = new long[1];
+            buffer.get(3, longs);
+            assertEquals(VALUE, longs[0]);
+        }
+    }
+
+    @Test
+    public void testComposite() {
+        for (final ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+            testStraddle(Buffer.composite(Buffer.direct(8, order), Buffer.direct(8, order)), order);
+            testStraddle(Buffer.composite(Buffer.directNio(8, order), Buffer.directNio(8, order)), order);
+            testStraddle(Buffer.fastComposite(3, Buffer.direct(8, order), Buffer.direct(8, order)), order);
+            testStraddle(new FastCompositeBuffer(2, 3, order), order);
+        }
+    }
+
+    @Test
+    public void testSliceKeepsOrder() {
+        final Buffer buffer = Buffer.directNio(16, ByteOrder.LITTLE_ENDIAN);
+        final Buffer slice = buffer.slice(4, 8);
+        slice.set(0, VALUE);
+
+        assertEquals(ByteOrder.LITTLE_ENDIAN, slice.order());
+        assertEquals(VALUE, buffer.getLong(4));
+        assertEquals((byte) 0x08, buffer.getByte(4));
+        slice.release();
+    }
+
+    @Test
+    public void testExpandKeepsOrder() {
+        final RingBuffer buffer = Buffer.ring(3, 1, ByteOrder.LITTLE_ENDIAN);
+        buffer.write(1L);
+        buffer.write(VALUE);
+
+        assertTrue(buffer.regions().length > 1);
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.regions()[1].buffer().order());
+        assertEquals(VALUE, buffer.getLong(8));
+
+        final ExpandingBuffer expanding = new ExpandingBuffer(1, 3, Allocator.direct(ByteOrder.LITTLE_ENDIAN));
+        expanding.write((byte) 1);
+        expanding.write(VALUE); // Straddles the initial and the expanded region
+        assertEquals(VALUE, expanding.getLong(1));
+    }
+
+    @Test
+    public void testMismatchedOrder() {
+        final Buffer big = Buffer.directNio(8, ByteOrder.BIG_ENDIAN);
+        final Buffer little = Buffer.directNio(8, ByteOrder.LITTLE_ENDIAN);
+
+        assertThrows(IllegalArgumentException.class, () -> Buffer.composite(big, little));
+
+        final CompositeBuffer composite = Buffer.composite(big);
+        assertThrows(IllegalArgumentException.class, () -> composite.expand(little, 1));
+    }
+
+}
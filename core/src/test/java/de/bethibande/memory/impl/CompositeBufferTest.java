@@ -1,9 +1,10 @@
 package de.bethibande.memory.impl;
 
+import de.bethibande.memory.Allocator;
 import de.bethibande.memory.Buffer;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class CompositeBufferTest {
 
@@ -26,6 +27,38 @@ public class CompositeBufferTest {
         assertEquals(value, composite.readLong());
     }
 
+    @Test
+    public void testUnalignedAccess() {
+        final Buffer composite = Buffer.composite(Buffer.direct(16), Buffer.direct(16));
+
+        composite.set(4, 1L);
+        composite.set(20, 2L);
+
+        assertEquals(1L, composite.getLong(4));
+        assertEquals(2L, composite.getLong(20));
+    }
+
+    @Test
+    public void testBufferIdxWithinRegion() {
+        final Buffer first = Buffer.direct(3);
+        final Buffer second = Buffer.direct(5);
+        final Buffer third = Buffer.direct(7);
+        final CompositeBuffer composite = Buffer.composite(first, second, third);
+
+        for (int i = 0; i < composite.capacity(); i++) {
+            final int expected = i < 3 ? 0 : i < 8 ? 1 : 2;
+            assertEquals(expected, composite.bufferIdxAt(i), "position " + i);
+
+            composite.set(i, (byte) i);
+        }
+
+        assertEquals(2, first.getByte(2));
+        assertEquals(3, second.getByte(0));
+        assertEquals(7, second.getByte(4));
+        assertEquals(8, third.getByte(0));
+        assertEquals(14, third.getByte(6));
+    }
+
     @Test
     public void testExpand() {
         final CompositeBuffer buffer = Buffer.composite(Buffer.direct(4));
@@ -46,4 +79,146 @@ public class CompositeBufferTest {
         assertEquals(4, composite.readPosition());
     }
 
+    @Test
+    public void testStraddleMultipleRegions() {
+        final Buffer composite = Buffer.composite(Buffer.direct(3), Buffer.direct(2), Buffer.direct(3), Buffer.direct(8));
+        final long value = 0x0102030405060708L;
+
+        composite.set(1, value); // Spans all of the first three regions and the start of the fourth
+        assertEquals(value, composite.getLong(1));
+        composite.set(4, 0x0A0B0C0D);
+        assertEquals(0x0A0B0C0D, composite.getInt(4));
+
+        final byte[] bytes = new byte[10];
+        composite.get(2, bytes, 1, 8);
+        for (int i = 0; i < 8; i++) {
+            assertEquals(composite.getByte(2 + i), bytes[1 + i]);
+        }
+
+        composite.set(0, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 });
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i + 1, composite.getByte(i));
+        }
+    }
+
+    @Test
+    public void testExpandManyRegions() {
+        final CompositeBuffer buffer = Buffer.composite(Buffer.direct(4));
+        for (int i = 1; i < 100; i++) {
+            buffer.expand(Buffer.direct(4), buffer.regionCount());
+        }
+
+        assertEquals(100, buffer.regionCount());
+        assertEquals(400, buffer.capacity());
+
+        for (int i = 0; i < 100; i++) {
+            buffer.write(i);
+        }
+
+        buffer.expand(Buffer.direct(8), 50); // Only the offsets of the following regions change
+        assertEquals(101, buffer.regionCount());
+        assertEquals(408, buffer.capacity());
+        assertEquals(49, buffer.getInt(196));
+        assertEquals(50, buffer.getInt(208));
+        assertEquals(99, buffer.getInt(404));
+
+        final CompositeRegion[] regions = buffer.regions();
+        assertEquals(101, regions.length);
+        assertEquals(208, regions[51].offset());
+    }
+
+    @Test
+    public void testSlice() {
+        final Buffer a = Buffer.direct(8);
+        final Buffer b = Buffer.direct(8);
+        final Buffer c = Buffer.direct(8);
+        final CompositeBuffer buffer = Buffer.composite(a, b, c);
+        for (int i = 0; i < 6; i++) {
+            buffer.write(i);
+        }
+
+        final Buffer slice = buffer.slice(2, 20); // Starts within a and ends within c
+        assertEquals(20, slice.capacity());
+        assertEquals(3, ((CompositeBuffer) slice).regionCount());
+        assertEquals(2, a.referenceCount());
+        assertEquals(2, buffer.referenceCount());
+
+        assertEquals(buffer.getInt(4), slice.getInt(2));
+        assertEquals(buffer.getLong(6), slice.getLong(4)); // Straddles a and b
+        slice.set(10, 42);
+        assertEquals(42, buffer.getInt(12));
+
+        final Buffer nested = slice.slice(6, 8);
+        assertEquals(buffer.getLong(8), nested.getLong(0));
+        nested.release();
+
+        slice.release();
+        assertEquals(1, a.referenceCount());
+        assertEquals(1, c.referenceCount());
+        assertEquals(1, buffer.referenceCount());
+
+        final CompositeBuffer unexpandable = (CompositeBuffer) buffer.slice(0, 8);
+        assertThrows(UnsupportedOperationException.class, () -> unexpandable.expand(Buffer.direct(8), 1));
+        unexpandable.release();
+    }
+
+    @Test
+    public void testSliceBounds() {
+        final Buffer backing = Buffer.direct(64);
+        backing.set(0, -1L);
+        final Buffer slice = Buffer.composite(backing).slice(0, 4); // Ends within its only region
+
+        assertEquals(-1, slice.getInt(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.getLong(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.set(2, 1L));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.getByte(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.get(0, new byte[8]));
+        assertEquals(-1L, backing.getLong(0));
+        slice.release();
+
+        final Buffer spanning = Buffer.composite(Buffer.direct(8), Buffer.direct(8)).slice(6, 6); // Ends within the second region
+        spanning.set(2, 7);
+        assertEquals(7, spanning.getInt(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> spanning.getLong(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> spanning.set(4, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> spanning.set(0, new long[] { 1L }, 0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> spanning.indexOf(6, 8, (byte) 0));
+        spanning.release();
+    }
+
+    @Test
+    public void testSliceIsRecycled() {
+        final FastCompositeBuffer buffer = Buffer.fastComposite(4, 4);
+        buffer.set(20, 7L);
+
+        final Buffer slice = buffer.slice(20, 8); // Fits into a single region
+        assertEquals(1, ((CompositeBuffer) slice).regionCount());
+        assertEquals(7L, slice.getLong(0));
+        slice.writePosition(8);
+        slice.release();
+
+        final Buffer recycled = buffer.slice(16, 16);
+        assertSame(slice, recycled);
+        assertEquals(0, recycled.writePosition());
+        assertEquals(1, recycled.referenceCount());
+        assertEquals(7L, recycled.getLong(4));
+        recycled.release();
+    }
+
+    @Test
+    public void testSliceSurvivesCompaction() {
+        final ExpandingBuffer buffer = new ExpandingBuffer(1, 3, Allocator.pooled(8));
+        buffer.write(1L);
+        buffer.write(2L);
+
+        final Buffer slice = buffer.slice(0, 16);
+        buffer.readLong();
+        buffer.compact(); // Releases the first region, which is still retained by the slice
+
+        buffer.write(3L); // Must not reuse the region held by the slice
+        assertEquals(1L, slice.getLong(0));
+        assertEquals(2L, slice.getLong(8));
+        slice.release();
+    }
+
 }
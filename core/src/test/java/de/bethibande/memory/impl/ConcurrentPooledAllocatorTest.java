@@ -0,0 +1,141 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentPooledAllocatorTest {
+
+    @Test
+    public void testReuse() {
+        final ConcurrentPooledAllocator allocator = Allocator.concurrentPooled(8);
+
+        final Buffer buffer = allocator.allocate(8);
+        buffer.write(1L);
+        buffer.release();
+
+        assertEquals(1, allocator.poolSize());
+        assertEquals(1, allocator.queueSize());
+
+        final Buffer reused = allocator.allocate(-1);
+        assertSame(buffer, reused);
+        assertEquals(1, reused.referenceCount());
+        assertEquals(0, reused.writePosition());
+        assertEquals(0, allocator.queueSize());
+    }
+
+    @Test
+    public void testInvalidSize() {
+        final ConcurrentPooledAllocator allocator = Allocator.concurrentPooled(8);
+
+        assertThrows(IllegalArgumentException.class, () -> allocator.allocate(16));
+    }
+
+    @Test
+    public void testMagazineOverflow() {
+        final ConcurrentPooledAllocator allocator = new ConcurrentPooledAllocator(8, 2);
+
+        final Buffer[] buffers = new Buffer[5];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = allocator.allocate(8);
+        }
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i].release();
+        }
+
+        assertEquals(5, allocator.poolSize());
+        assertEquals(5, allocator.queueSize());
+
+        for (int i = 0; i < buffers.length; i++) {
+            allocator.allocate(8);
+        }
+
+        assertEquals(5, allocator.poolSize());
+        assertEquals(0, allocator.queueSize());
+    }
+
+    @Test
+    public void testCrossThreadRelease() throws InterruptedException {
+        final ConcurrentPooledAllocator allocator = Allocator.concurrentPooled(8);
+        final Buffer buffer = allocator.allocate(8);
+
+        final Thread thread = new Thread(buffer::release);
+        thread.start();
+        thread.join();
+
+        assertEquals(1, allocator.queueSize());
+        assertSame(buffer, allocator.allocate(8));
+        assertEquals(1, allocator.poolSize());
+    }
+
+    @Test
+    public void testReleaseAfterOwnerExit() throws InterruptedException {
+        final ConcurrentPooledAllocator allocator = new ConcurrentPooledAllocator(8, 2);
+        final Buffer[] buffers = new Buffer[4];
+
+        final Thread thread = new Thread(() -> {
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = allocator.allocate(8);
+            }
+            // Leaves two buffers on the shared stack and one in the magazine of the exiting thread.
+            for (int i = 0; i < 3; i++) {
+                buffers[i].release();
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(3, allocator.queueSize());
+
+        buffers[3].release();
+        assertEquals(4, allocator.queueSize());
+
+        for (int i = 0; i < buffers.length; i++) {
+            allocator.allocate(8);
+        }
+
+        assertEquals(4, allocator.poolSize());
+        assertEquals(0, allocator.queueSize());
+    }
+
+    @Test
+    public void testProducerConsumer() throws InterruptedException {
+        final ConcurrentPooledAllocator allocator = new ConcurrentPooledAllocator(8, 4);
+        final BlockingQueue<Buffer> queue = new ArrayBlockingQueue<>(16);
+        final AtomicInteger mismatches = new AtomicInteger();
+        final int iterations = 100_000;
+
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < iterations; i++) {
+                final Buffer buffer = allocator.allocate(8);
+                buffer.write((long) i);
+                while (!queue.offer(buffer)) Thread.yield();
+            }
+        });
+        final Thread consumer = new Thread(() -> {
+            for (int i = 0; i < iterations; i++) {
+                Buffer buffer;
+                while ((buffer = queue.poll()) == null) Thread.yield();
+
+                if (buffer.readLong() != i) mismatches.incrementAndGet();
+                buffer.release();
+            }
+        });
+
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+
+        assertEquals(0, mismatches.get());
+        assertEquals(allocator.poolSize(), allocator.queueSize());
+        assertTrue(allocator.poolSize() < iterations);
+    }
+
+}
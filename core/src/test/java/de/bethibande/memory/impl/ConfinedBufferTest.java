@@ -0,0 +1,64 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfinedBufferTest {
+
+    @Test
+    public void testPositions() {
+        final Buffer buffer = Buffer.confinedDirect(16);
+
+        buffer.write(1L);
+        assertEquals(8, buffer.writePosition());
+        assertEquals(1L, buffer.readLong());
+        assertEquals(8, buffer.readPosition());
+    }
+
+    @Test
+    public void testReferenceCount() {
+        final Buffer parent = Buffer.confinedDirectNio(16);
+        final Buffer slice = parent.slice(0, 8);
+
+        assertEquals(2, parent.referenceCount());
+        slice.release();
+        assertEquals(1, parent.referenceCount());
+    }
+
+    @Test
+    public void testCompositeRelease() {
+        final Buffer a = Buffer.confinedDirectNio(4);
+        final Buffer b = Buffer.confinedDirectNio(4);
+        final Buffer composite = Buffer.confinedComposite(a, b);
+
+        composite.write(-1234L);
+        assertEquals(-1234L, composite.readLong());
+
+        composite.retain(2);
+        assertEquals(3, composite.referenceCount());
+        composite.release();
+        composite.release();
+        composite.release();
+
+        assertEquals(0, a.referenceCount());
+        assertEquals(0, b.referenceCount());
+    }
+
+    @Test
+    public void testFastCompositeExpand() {
+        final FastCompositeBuffer buffer = Buffer.confinedFastComposite(3, 1);
+
+        assertInstanceOf(ConfinedNioBuffer.class, buffer.expand());
+        assertEquals(16, buffer.capacity());
+    }
+
+    @Test
+    public void testAllocator() {
+        assertInstanceOf(ConfinedDefaultBuffer.class, Allocator.confinedDirect().allocate(8));
+        assertInstanceOf(ConfinedNioBuffer.class, Allocator.confinedDirectNio().allocate(8));
+    }
+
+}
@@ -3,7 +3,7 @@ package de.bethibande.memory.impl;
 import de.bethibande.memory.Allocator;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class ExpandingBufferTest {
 
@@ -58,4 +58,78 @@ public class ExpandingBufferTest {
         assertEquals(0, buffer.readPosition());
     }
 
+    @Test
+    public void testCompactAfterGrowth() {
+        final PooledAllocator allocator = Allocator.pooled(1 << 3);
+        final ExpandingBuffer buffer = new ExpandingBuffer(1, 3, allocator);
+        for (long i = 0; i < 100; i++) {
+            buffer.write(i);
+        }
+
+        assertEquals(100, buffer.regionCount());
+        buffer.readPosition(90 * 8);
+        buffer.compact();
+
+        assertEquals(10, buffer.regionCount());
+        assertEquals(80, buffer.capacity());
+        assertEquals(90L, buffer.readLong());
+
+        buffer.write(100L); // Appends after compacting reuse the region array
+        assertEquals(11, buffer.regionCount());
+        assertEquals(100L, buffer.getLong(80));
+    }
+
+    @Test
+    public void testCompactWrapsAround() {
+        final PooledAllocator allocator = Allocator.pooled(1 << 3);
+        final ExpandingBuffer buffer = new ExpandingBuffer(4, 3, allocator);
+
+        long read = 0;
+        for (long i = 0; i < 1000; i++) {
+            buffer.write(i);
+            buffer.write(i);
+            assertEquals(read++ >> 1, buffer.readLong()); // Every value is written twice and read once
+
+            if (i % 3 == 0) {
+                buffer.compact();
+            }
+        }
+
+        for (long i = read; i < 2000; i++) {
+            assertEquals(i >> 1, buffer.getLong(buffer.readPosition() + ((i - read) << 3)));
+        }
+        assertEquals(1000, buffer.readable() >> 3);
+        assertEquals(buffer.regionCount(), buffer.regions().length);
+        assertEquals(allocator.poolSize(), allocator.queueSize() + buffer.regionCount());
+    }
+
+    @Test
+    public void testStraddleAfterCompact() {
+        final ExpandingBuffer buffer = new ExpandingBuffer(2, 3, Allocator.direct());
+        for (int i = 0; i < 10; i++) {
+            buffer.write((byte) 0);
+            buffer.write(0x0102030405060708L); // Straddles every region boundary
+            buffer.readByte();
+            assertEquals(0x0102030405060708L, buffer.readLong());
+            buffer.compact();
+        }
+    }
+
+    @Test
+    public void testAutoCompaction() {
+        final PooledAllocator allocator = Allocator.pooled(1 << 4);
+        final ExpandingBuffer buffer = new ExpandingBuffer(1, 4, allocator);
+        assertThrows(IllegalArgumentException.class, () -> buffer.compactionWatermark(8));
+        buffer.compactionWatermark(64);
+
+        for (long i = 0; i < 10_000; i++) {
+            buffer.write(i);
+            assertEquals(i, buffer.readLong());
+
+            assertTrue(buffer.readPosition() < 64);
+            assertTrue(buffer.capacity() <= 64 + 16);
+        }
+
+        assertTrue(allocator.poolSize() <= 6);
+    }
 }
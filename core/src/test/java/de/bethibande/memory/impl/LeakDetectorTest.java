@@ -0,0 +1,83 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeakDetectorTest {
+
+    private static void awaitLeaks(final LeakDetector detector, final long leaks) throws InterruptedException {
+        for (int i = 0; i < 500 && detector.leaks() < leaks; i++) { // The cleaner reports leaks asynchronously after a collection
+            System.gc();
+            Thread.sleep(10);
+        }
+    }
+
+    private static void leak(final LeakDetector detector) {
+        final Buffer buffer = Buffer.directNio(8);
+        final LeakDetector.Tracker tracker = detector.track(buffer);
+        buffer.retain();
+        tracker.record("retain");
+        buffer.release();
+        tracker.record("release");
+    }
+
+    @Test
+    public void testReportsLeak() throws InterruptedException {
+        final List<LeakDetector.Leak> leaks = new CopyOnWriteArrayList<>();
+        final LeakDetector detector = new LeakDetector(LeakDetector.Level.PARANOID, 128, 1, leaks::add);
+
+        leak(detector);
+        awaitLeaks(detector, 1);
+
+        assertEquals(1, leaks.size());
+        final LeakDetector.Leak leak = leaks.getFirst();
+        assertEquals(JavaNioBuffer.class.getName(), leak.resource());
+        assertTrue(Arrays.stream(leak.allocation()).anyMatch(element -> element.getMethodName().equals("leak")));
+
+        assertEquals(1, leak.accesses().size()); // Only the most recent access is kept
+        assertEquals("release", leak.accesses().getFirst().hint());
+        assertTrue(leak.describe().contains("Recent release:"));
+    }
+
+    @Test
+    public void testClosedTrackerIsNotReported() throws InterruptedException {
+        final LeakDetector detector = new LeakDetector(LeakDetector.Level.PARANOID, 1, 4, _ -> {});
+
+        LeakDetector.Tracker tracker = detector.track(new Object());
+        tracker.close();
+        assertTrue(tracker.isClosed());
+        tracker = null;
+
+        leak(detector);
+        awaitLeaks(detector, 1);
+        assertEquals(1, detector.leaks());
+    }
+
+    @Test
+    public void testLevels() {
+        final LeakDetector disabled = new LeakDetector(LeakDetector.Level.DISABLED, 1, 4, _ -> {});
+        assertNull(disabled.track(new Object()));
+
+        final LeakDetector simple = new LeakDetector(LeakDetector.Level.SIMPLE, 1, 4, _ -> {});
+        final LeakDetector.Tracker tracker = simple.track(new Object());
+        assertNotNull(tracker);
+        tracker.record("retain"); // Simple trackers do not record accesses
+        tracker.close();
+
+        final LeakDetector sampled = new LeakDetector(LeakDetector.Level.ADVANCED, 1_000_000, 4, _ -> {});
+        int tracked = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (sampled.track(new Object()) != null) tracked++;
+        }
+        assertTrue(tracked < 10);
+
+        assertThrows(IllegalArgumentException.class, () -> new LeakDetector(LeakDetector.Level.SIMPLE, 0, 4, _ -> {}));
+    }
+
+}
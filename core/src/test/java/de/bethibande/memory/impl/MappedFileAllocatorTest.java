@@ -0,0 +1,87 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedFileAllocatorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testAllocateAndForce() throws Exception {
+        final Path file = this.directory.resolve("data.bin");
+
+        try (final MappedFileAllocator allocator = Allocator.mapped(file, FileChannel.MapMode.READ_WRITE)) {
+            final MappedBuffer a = (MappedBuffer) allocator.allocate(8);
+            final MappedBuffer b = (MappedBuffer) allocator.allocate(8);
+
+            assertTrue(a.isMapped());
+            a.write(1L);
+            b.write(2L);
+            a.force();
+            b.force(0, 8);
+
+            assertEquals(16, allocator.size());
+            a.release();
+            b.release();
+        }
+
+        final byte[] bytes = Files.readAllBytes(file);
+        final Buffer copy = Buffer.allocate(bytes.length);
+        copy.write(bytes);
+        assertEquals(1L, copy.getLong(0));
+        assertEquals(2L, copy.getLong(8));
+    }
+
+    @Test
+    public void testUnmapOnRelease() {
+        final Path file = this.directory.resolve("data.bin");
+
+        try (final MappedFileAllocator allocator = Allocator.mapped(file, FileChannel.MapMode.READ_WRITE)) {
+            final Buffer buffer = allocator.allocate(8);
+            final Buffer slice = buffer.slice(0, 4);
+
+            buffer.release();
+            slice.set(0, 42);
+            slice.release();
+
+            assertThrows(IllegalStateException.class, () -> buffer.getInt(0));
+        }
+    }
+
+    @Test
+    public void testMapComposite() throws Exception {
+        final Path file = this.directory.resolve("data.bin");
+        final byte[] bytes = new byte[100];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        Files.write(file, bytes);
+
+        final MappedCompositeBuffer buffer = Buffer.mapped(file, FileChannel.MapMode.READ_WRITE, 5);
+        assertEquals(4, buffer.regions().length);
+        assertEquals(100, buffer.capacity());
+        assertEquals(100, buffer.readable());
+
+        final byte[] read = new byte[bytes.length];
+        buffer.read(read);
+        assertArrayEquals(bytes, read);
+
+        buffer.set(30, new byte[] { 1, 2, 3, 4 }); // Straddles the first and second region
+        buffer.force(30, 4);
+        buffer.release();
+
+        final byte[] written = Files.readAllBytes(file);
+        assertArrayEquals(new byte[] { 1, 2, 3, 4 }, new byte[] { written[30], written[31], written[32], written[33] });
+    }
+
+}
@@ -0,0 +1,103 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiProducerRingBufferTest {
+
+    @Test
+    public void testClaimCommitPoll() {
+        final MultiProducerRingBuffer buffer = Buffer.multiProducerRing(4, 2);
+
+        final long first = buffer.claim(4);
+        final long second = buffer.claim(8);
+        assertEquals(8, first);
+        assertEquals(24, second);
+        assertEquals(32, buffer.readable());
+        assertEquals(-1, buffer.tryClaim(1));
+
+        buffer.set(second, 42L);
+        buffer.commit(second);
+        assertEquals(0, buffer.poll((_, _, _) -> fail("The first record has not been committed yet")));
+
+        buffer.set(first, 7);
+        buffer.commit(first);
+
+        final long[] values = new long[2];
+        assertEquals(2, buffer.poll((ring, position, length) -> {
+            if (length == 4) values[0] = ring.getInt(position);
+            else values[1] = ring.getLong(position);
+        }));
+        assertArrayEquals(new long[] { 7, 42 }, values);
+        assertEquals(0, buffer.readable());
+    }
+
+    @Test
+    public void testWrapAround() {
+        final MultiProducerRingBuffer buffer = Buffer.multiProducerRing(3, 4);
+        final byte[] bytes = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13 };
+
+        for (int i = 0; i < 10; i++) {
+            final long position = buffer.claim(bytes.length); // Straddles regions and the end of the ring
+            assertEquals(bytes.length, buffer.recordLength(position));
+            buffer.set(position, bytes);
+            buffer.commit(position);
+
+            final byte[] read = new byte[bytes.length];
+            assertEquals(1, buffer.poll((ring, offset, length) -> ring.get(offset, read, 0, length)));
+            assertArrayEquals(bytes, read);
+        }
+    }
+
+    @Test
+    public void testInvalidUsage() {
+        assertThrows(IllegalArgumentException.class, () -> Buffer.multiProducerRing(3, 3));
+        assertThrows(IllegalArgumentException.class, () -> Buffer.multiProducerRing(2, 4));
+        assertThrows(IllegalArgumentException.class, () -> Buffer.multiProducerRing(3, 2).claim(9));
+    }
+
+    @Test
+    public void testMultipleProducers() throws InterruptedException {
+        final MultiProducerRingBuffer buffer = Buffer.multiProducerRing(6, 4);
+        final int producers = 4;
+        final int iterations = 100_000;
+
+        final Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    final long position = buffer.claim(12);
+                    buffer.set(position, producer);
+                    buffer.set(position + 4, (long) i);
+                    buffer.commit(position);
+                }
+            });
+            threads[p].start();
+        }
+
+        final long[] expected = new long[producers];
+        final AtomicLong mismatches = new AtomicLong();
+        long consumed = 0;
+        while (consumed < (long) producers * iterations) {
+            final int count = buffer.poll((ring, position, length) -> {
+                final int producer = ring.getInt(position);
+                if (length != 12 || ring.getLong(position + 4) != expected[producer]++) mismatches.incrementAndGet();
+            });
+            if (count == 0) Thread.yield();
+            consumed += count;
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, mismatches.get());
+        assertEquals(0, buffer.readable());
+    }
+
+}
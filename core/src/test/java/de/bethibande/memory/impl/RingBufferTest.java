@@ -3,7 +3,11 @@ package de.bethibande.memory.impl;
 import de.bethibande.memory.Buffer;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class RingBufferTest {
 
@@ -48,4 +52,130 @@ public class RingBufferTest {
         assertEquals(24L, buffer.capacity());
     }
 
+    @Test
+    public void testStraddleWrapPoint() {
+        final Buffer a = Buffer.direct(8);
+        final Buffer b = Buffer.direct(8);
+        final RingBuffer buffer = Buffer.ring(3, a, b);
+
+        buffer.writePosition(12);
+        buffer.readPosition(12);
+        buffer.write(0x0102030405060708L); // Wraps around from the end of b to the start of a
+
+        assertEquals(0x0102030405060708L, buffer.getLong(12));
+        assertEquals(2, buffer.regions().length);
+
+        final byte[] bytes = new byte[8];
+        buffer.get(12, bytes);
+        final Buffer copy = Buffer.direct(8);
+        copy.set(0, bytes);
+        assertEquals(0x0102030405060708L, copy.getLong(0));
+    }
+
+    @Test
+    public void testExpandAfterWrap() {
+        final RingBuffer buffer = Buffer.ring(3, 2);
+        long written = 0;
+        long read = 0;
+        for (int lap = 0; lap < 5; lap++) { // Advances the positions beyond the first lap before expanding
+            buffer.write(written++);
+            buffer.write(written++);
+            assertEquals(read++, buffer.readLong());
+            assertEquals(read++, buffer.readLong());
+        }
+
+        buffer.write(written++);
+        buffer.write(written++);
+        buffer.write(written++); // Expands while the unread values wrap around
+        buffer.write(written++);
+        assertEquals(32, buffer.capacity());
+
+        while (read < written) {
+            assertEquals(read++, buffer.readLong());
+        }
+    }
+
+    @Test
+    public void testExpandFullUnalignedRing() {
+        final RingBuffer buffer = Buffer.ring(3, 2);
+        buffer.write(0);
+        buffer.readInt();
+        buffer.write(1L);
+        buffer.write(2L); // Fills the ring, the read and write positions share the first region
+
+        buffer.write(3L);
+        assertEquals(24, buffer.capacity());
+        assertEquals(1L, buffer.readLong());
+        assertEquals(2L, buffer.readLong());
+        assertEquals(3L, buffer.readLong());
+    }
+
+    @Test
+    public void testBoundedTryWrite() throws InterruptedException {
+        final RingBuffer buffer = Buffer.boundedRing(3, 1, 16);
+        final byte[] bytes = new byte[8];
+
+        assertTrue(buffer.tryWrite(bytes));
+        assertTrue(buffer.tryWrite(bytes)); // Expands up to the maximum capacity
+        assertFalse(buffer.tryWrite(bytes));
+        assertFalse(buffer.tryWrite(bytes, 0, 8, 10, TimeUnit.MILLISECONDS));
+        assertEquals(16, buffer.capacity());
+        assertEquals(2, buffer.rejectedWrites());
+        assertEquals(1, buffer.stalls());
+
+        buffer.readLong();
+        assertTrue(buffer.tryWrite(bytes));
+        assertThrows(IllegalArgumentException.class, () -> buffer.write(new byte[17]));
+        assertThrows(IllegalArgumentException.class, () -> Buffer.boundedRing(3, 4, 16));
+        assertThrows(IllegalArgumentException.class, () -> Buffer.boundedRing(4, 1, 40)); // Could never expand beyond 32 bytes
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer(new Buffer[] { Buffer.directNio(16) }, 4, 40));
+    }
+
+    @Test
+    public void testBoundedProducerConsumer() throws InterruptedException {
+        final RingBuffer buffer = Buffer.boundedRing(4, 1, 64);
+        final AtomicLong mismatches = new AtomicLong();
+        final int iterations = 100_000;
+
+        final Thread producer = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < iterations; i++) {
+                buffer.write(i);
+                buffer.write((long) i);
+            }
+        });
+        final Thread consumer = new Thread(() -> {
+            for (int i = 0; i < iterations; i++) {
+                while (buffer.readable() < 12) {
+                    Thread.yield();
+                }
+
+                if (buffer.readInt() != i) mismatches.incrementAndGet();
+                if (buffer.readLong() != i) mismatches.incrementAndGet();
+            }
+        });
+
+        consumer.start();
+        producer.join();
+        consumer.join();
+
+        assertEquals(0, mismatches.get());
+        assertEquals(0, buffer.readable());
+        assertEquals(64, buffer.capacity());
+        assertTrue(buffer.stalls() > 0);
+    }
+
+    @Test
+    public void testBoundedFailedReadReleasesLock() throws InterruptedException {
+        final RingBuffer buffer = Buffer.boundedRing(2, 3, 16);
+        buffer.write(1L);
+        buffer.write(2L);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.read(new byte[4], 2, 8));
+
+        final AtomicLong value = new AtomicLong();
+        final Thread consumer = Thread.ofVirtual().start(() -> value.set(buffer.readLong()));
+        assertTrue(consumer.join(Duration.ofSeconds(5)));
+        assertEquals(1L, value.get());
+    }
+
 }
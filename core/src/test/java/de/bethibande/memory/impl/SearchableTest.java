@@ -0,0 +1,102 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchableTest {
+
+    private static long naiveIndexOf(final Buffer buffer, final long from, final long to, final byte[] bytes) {
+        outer:
+        for (long position = from; position + bytes.length <= to; position++) {
+            for (int i = 0; i < bytes.length; i++) {
+                if (buffer.getByte(position + i) != bytes[i]) continue outer;
+            }
+            return position;
+        }
+        return -1;
+    }
+
+    private static long naiveLastIndexOf(final Buffer buffer, final long from, final long to, final byte[] bytes) {
+        outer:
+        for (long position = to - bytes.length; position >= from; position--) {
+            for (int i = 0; i < bytes.length; i++) {
+                if (buffer.getByte(position + i) != bytes[i]) continue outer;
+            }
+            return position;
+        }
+        return -1;
+    }
+
+    private static void testRandom(final Buffer buffer) {
+        final Random random = new Random(42);
+        final byte[] bytes = new byte[(int) buffer.capacity()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) random.nextInt(8); // Small alphabet, so there are plenty of (partial) matches
+        }
+        buffer.set(0, bytes);
+
+        for (int i = 0; i < 2000; i++) {
+            final long from = random.nextInt(bytes.length);
+            final long to = from + random.nextInt((int) (bytes.length - from) + 1);
+            final byte value = (byte) random.nextInt(9);
+            final byte[] pattern = { (byte) random.nextInt(8), (byte) random.nextInt(8), (byte) random.nextInt(8) };
+
+            assertEquals(naiveIndexOf(buffer, from, to, new byte[] { value }), buffer.indexOf(from, to, value));
+            assertEquals(naiveLastIndexOf(buffer, from, to, new byte[] { value }), buffer.lastIndexOf(from, to, value));
+            assertEquals(naiveIndexOf(buffer, from, to, pattern), buffer.indexOf(from, to, pattern));
+            assertEquals(naiveLastIndexOf(buffer, from, to, pattern), buffer.lastIndexOf(from, to, pattern));
+        }
+    }
+
+    @Test
+    public void testDefaultBuffer() {
+        testRandom(Buffer.direct(203));
+    }
+
+    @Test
+    public void testJavaNioBuffer() {
+        testRandom(Buffer.directNio(203));
+    }
+
+    @Test
+    public void testCompositeBuffer() {
+        testRandom(Buffer.composite(Buffer.direct(13, ByteOrder.BIG_ENDIAN), Buffer.directNio(3), Buffer.direct(120, ByteOrder.BIG_ENDIAN), Buffer.directNio(67)));
+    }
+
+    @Test
+    public void testFastCompositeBuffer() {
+        testRandom(Buffer.fastComposite(4, 13));
+    }
+
+    @Test
+    public void testDelimiterAcrossRegions() {
+        final Buffer buffer = Buffer.fastComposite(3, 4);
+        buffer.write("GET / HTTP/1.1\r\n\r\nbody".getBytes(StandardCharsets.US_ASCII));
+
+        final byte[] delimiter = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(14, buffer.indexOf(0, buffer.writePosition(), delimiter)); // Straddles the second and third region
+        assertEquals(14, buffer.indexOf(0, buffer.writePosition(), (byte) '\r'));
+        assertEquals(17, buffer.lastIndexOf(0, buffer.writePosition(), (byte) '\n'));
+        assertEquals(-1, buffer.indexOf(0, 17, delimiter));
+        assertEquals(3, buffer.indexOf(3, 3, new byte[0]));
+    }
+
+    @Test
+    public void testRingWrapAround() {
+        final Buffer buffer = Buffer.ring(3, 2);
+        buffer.write(new byte[12]);
+        buffer.read(new byte[12]);
+        buffer.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }); // Positions 12 to 19 wrap around the end of the ring
+
+        assertEquals(17, buffer.indexOf(12, 20, (byte) 6));
+        assertEquals(15, buffer.indexOf(12, 20, new byte[] { 4, 5, 6 }));
+        assertEquals(12, buffer.lastIndexOf(12, 20, (byte) 1));
+    }
+
+}
@@ -0,0 +1,113 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentedLogBufferTest {
+
+    @TempDir
+    Path directory;
+
+    private long segmentFiles() throws IOException {
+        try (final Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(file -> file.toString().endsWith(".segment")).count();
+        }
+    }
+
+    @Test
+    public void testRollOverAndCompact() throws IOException {
+        final SegmentedLogBuffer log = Buffer.segmentedLog(this.directory, 4);
+
+        for (long i = 0; i < 6; i++) {
+            log.write(i);
+        }
+        assertEquals(3, segmentFiles());
+
+        for (long i = 0; i < 5; i++) {
+            assertEquals(i, log.readLong());
+        }
+
+        log.compact();
+        assertEquals(2, log.firstSegment());
+        assertEquals(1, segmentFiles());
+        assertEquals(5L, log.readLong());
+
+        log.release();
+    }
+
+    @Test
+    public void testAutoCompaction() throws IOException {
+        final SegmentedLogBuffer log = Buffer.segmentedLog(this.directory, 4);
+        log.compactionWatermark(32);
+
+        for (long i = 0; i < 20; i++) {
+            log.write(i);
+            assertEquals(i, log.readLong());
+        }
+
+        assertEquals(10, log.firstSegment());
+        assertTrue(segmentFiles() <= 2);
+        log.release();
+
+        final SegmentedLogBuffer recovered = Buffer.segmentedLog(this.directory, 4);
+        assertEquals(10, recovered.firstSegment());
+        assertEquals(0, recovered.readable());
+        recovered.release();
+    }
+
+    @Test
+    public void testRecover() throws IOException {
+        final SegmentedLogBuffer log = Buffer.segmentedLog(this.directory, 4);
+        for (long i = 0; i < 5; i++) {
+            log.write(i);
+        }
+        log.readLong();
+        log.readLong();
+        log.compact();
+        log.readLong();
+        log.force();
+        log.release();
+
+        final SegmentedLogBuffer recovered = Buffer.segmentedLog(this.directory, 4);
+        assertEquals(1, recovered.firstSegment());
+        assertEquals(24, recovered.writePosition()); // Relative to the first segment
+        assertEquals(16, recovered.readable());
+        assertEquals(3L, recovered.readLong());
+        assertEquals(4L, recovered.readLong());
+
+        recovered.write(5L);
+        assertEquals(5L, recovered.readLong());
+        recovered.release();
+    }
+
+    @Test
+    public void testRecycleSegments() throws IOException {
+        final SegmentedLogBuffer log = new SegmentedLogBuffer(this.directory, 4, true);
+        for (long i = 0; i < 4; i++) {
+            log.write(i);
+            log.readLong();
+        }
+
+        log.compact();
+        assertEquals(3, segmentFiles()); // Two recycled files and the new head segment
+
+        log.write(new byte[32]);
+        assertEquals(3, segmentFiles());
+        log.release();
+    }
+
+    @Test
+    public void testInvalidDirectory() throws IOException {
+        Files.write(this.directory.resolve("log.meta"), new byte[24]);
+        assertThrows(IllegalStateException.class, () -> Buffer.segmentedLog(this.directory, 4));
+    }
+
+}
@@ -0,0 +1,84 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Allocator;
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SizeClassAllocatorTest {
+
+    @Test
+    public void testSizeClasses() {
+        assertEquals(16, SizeClassAllocator.sizeClass(1));
+        assertEquals(16, SizeClassAllocator.sizeClass(16));
+        assertEquals(32, SizeClassAllocator.sizeClass(17));
+        assertEquals(128, SizeClassAllocator.sizeClass(128));
+        assertEquals(160, SizeClassAllocator.sizeClass(129));
+        assertEquals(192, SizeClassAllocator.sizeClass(161));
+        assertEquals(256, SizeClassAllocator.sizeClass(256));
+        assertEquals(320, SizeClassAllocator.sizeClass(257));
+        assertEquals(5120, SizeClassAllocator.sizeClass(4097));
+        assertEquals(SizeClassAllocator.MAX_SIZE, SizeClassAllocator.sizeClass(SizeClassAllocator.MAX_SIZE));
+
+        for (int i = 1; i < 100; i++) {
+            assertEquals(i, SizeClassAllocator.sizeClassIndex(SizeClassAllocator.sizeClassSize(i)));
+            assertEquals(i, SizeClassAllocator.sizeClassIndex(SizeClassAllocator.sizeClassSize(i - 1) + 1));
+        }
+    }
+
+    @Test
+    public void testExactCapacity() {
+        final SizeClassAllocator allocator = Allocator.sizeClassPooled();
+
+        final Buffer buffer = allocator.allocate(100);
+        assertEquals(100, buffer.capacity());
+
+        buffer.write(1234L);
+        assertEquals(1234L, buffer.readLong());
+    }
+
+    @Test
+    public void testCarveChunk() {
+        final SizeClassAllocator allocator = new SizeClassAllocator(1024);
+
+        final Buffer a = allocator.allocate(64);
+        final Buffer b = allocator.allocate(60);
+
+        assertEquals(1, allocator.chunkCount());
+        assertEquals(14, allocator.queueSize(64));
+
+        a.set(0, 1L);
+        b.set(0, 2L);
+        assertEquals(1L, a.getLong(0));
+        assertEquals(2L, b.getLong(0));
+    }
+
+    @Test
+    public void testReleaseToSizeClass() {
+        final SizeClassAllocator allocator = new SizeClassAllocator(1024);
+
+        final Buffer small = allocator.allocate(64);
+        final Buffer large = allocator.allocate(200);
+
+        assertEquals(15, allocator.queueSize(64));
+        assertEquals(0, allocator.queueSize(200));
+
+        small.release();
+        large.release();
+
+        assertEquals(16, allocator.queueSize(64));
+        assertEquals(1, allocator.queueSize(200));
+        assertEquals(1, allocator.chunkCount());
+    }
+
+    @Test
+    public void testInvalidSize() {
+        final SizeClassAllocator allocator = Allocator.sizeClassPooled();
+
+        assertThrows(IllegalArgumentException.class, () -> allocator.allocate(0));
+        assertThrows(IllegalArgumentException.class, () -> allocator.allocate(-1));
+        assertThrows(IllegalArgumentException.class, () -> allocator.allocate(SizeClassAllocator.MAX_SIZE + 1L));
+    }
+
+}
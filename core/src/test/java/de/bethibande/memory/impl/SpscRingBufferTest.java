@@ -0,0 +1,94 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpscRingBufferTest {
+
+    @Test
+    public void testWrapAround() {
+        final SpscRingBuffer buffer = Buffer.spscRing(3, 2);
+
+        buffer.write(1L);
+        buffer.write(2L);
+        assertEquals(0, buffer.writable());
+        assertEquals(1L, buffer.readLong());
+
+        buffer.write(3L);
+        assertEquals(2L, buffer.readLong());
+        assertEquals(3L, buffer.readLong());
+        assertEquals(24, buffer.writePosition());
+        assertEquals(16, buffer.capacity());
+    }
+
+    @Test
+    public void testCrossBoundaryWrapAround() {
+        final SpscRingBuffer buffer = Buffer.spscRing(3, 2);
+
+        buffer.write(1);
+        buffer.readInt();
+        buffer.write(1L);
+        buffer.write(-1234L); // Straddles the end and the start of the ring
+
+        assertEquals(1L, buffer.readLong());
+        assertEquals(-1234L, buffer.readLong());
+    }
+
+    @Test
+    public void testTryWriteTryRead() {
+        final SpscRingBuffer buffer = Buffer.spscRing(3, 2);
+        final byte[] bytes = new byte[12];
+
+        assertFalse(buffer.tryRead(bytes));
+        assertTrue(buffer.tryWrite(bytes));
+        assertFalse(buffer.tryWrite(bytes));
+        assertTrue(buffer.tryRead(bytes));
+        assertTrue(buffer.tryWrite(bytes));
+    }
+
+    @Test
+    public void testInvalidRegionCount() {
+        assertThrows(IllegalArgumentException.class, () -> Buffer.spscRing(3, 3));
+        assertThrows(UnsupportedOperationException.class, () -> Buffer.spscRing(3, 2).expand());
+    }
+
+    @Test
+    public void testOversizedRead() {
+        final SpscRingBuffer buffer = Buffer.spscRing(3, 2);
+        assertThrows(IllegalArgumentException.class, () -> buffer.read(new byte[17])); // Would wait forever
+        assertThrows(IllegalArgumentException.class, () -> buffer.write(new byte[17]));
+    }
+
+    @Test
+    public void testProducerConsumer() throws InterruptedException {
+        final SpscRingBuffer buffer = Buffer.spscRing(6, 4);
+        final AtomicLong mismatches = new AtomicLong();
+        final int iterations = 1_000_000;
+
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < iterations; i++) {
+                buffer.write(i);
+                buffer.write((long) i);
+            }
+        });
+        final Thread consumer = new Thread(() -> {
+            for (int i = 0; i < iterations; i++) {
+                if (buffer.readInt() != i) mismatches.incrementAndGet();
+                if (buffer.readLong() != i) mismatches.incrementAndGet();
+            }
+        });
+
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+
+        assertEquals(0, mismatches.get());
+        assertEquals(0, buffer.readable());
+    }
+
+}
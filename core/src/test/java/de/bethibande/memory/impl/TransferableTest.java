@@ -0,0 +1,109 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransferableTest {
+
+    private static byte[] bytes(final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testNioBuffers() {
+        final Buffer buffer = Buffer.fastComposite(3, 4);
+        final ByteBuffer[] views = buffer.nioBuffers(4, 16);
+
+        assertEquals(3, views.length);
+        assertEquals(4, views[0].remaining());
+        assertEquals(8, views[1].remaining());
+        assertEquals(4, views[2].remaining());
+    }
+
+    @Test
+    public void testGatheringTransfer() throws IOException {
+        final Buffer buffer = Buffer.fastComposite(3, 4);
+        buffer.write(bytes(20));
+        buffer.readInt();
+
+        final Pipe pipe = Pipe.open();
+        assertEquals(16, buffer.transferTo(pipe.sink(), 16));
+        assertEquals(20, buffer.readPosition());
+
+        final Buffer target = Buffer.direct(16);
+        assertEquals(16, target.transferFrom(pipe.source(), 16));
+        assertEquals(16, target.writePosition());
+        assertEquals(4, target.readByte());
+        assertEquals(19, target.getByte(15));
+    }
+
+    @Test
+    public void testStreamTransfer() throws IOException {
+        final Buffer buffer = Buffer.ring(3, 2);
+        buffer.write(new byte[12]);
+        buffer.read(new byte[12]);
+
+        final byte[] bytes = bytes(12);
+        assertEquals(12, buffer.transferFrom(Channels.newChannel(new ByteArrayInputStream(bytes)), 12)); // Wraps around the end of the ring
+        assertEquals(-1, buffer.transferFrom(Channels.newChannel(new ByteArrayInputStream(new byte[0])), 4));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(12, buffer.transferTo(Channels.newChannel(out), 12));
+        assertArrayEquals(bytes, out.toByteArray());
+        assertEquals(0, buffer.readable());
+    }
+
+    @Test
+    public void testExpandOnTransferFrom() throws IOException {
+        final Buffer buffer = Buffer.expanding(4);
+        final byte[] bytes = bytes(40);
+
+        final ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(bytes));
+        long transferred = 0;
+        while (transferred < 40) {
+            transferred += buffer.transferFrom(channel, 40 - transferred); // Expands by one region at a time
+        }
+        assertEquals(48, buffer.capacity());
+
+        final byte[] read = new byte[40];
+        buffer.read(read);
+        assertArrayEquals(bytes, read);
+    }
+
+    @Test
+    public void testOversizedTransferFrom() throws IOException {
+        final Buffer composite = Buffer.composite(Buffer.direct(8), Buffer.direct(8));
+        assertEquals(16, composite.transferFrom(Channels.newChannel(new ByteArrayInputStream(bytes(40))), Long.MAX_VALUE));
+        assertEquals(16, composite.writePosition());
+        assertEquals(0, composite.transferFrom(Channels.newChannel(new ByteArrayInputStream(bytes(40))), Long.MAX_VALUE));
+
+        final Buffer fastComposite = Buffer.fastComposite(3, 2);
+        assertEquals(16, fastComposite.transferFrom(Channels.newChannel(new ByteArrayInputStream(bytes(40))), Long.MAX_VALUE));
+        assertEquals(15, fastComposite.getByte(15));
+
+        final Buffer expanding = Buffer.expanding(3);
+        expanding.write(8L);
+        assertEquals(8, expanding.transferFrom(Channels.newChannel(new ByteArrayInputStream(bytes(40))), Long.MAX_VALUE));
+        assertEquals(16, expanding.capacity());
+
+        final Buffer ring = Buffer.ring(3, 2);
+        assertEquals(16, ring.transferFrom(Channels.newChannel(new ByteArrayInputStream(bytes(40))), Long.MAX_VALUE));
+        assertEquals(8, ring.transferFrom(Channels.newChannel(new ByteArrayInputStream(bytes(40))), Long.MAX_VALUE));
+        assertEquals(24, ring.capacity());
+    }
+
+}
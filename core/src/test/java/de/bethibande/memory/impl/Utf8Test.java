@@ -0,0 +1,76 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.Writable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Utf8Test {
+
+    private static final String TEXT = "{\"level\":\"info\",\"msg\":\"Gr\u00FC\u00DFe aus K\u00F6ln \u2013 \u6771\u4EAC \uD83D\uDE80\"}";
+
+    private static void testRoundTrip(final Buffer buffer) {
+        final byte[] expected = TEXT.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < 3; i++) { // Repeat to move the text across the region boundaries
+            assertEquals(expected.length, buffer.writeUtf8(TEXT));
+            buffer.write((byte) '\n');
+        }
+        assertEquals(3 * (expected.length + 1), buffer.writePosition());
+
+        for (int i = 0; i < 3; i++) {
+            final long position = buffer.readPosition();
+            final byte[] bytes = new byte[expected.length];
+            buffer.get(position, bytes);
+            assertArrayEquals(expected, bytes);
+
+            assertEquals(TEXT, buffer.readUtf8(expected.length));
+            assertEquals('\n', buffer.readByte());
+        }
+    }
+
+    @Test
+    public void testUtf8Length() {
+        assertEquals(TEXT.getBytes(StandardCharsets.UTF_8).length, Writable.utf8Length(TEXT));
+        assertEquals(1, Writable.utf8Length("\uD83D")); // Unpaired surrogates are replaced by a single byte
+        assertEquals(0, Writable.utf8Length(""));
+    }
+
+    @Test
+    public void testAscii() {
+        final Buffer buffer = Buffer.fastComposite(3, 4);
+        assertEquals(14, buffer.writeAscii(new StringBuilder("GET / HTTP/1.1")));
+        assertEquals(3, buffer.writeAscii("\u00E4\r\n"));
+        assertEquals("GET / HTTP/1.1?\r\n", buffer.readUtf8(17));
+    }
+
+    @Test
+    public void testUnpairedSurrogate() {
+        final Buffer buffer = Buffer.direct(16);
+        assertEquals(3, buffer.setUtf8(0, "a\uDE80b"));
+        assertEquals("a?b", buffer.getUtf8(0, 3));
+    }
+
+    @Test
+    public void testDefaultBuffer() {
+        testRoundTrip(Buffer.direct(512));
+    }
+
+    @Test
+    public void testJavaNioBuffer() {
+        testRoundTrip(Buffer.directNio(512));
+    }
+
+    @Test
+    public void testFastCompositeBuffer() {
+        testRoundTrip(Buffer.fastComposite(3, 64)); // Every multi-byte code point straddles a boundary at some point
+    }
+
+    @Test
+    public void testExpandingBuffer() {
+        testRoundTrip(Buffer.expanding(4));
+    }
+
+}
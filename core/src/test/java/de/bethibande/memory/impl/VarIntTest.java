@@ -0,0 +1,104 @@
+package de.bethibande.memory.impl;
+
+import de.bethibande.memory.Buffer;
+import de.bethibande.memory.Readable;
+import de.bethibande.memory.Writable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VarIntTest {
+
+    private static final long[] VALUES = {
+            0, 1, 127, 128, 300, 16383, 16384, (1L << 21) - 1, 1L << 28, Integer.MAX_VALUE, 0xFFFFFFFFL,
+            1L << 49, (1L << 56) - 1, 1L << 56, 1L << 62, Long.MAX_VALUE, -1L, Long.MIN_VALUE
+    };
+
+    private static void testRoundTrip(final Buffer buffer) {
+        long expectedPosition = 0;
+        for (int i = 0; i < 4; i++) { // Repeat to hit every alignment relative to the region boundaries
+            for (final long value : VALUES) {
+                buffer.writeVarLong(value);
+                expectedPosition += Writable.varLongSize(value);
+            }
+            buffer.writeZigZagVarInt(-3);
+            buffer.writeVarInt(-1);
+            expectedPosition += 1 + 5;
+        }
+        assertEquals(expectedPosition, buffer.writePosition());
+
+        for (int i = 0; i < 4; i++) {
+            for (final long value : VALUES) {
+                assertEquals(Writable.varLongSize(value), buffer.varLength(buffer.readPosition()));
+                assertEquals(value, buffer.readVarLong());
+            }
+            assertEquals(-3, buffer.readZigZagVarInt());
+            assertEquals(-1, buffer.readVarInt());
+        }
+        assertEquals(0, buffer.readable());
+    }
+
+    @Test
+    public void testEncoding() {
+        final Buffer buffer = Buffer.direct(16);
+        assertEquals(2, buffer.setVarInt(0, 300));
+        assertEquals((byte) 0xAC, buffer.getByte(0));
+        assertEquals((byte) 0x02, buffer.getByte(1));
+        assertEquals(300, buffer.getVarInt(0));
+
+        assertEquals(10, buffer.setVarLong(0, -1L));
+        assertEquals((byte) 0x01, buffer.getByte(9));
+        assertEquals(1, buffer.setZigZagVarLong(0, -1L));
+        assertEquals(1, buffer.getByte(0));
+        assertEquals(-1L, buffer.getZigZagVarLong(0));
+    }
+
+    @Test
+    public void testSizes() {
+        for (final long value : VALUES) {
+            final int expected = value == 0 ? 1 : (64 - Long.numberOfLeadingZeros(value) + 6) / 7;
+            assertEquals(expected, Writable.varLongSize(value));
+        }
+        assertEquals(5, Writable.varIntSize(-1));
+        assertEquals(Integer.MIN_VALUE, Readable.decodeZigZag(Writable.encodeZigZag(Integer.MIN_VALUE)));
+        assertEquals(Long.MIN_VALUE, Readable.decodeZigZag(Writable.encodeZigZag(Long.MIN_VALUE)));
+    }
+
+    @Test
+    public void testMalformed() {
+        final Buffer buffer = Buffer.direct(16);
+        buffer.set(0, -1L);
+        buffer.set(8, -1L);
+        assertThrows(IllegalStateException.class, () -> buffer.getVarLong(0));
+    }
+
+    @Test
+    public void testDefaultBuffer() {
+        testRoundTrip(Buffer.direct(512));
+    }
+
+    @Test
+    public void testJavaNioBuffer() {
+        testRoundTrip(Buffer.directNio(512));
+    }
+
+    @Test
+    public void testFastCompositeBuffer() {
+        testRoundTrip(Buffer.fastComposite(4, 32));
+    }
+
+    @Test
+    public void testExpandingBuffer() {
+        testRoundTrip(Buffer.expanding(3));
+    }
+
+    @Test
+    public void testRingBuffer() {
+        final Buffer buffer = Buffer.ring(4, 2);
+        for (int i = 0; i < 100; i++) {
+            buffer.writeVarLong(Long.MAX_VALUE >>> i % 64);
+            assertEquals(Long.MAX_VALUE >>> i % 64, buffer.readVarLong());
+        }
+    }
+
+}